@@ -0,0 +1,9 @@
+package ru.practicum.shareit;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class RequestLimits {
+	//предел элементов в одном запросе: пачки бронирований и решений, списки id мульти-запросов
+	public static final int MAX_BATCH_SIZE = 100;
+}
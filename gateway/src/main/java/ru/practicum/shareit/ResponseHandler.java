@@ -1,6 +1,8 @@
 package ru.practicum.shareit;
 
 import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
@@ -10,6 +12,28 @@ import static org.springframework.http.HttpStatus.*;
 @UtilityClass
 public class ResponseHandler {
 	public static Mono<?> handleResponseSpec(WebClient.ResponseSpec responseSpec) {
+		return handleErrorStatuses(responseSpec)
+				.bodyToMono(String.class);
+	}
+
+	public static Mono<ResponseEntity<String>> handleResponseSpec(WebClient.ResponseSpec responseSpec,
+																  String... forwardedHeaders) {
+		return handleErrorStatuses(responseSpec)
+				.toEntity(String.class)
+				.map(response -> {
+					HttpHeaders headers = new HttpHeaders();
+					for (String header : forwardedHeaders) {
+						String value = response.getHeaders().getFirst(header);
+						if (value != null)
+							headers.add(header, value);
+					}
+					return ResponseEntity.status(response.getStatusCode())
+							.headers(headers)
+							.body(response.getBody());
+				});
+	}
+
+	private static WebClient.ResponseSpec handleErrorStatuses(WebClient.ResponseSpec responseSpec) {
 		return responseSpec
 				.onStatus(FORBIDDEN::equals,
 						response -> Mono.error(new ResponseStatusException(FORBIDDEN)))
@@ -18,7 +42,6 @@ public class ResponseHandler {
 				.onStatus(BAD_REQUEST::equals,
 						response -> Mono.error(new ResponseStatusException(BAD_REQUEST)))
 				.onStatus(CONFLICT::equals,
-						response -> Mono.error(new ResponseStatusException(CONFLICT)))
-				.bodyToMono(String.class);
+						response -> Mono.error(new ResponseStatusException(CONFLICT)));
 	}
 }
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.RequestLimits;
+import ru.practicum.shareit.booking.dto.BookingRequestToSaveDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+//пачка читается по элементам: лишние элементы и ошибки валидации отсекаются до того, как тело прочитано целиком
+@Component
+@RequiredArgsConstructor
+public class BookingBatchReader {
+	private final ObjectMapper mapper;
+	private final Validator validator;
+
+	public List<BookingRequestToSaveDto> read(InputStream body) throws IOException {
+		List<BookingRequestToSaveDto> bookings = new ArrayList<>();
+		try (JsonParser parser = mapper.getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY)
+				throw new ResponseStatusException(BAD_REQUEST, "Bookings batch must be a JSON array.");
+			while (parser.nextToken() == JsonToken.START_OBJECT) {
+				if (bookings.size() == RequestLimits.MAX_BATCH_SIZE)
+					throw new ResponseStatusException(BAD_REQUEST,
+							"Too many bookings in batch, max is [" + RequestLimits.MAX_BATCH_SIZE + "].");
+				BookingRequestToSaveDto booking = mapper.readValue(parser, BookingRequestToSaveDto.class);
+				Set<ConstraintViolation<BookingRequestToSaveDto>> violations = validator.validate(booking);
+				if (!violations.isEmpty())
+					throw new ResponseStatusException(BAD_REQUEST,
+							"Booking [" + bookings.size() + "] is invalid: " + violations.iterator().next().getMessage());
+				bookings.add(booking);
+			}
+			if (parser.currentToken() != JsonToken.END_ARRAY)
+				throw new ResponseStatusException(BAD_REQUEST, "Bookings batch must contain only objects.");
+		} catch (JsonProcessingException exception) {
+			throw new ResponseStatusException(BAD_REQUEST, "Malformed bookings batch.", exception);
+		}
+		return bookings;
+	}
+}
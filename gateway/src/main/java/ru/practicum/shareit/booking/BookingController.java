@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,10 +12,18 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import ru.practicum.shareit.RequestLimits;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingRequestToSaveDto;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.exception.BookingUnsupportedStatus;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static ru.practicum.shareit.ResponseHandler.handleResponseSpec;
@@ -26,7 +35,9 @@ import static ru.practicum.shareit.ResponseHandler.handleResponseSpec;
 @Validated
 public class BookingController {
 	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 	private final WebClient client;
+	private final BookingBatchReader batchReader;
 	@Value("${shareit-server.url}")
 	private String shareItServerUrl;
 	@Value("${shareit-server.uri.path.booking}")
@@ -45,6 +56,20 @@ public class BookingController {
 		return handleResponseSpec(request.retrieve());
 	}
 
+	@PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<?> addBookings(InputStream body,
+							   @RequestHeader(USER_ID_HEADER) int userId) throws IOException {
+		List<BookingRequestToSaveDto> bookings = batchReader.read(body);
+		log.info("Request to add [{}] bookings with userId [{}]", bookings.size(), userId);
+		WebClient.RequestHeadersSpec<?> request = client.post()
+				.uri(shareItServerUrl + bookingPath + "/batch")
+				.bodyValue(bookings)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+				.header(USER_ID_HEADER, Integer.toString(userId));
+		return handleResponseSpec(request.retrieve());
+	}
+
 	@PatchMapping("/{bookingId}")
 	public Mono<?> approveBooking(@RequestHeader(USER_ID_HEADER) int userId,
 								  @PathVariable int bookingId,
@@ -60,6 +85,20 @@ public class BookingController {
 		return handleResponseSpec(request.retrieve());
 	}
 
+	@PatchMapping("/owner/decisions")
+	public Mono<?> decideBookings(@RequestHeader(USER_ID_HEADER) int ownerId,
+								  @RequestBody @Size(max = RequestLimits.MAX_BATCH_SIZE)
+								  List<@Valid BookingDecisionDto> decisions) {
+		log.info("Request to decide [{}] bookings with ownerId [{}]", decisions.size(), ownerId);
+		WebClient.RequestHeadersSpec<?> request = client.patch()
+				.uri(shareItServerUrl + bookingPath + "/owner/decisions")
+				.bodyValue(decisions)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+				.header(USER_ID_HEADER, Integer.toString(ownerId));
+		return handleResponseSpec(request.retrieve());
+	}
+
 	@GetMapping("/{bookingId}")
 	public Mono<?> getBooking(@RequestHeader(USER_ID_HEADER) int userId,
 							  @PathVariable int bookingId) {
@@ -71,30 +110,57 @@ public class BookingController {
 		return handleResponseSpec(request.retrieve());
 	}
 
+	@GetMapping(params = "ids")
+	public Mono<?> getBookingsByIds(@RequestHeader(USER_ID_HEADER) int userId,
+									@RequestParam @Size(max = RequestLimits.MAX_BATCH_SIZE) List<Integer> ids) {
+		log.info("Request to get bookings by ids [{}] with userId [{}]", ids, userId);
+		WebClient.RequestHeadersSpec<?> request = client.get()
+				.uri(shareItServerUrl + bookingPath + getIdsParam(ids))
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+				.header(USER_ID_HEADER, Integer.toString(userId));
+		return handleResponseSpec(request.retrieve());
+	}
+
 	@GetMapping
 	public Mono<?> getBookings(@RequestHeader(USER_ID_HEADER) int userId,
 							   @RequestParam(required = false, defaultValue = "ALL") String state,
 							   @RequestParam(defaultValue = "0") @Min(0) int from,
-							   @RequestParam(defaultValue = "20") @Min(1) int size) {
+							   @RequestParam(defaultValue = "20") @Min(1) int size,
+							   @RequestParam(required = false) String after) {
 		log.info("Request to get all user's bookings with userId [{}] and state [{}]", userId, state);
 		WebClient.RequestHeadersSpec<?> request = client.get()
-				.uri(shareItServerUrl + bookingPath + "?state=" + getState(state) + "&from=" + from + "&size=" + size)
+				.uri(shareItServerUrl + bookingPath + "?state=" + getState(state) + "&from=" + from + "&size=" + size
+						+ getAfterParam(after))
 				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
 				.header(USER_ID_HEADER, Integer.toString(userId));
-		return handleResponseSpec(request.retrieve());
+		return handleResponseSpec(request.retrieve(), NEXT_CURSOR_HEADER);
 	}
 
 	@GetMapping("/owner")
 	public Mono<?> getOwnerBookings(@RequestHeader(USER_ID_HEADER) int ownerId,
 									@RequestParam(required = false, defaultValue = "ALL") String state,
 									@RequestParam(defaultValue = "0") @Min(0) int from,
-									@RequestParam(defaultValue = "20") @Min(1) int size) {
+									@RequestParam(defaultValue = "20") @Min(1) int size,
+									@RequestParam(required = false) String after) {
 		log.info("Request to get all owner's bookings with ownerId [{}] and state [{}]", ownerId, state);
 		WebClient.RequestHeadersSpec<?> request = client.get()
-				.uri(shareItServerUrl + bookingPath + "/owner?state=" + getState(state) + "&from=" + from + "&size=" + size)
+				.uri(shareItServerUrl + bookingPath + "/owner?state=" + getState(state) + "&from=" + from + "&size=" + size
+						+ getAfterParam(after))
 				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
 				.header(USER_ID_HEADER, Integer.toString(ownerId));
-		return handleResponseSpec(request.retrieve());
+		return handleResponseSpec(request.retrieve(), NEXT_CURSOR_HEADER);
+	}
+
+	private String getIdsParam(List<Integer> ids) {
+		return "?ids=" + ids.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+	}
+
+	private String getAfterParam(String after) {
+		if (after == null)
+			return "";
+		return "&after=" + URLEncoder.encode(after, StandardCharsets.UTF_8);
 	}
 
 	private State getState(String state) {
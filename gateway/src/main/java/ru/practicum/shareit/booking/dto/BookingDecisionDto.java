@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BookingDecisionDto {
+	@NotNull
+	private Integer bookingId;
+	@NotNull
+	private Boolean approved;
+}
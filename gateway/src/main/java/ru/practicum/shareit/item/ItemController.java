@@ -1,20 +1,28 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import ru.practicum.shareit.RequestLimits;
 import ru.practicum.shareit.item.dto.CommentRequestToSaveDto;
 import ru.practicum.shareit.item.dto.ItemRequestToSaveDto;
 import ru.practicum.shareit.item.dto.ItemRequestToUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static ru.practicum.shareit.ResponseHandler.handleResponseSpec;
 
 @Slf4j
@@ -69,6 +77,17 @@ public class ItemController {
 		return handleResponseSpec(request.retrieve());
 	}
 
+	@GetMapping(params = "ids")
+	public Mono<?> getItemsByIds(@RequestHeader(USER_ID_HEADER) int userId,
+								 @RequestParam @Size(max = RequestLimits.MAX_BATCH_SIZE) List<Integer> ids) {
+		log.info("Request to get items by ids [{}] with userId [{}].", ids, userId);
+		WebClient.RequestHeadersSpec<?> request = client.get()
+				.uri(shareItServerUrl + itemPath + getIdsParam(ids))
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+				.header(USER_ID_HEADER, Integer.toString(userId));
+		return handleResponseSpec(request.retrieve());
+	}
+
 	@GetMapping("/{itemId}")
 	public Mono<?> getItemById(@RequestHeader(USER_ID_HEADER) int userId,
 							   @PathVariable int itemId) {
@@ -93,11 +112,38 @@ public class ItemController {
 
 	@GetMapping("/search")
 	public Mono<?> searchByText(@RequestParam String text,
+								@RequestParam(defaultValue = "false") boolean fuzzy,
+								@RequestParam(required = false)
+								@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime freeFrom,
+								@RequestParam(required = false)
+								@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime freeTo,
 								@RequestParam(defaultValue = "0") @Min(0) int from,
 								@RequestParam(defaultValue = "20") @Min(1) int size) {
-		log.info("Request to search item by text [{}].", text);
+		log.info("Request to search item by text [{}], fuzzy [{}], free from [{}] to [{}].",
+				text, fuzzy, freeFrom, freeTo);
 		WebClient.RequestHeadersSpec<?> request = client.get()
-				.uri(shareItServerUrl + itemPath + "/search?text=" + text + "&from=" + from + "&size=" + size)
+				.uri(shareItServerUrl + itemPath + "/search?text=" + text + "&fuzzy=" + fuzzy
+						+ getWindowParams(freeFrom, freeTo) + "&from=" + from + "&size=" + size)
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE);
+		return handleResponseSpec(request.retrieve());
+	}
+
+	@GetMapping("/suggest")
+	public Mono<?> suggest(@RequestParam String prefix,
+						   @RequestParam(defaultValue = "10") @Min(1) @Max(10) int size) {
+		log.info("Request to suggest items by prefix [{}].", prefix);
+		WebClient.RequestHeadersSpec<?> request = client.get()
+				.uri(shareItServerUrl + itemPath + "/suggest?prefix={prefix}&size={size}", prefix, size)
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE);
+		return handleResponseSpec(request.retrieve());
+	}
+
+	@GetMapping("/{itemId}/related")
+	public Mono<?> getRelatedItems(@PathVariable int itemId,
+								   @RequestParam(defaultValue = "10") @Min(1) @Max(20) int size) {
+		log.info("Request to get items related to item with id [{}].", itemId);
+		WebClient.RequestHeadersSpec<?> request = client.get()
+				.uri(shareItServerUrl + itemPath + "/" + itemId + "/related?size=" + size)
 				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE);
 		return handleResponseSpec(request.retrieve());
 	}
@@ -116,4 +162,19 @@ public class ItemController {
 				.header(USER_ID_HEADER, Integer.toString(userId));
 		return handleResponseSpec(request.retrieve());
 	}
+
+	private String getWindowParams(LocalDateTime freeFrom, LocalDateTime freeTo) {
+		String params = "";
+		if (freeFrom != null)
+			params += "&freeFrom=" + freeFrom;
+		if (freeTo != null)
+			params += "&freeTo=" + freeTo;
+		return params;
+	}
+
+	private String getIdsParam(List<Integer> ids) {
+		return "?ids=" + ids.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+	}
 }
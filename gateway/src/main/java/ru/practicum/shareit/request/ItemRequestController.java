@@ -22,6 +22,7 @@ import static ru.practicum.shareit.ResponseHandler.handleResponseSpec;
 @Validated
 public class ItemRequestController {
 	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 	private final WebClient client;
 	@Value("${shareit-server.url}")
 	private String shareItServerUrl;
@@ -72,4 +73,19 @@ public class ItemRequestController {
 				.header(USER_ID_HEADER, Integer.toString(userId));
 		return handleResponseSpec(request.retrieve());
 	}
+
+	@GetMapping("/search")
+	public Mono<?> searchRequests(@RequestHeader(USER_ID_HEADER) int userId,
+								  @RequestParam String text,
+								  @RequestParam(defaultValue = "20") @Min(1) int size,
+								  @RequestParam(required = false) String after) {
+		log.info("Request by user with id [{}] to search requests by text [{}].", userId, text);
+		String uri = shareItServerUrl + requestPath + "/search?text={text}&size={size}";
+		WebClient.RequestHeadersSpec<?> request = (after == null
+				? client.get().uri(uri, text, size)
+				: client.get().uri(uri + "&after={after}", text, size, after))
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+				.header(USER_ID_HEADER, Integer.toString(userId));
+		return handleResponseSpec(request.retrieve(), NEXT_CURSOR_HEADER);
+	}
 }
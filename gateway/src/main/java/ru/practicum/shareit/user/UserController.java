@@ -1,23 +1,30 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import ru.practicum.shareit.RequestLimits;
 import ru.practicum.shareit.user.dto.UserRequestToSaveDto;
 import ru.practicum.shareit.user.dto.UserRequestToUpdateDto;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static ru.practicum.shareit.ResponseHandler.handleResponseSpec;
 
 @Slf4j
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "${shareit-server.uri.path.user}")
+@Validated
 public class UserController {
 	private final WebClient client;
 	@Value("${shareit-server.url}")
@@ -57,6 +64,15 @@ public class UserController {
 		return handleResponseSpec(request.retrieve());
 	}
 
+	@GetMapping(params = "ids")
+	public Mono<?> getUsersByIds(@RequestParam @Size(max = RequestLimits.MAX_BATCH_SIZE) List<Integer> ids) {
+		log.info("Request to get users by ids [{}]", ids);
+		WebClient.RequestHeadersSpec<?> request = client.get()
+				.uri(shareItServerUrl + userPath + getIdsParam(ids))
+				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE);
+		return handleResponseSpec(request.retrieve());
+	}
+
 	@GetMapping("/{userId}")
 	public Mono<?> getUserById(@PathVariable int userId) {
 		log.info("Request to get user by id [{}]", userId);
@@ -74,4 +90,10 @@ public class UserController {
 				.header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE);
 		return handleResponseSpec(request.retrieve());
 	}
+
+	private String getIdsParam(List<Integer> ids) {
+		return "?ids=" + ids.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+	}
 }
@@ -4,11 +4,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.model.dto.BookingDto;
 import ru.practicum.shareit.exception.booking.BookingUnsupportedStatus;
 import ru.practicum.shareit.util.Pagenator;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.util.List;
 
@@ -18,6 +23,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	private static final Sort START_ID_DESC = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
 	private final BookingService service;
 
 	@PostMapping
@@ -29,6 +36,15 @@ public class BookingController {
 		return savedBooking;
 	}
 
+	@PostMapping("/batch")
+	public List<BookingBatchResult> addBookings(@RequestBody List<BookingDto> bookingDtos,
+												@RequestHeader(USER_ID_HEADER) int userId) {
+		log.info("Request to add [{}] bookings with userId [{}]", bookingDtos.size(), userId);
+		List<BookingBatchResult> results = service.addBookings(bookingDtos, userId);
+		log.info("Bookings batch processed.");
+		return results;
+	}
+
 	@PatchMapping("/{bookingId}")
 	public BookingDto approveBooking(@RequestHeader(USER_ID_HEADER) int userId,
 									 @PathVariable int bookingId,
@@ -42,6 +58,15 @@ public class BookingController {
 		return approvedBooking;
 	}
 
+	@PatchMapping("/owner/decisions")
+	public List<BookingDecisionResult> decideBookings(@RequestHeader(USER_ID_HEADER) int ownerId,
+													  @RequestBody List<BookingDecisionDto> decisions) {
+		log.info("Request to decide [{}] bookings with ownerId [{}]", decisions.size(), ownerId);
+		List<BookingDecisionResult> results = service.decideBookings(ownerId, decisions);
+		log.info("Booking decisions processed.");
+		return results;
+	}
+
 	@GetMapping("/{bookingId}")
 	public BookingDto getBooking(@RequestHeader(USER_ID_HEADER) int userId,
 								 @PathVariable int bookingId) {
@@ -51,28 +76,59 @@ public class BookingController {
 		return booking;
 	}
 
+	@GetMapping(params = "ids")
+	public List<BookingDto> getBookingsByIds(@RequestHeader(USER_ID_HEADER) int userId,
+											 @RequestParam List<Integer> ids) {
+		log.info("Request to get bookings by ids [{}] with userId [{}]", ids, userId);
+		List<BookingDto> bookings = service.getBookingsByIds(ids, userId);
+		log.info("[{}] bookings found.", bookings.size());
+		return bookings;
+	}
+
 	@GetMapping
-	public List<BookingDto> getBookings(@RequestHeader(USER_ID_HEADER) int userId,
-										@RequestParam(required = false, defaultValue = "ALL") String state,
-										@RequestParam(defaultValue = "0") int from,
-										@RequestParam(defaultValue = "20") int size) {
+	public ResponseEntity<List<BookingDto>> getBookings(@RequestHeader(USER_ID_HEADER) int userId,
+														@RequestParam(required = false, defaultValue = "ALL") String state,
+														@RequestParam(defaultValue = "0") int from,
+														@RequestParam(defaultValue = "20") int size,
+														@RequestParam(required = false) String after) {
 		log.info("Request to get all user's bookings with userId [{}] and state [{}]", userId, state);
-		Pageable pageable = Pagenator.getPage(from, size, Sort.by(Sort.Order.desc("start")));
-		List<BookingDto> bookings = service.getUserBookings(userId, getState(state), pageable);
+		List<BookingDto> bookings;
+		if (after == null) {
+			Pageable pageable = Pagenator.getPage(from, size, START_ID_DESC);
+			bookings = service.getUserBookings(userId, getState(state), pageable);
+		} else {
+			bookings = service.getUserBookings(userId, getState(state), SeekCursor.decode(after), size);
+		}
 		log.info("All user's bookings received.");
-		return bookings;
+		return withNextCursor(bookings, size);
 	}
 
 	@GetMapping("/owner")
-	public List<BookingDto> getOwnerBookings(@RequestHeader(USER_ID_HEADER) int ownerId,
-											 @RequestParam(required = false, defaultValue = "ALL") String state,
-											 @RequestParam(defaultValue = "0") int from,
-											 @RequestParam(defaultValue = "20") int size) {
+	public ResponseEntity<List<BookingDto>> getOwnerBookings(@RequestHeader(USER_ID_HEADER) int ownerId,
+															 @RequestParam(required = false, defaultValue = "ALL") String state,
+															 @RequestParam(defaultValue = "0") int from,
+															 @RequestParam(defaultValue = "20") int size,
+															 @RequestParam(required = false) String after) {
 		log.info("Request to get all owner's bookings with ownerId [{}] and state [{}]", ownerId, state);
-		Pageable pageable = Pagenator.getPage(from, size, Sort.by(Sort.Order.desc("start")));
-		List<BookingDto> bookings = service.getOwnerBookings(ownerId, getState(state), pageable);
+		List<BookingDto> bookings;
+		if (after == null) {
+			Pageable pageable = Pagenator.getPage(from, size, START_ID_DESC);
+			bookings = service.getOwnerBookings(ownerId, getState(state), pageable);
+		} else {
+			bookings = service.getOwnerBookings(ownerId, getState(state), SeekCursor.decode(after), size);
+		}
 		log.info("All owner's bookings received.");
-		return bookings;
+		return withNextCursor(bookings, size);
+	}
+
+	private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+		if (bookings.size() < size)
+			return ResponseEntity.ok(bookings);
+		BookingDto last = bookings.get(bookings.size() - 1);
+		String nextCursor = new SeekCursor(last.getStart(), last.getId()).encode();
+		return ResponseEntity.ok()
+				.header(NEXT_CURSOR_HEADER, nextCursor)
+				.body(bookings);
 	}
 
 	private State getState(String state) {
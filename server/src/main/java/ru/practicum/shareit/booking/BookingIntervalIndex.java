@@ -0,0 +1,186 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+	public static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+	private static final int LOCK_STRIPES = 64;
+	private static final Comparator<BookingInterval> START_ORDER = Comparator
+			.comparing(BookingInterval::getStart)
+			.thenComparing(BookingInterval::getBookingId);
+
+	private final BookingRepository bookingRepository;
+	private final Lock[] locks = createLocks();
+	private final AtomicInteger pendingIds = new AtomicInteger();
+	private volatile Map<Integer, ItemIntervals> itemIntervals = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void reload() {
+		Map<Integer, ItemIntervals> loaded = new ConcurrentHashMap<>();
+		List<BookingInterval> intervals = bookingRepository.findAllIntervalsByStatusInAndEndAfter(ACTIVE_STATUSES,
+				getTimeNow());
+		for (BookingInterval interval : intervals) {
+			loaded.computeIfAbsent(interval.getItemId(), itemId -> new ItemIntervals())
+					.add(interval);
+		}
+		itemIntervals = loaded;
+		log.info("Booking interval index loaded: [{}] intervals for [{}] items.", intervals.size(), loaded.size());
+	}
+
+	public boolean isFree(int itemId, LocalDateTime start, LocalDateTime end) {
+		Lock lock = getLock(itemId);
+		lock.lock();
+		try {
+			return isFreeLocked(itemId, start, end);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	//проверка и вставка атомарны для вещи; при откате транзакции интервал освобождается
+	public boolean tryReserve(BookingInterval interval) {
+		int itemId = interval.getItemId();
+		Lock lock = getLock(itemId);
+		lock.lock();
+		try {
+			if (!isFreeLocked(itemId, interval.getStart(), interval.getEnd()))
+				return false;
+			ItemIntervals intervals = itemIntervals.computeIfAbsent(itemId, id -> new ItemIntervals());
+			intervals.add(interval);
+			removeExpired(intervals);
+		} finally {
+			lock.unlock();
+		}
+		TransactionActions.afterRollback(() -> removeNow(itemId, interval.getBookingId()));
+		return true;
+	}
+
+	//интервал брони, ещё не получившей id, занимается под временным отрицательным id,
+	//который после сохранения брони заменяется настоящим в assignId; null — интервал занят
+	public BookingInterval tryReservePending(int itemId, LocalDateTime start, LocalDateTime end) {
+		BookingInterval pending = new BookingInterval(-1 - (pendingIds.getAndIncrement() & Integer.MAX_VALUE),
+				itemId, start, end);
+		return tryReserve(pending) ? pending : null;
+	}
+
+	public void assignId(BookingInterval pending, int bookingId) {
+		int itemId = pending.getItemId();
+		Lock lock = getLock(itemId);
+		lock.lock();
+		try {
+			ItemIntervals intervals = itemIntervals.get(itemId);
+			if (intervals != null && intervals.remove(pending))
+				intervals.add(new BookingInterval(bookingId, itemId, pending.getStart(), pending.getEnd()));
+		} finally {
+			lock.unlock();
+		}
+		TransactionActions.afterRollback(() -> removeNow(itemId, bookingId));
+	}
+
+	public void remove(int itemId, int bookingId) {
+		TransactionActions.afterCommit(() -> removeNow(itemId, bookingId));
+	}
+
+	public void removeItem(int itemId) {
+		TransactionActions.afterCommit(() -> itemIntervals.remove(itemId));
+	}
+
+	//брони пользователя и брони на его вещи удаляются каскадно вместе с ним; выбираются до удаления
+	public void removeUser(int userId) {
+		List<BookingInterval> intervals = bookingRepository.findAllIntervalsByUserOrOwnerAndStatusInAndEndAfter(userId,
+				ACTIVE_STATUSES, getTimeNow());
+		TransactionActions.afterCommit(
+				() -> intervals.forEach(interval -> removeNow(interval.getItemId(), interval.getBookingId())));
+	}
+
+	private boolean isFreeLocked(int itemId, LocalDateTime start, LocalDateTime end) {
+		ItemIntervals intervals = itemIntervals.get(itemId);
+		return intervals == null || intervals.isFree(start, end);
+	}
+
+	private void removeNow(int itemId, int bookingId) {
+		Lock lock = getLock(itemId);
+		lock.lock();
+		try {
+			ItemIntervals intervals = itemIntervals.get(itemId);
+			if (intervals != null)
+				intervals.removeIf(interval -> interval.getBookingId() == bookingId);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void removeExpired(NavigableSet<BookingInterval> intervals) {
+		LocalDateTime now = getTimeNow();
+		while (!intervals.isEmpty() && intervals.first().getEnd().isBefore(now))
+			intervals.pollFirst();
+	}
+
+	private Lock getLock(int itemId) {
+		return locks[itemId & (LOCK_STRIPES - 1)];
+	}
+
+	private static Lock[] createLocks() {
+		Lock[] locks = new Lock[LOCK_STRIPES];
+		for (int i = 0; i < LOCK_STRIPES; i++)
+			locks[i] = new ReentrantLock();
+		return locks;
+	}
+
+	private LocalDateTime getTimeNow() {
+		return LocalDateTime.now();
+	}
+
+	//интервалы вещи по началу. Брони, записанные до проверки пересечений, могли пересекаться, поэтому
+	//проверка не полагается на порядок: пересечь окно может только интервал, начавшийся не раньше,
+	//чем за длину самой длинной брони вещи до начала окна
+	private static final class ItemIntervals extends TreeSet<BookingInterval> {
+		private Duration maxLength = Duration.ZERO;
+
+		private ItemIntervals() {
+			super(START_ORDER);
+		}
+
+		@Override
+		public boolean add(BookingInterval interval) {
+			Duration length = Duration.between(interval.getStart(), interval.getEnd());
+			if (length.compareTo(maxLength) > 0)
+				maxLength = length;
+			return super.add(interval);
+		}
+
+		private boolean isFree(LocalDateTime start, LocalDateTime end) {
+			NavigableSet<BookingInterval> candidates = subSet(probe(start.minus(maxLength)), true, probe(end), false);
+			for (BookingInterval interval : candidates.descendingSet()) {
+				if (interval.overlaps(start, end))
+					return false;
+			}
+			return true;
+		}
+
+		private static BookingInterval probe(LocalDateTime time) {
+			return new BookingInterval(Integer.MIN_VALUE, 0, time, time);
+		}
+	}
+}
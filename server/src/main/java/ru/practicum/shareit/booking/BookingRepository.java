@@ -3,95 +3,203 @@ package ru.practicum.shareit.booking;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingDecisionTarget;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.LastNextBooking;
+import ru.practicum.shareit.booking.model.UserItemPair;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
+	//списки бронирований читаются проекцией без загрузки сущностей в контекст персистентности
+	String BOOKING_VIEW = "SELECT new ru.practicum.shareit.booking.model.BookingView(b.id, b.start, b.end, b.status, " +
+			"i.id, i.name, i.description, i.available, u.id, u.name, u.email) " +
+			"FROM Booking b JOIN b.item i JOIN b.user u ";
 
 	@EntityGraph(value = "booking-requester-item-owner-graph")
 	Optional<Booking> findWithRequesterAndItemAndOwnerOfItemById(Integer id);
 
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByUserId(Integer userId, Pageable pageable);
+	@Query(BOOKING_VIEW + "WHERE u.id = :userId")
+	List<BookingView> findAllByUserId(Integer userId, Pageable pageable);
 
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByUserIdAndStartBeforeAndEndAfter(Integer userId,
-														   LocalDateTime startTimeBefore,
-														   LocalDateTime endTimeAfter,
-														   Pageable pageable);
+	@Query(BOOKING_VIEW +
+			"WHERE u.id = :userId " +
+			"AND b.start < :startTimeBefore " +
+			"AND b.end > :endTimeAfter")
+	List<BookingView> findAllByUserIdAndStartBeforeAndEndAfter(Integer userId,
+															   LocalDateTime startTimeBefore,
+															   LocalDateTime endTimeAfter,
+															   Pageable pageable);
 
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findWithItemAndUserAllByUserIdAndEndBefore(Integer userId,
-															 LocalDateTime endTimeBefore,
-															 Pageable pageable);
+	@Query(BOOKING_VIEW +
+			"WHERE u.id = :userId " +
+			"AND b.end < :endTimeBefore")
+	List<BookingView> findWithItemAndUserAllByUserIdAndEndBefore(Integer userId,
+																 LocalDateTime endTimeBefore,
+																 Pageable pageable);
 
 	List<Booking> findAllByUserIdAndItemIdAndStatusAndEndBefore(Integer userId,
 																Integer itemId,
 																BookingStatus status,
 																LocalDateTime endTimeBefore);
 
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByUserIdAndStartAfter(Integer userId,
-											   LocalDateTime startTimeAfter,
-											   Pageable pageable);
-
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByUserIdAndStatusIs(Integer userId, BookingStatus status, Pageable pageable);
-
-	@Query("SELECT b FROM Booking b " +
-			"JOIN b.item i " +
-			"JOIN i.owner o " +
-			"WHERE o.id = :ownerId ")
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByOwnerId(Integer ownerId, Pageable pageable);
-
-	@Query("SELECT b FROM Booking b " +
-			"JOIN b.item i " +
-			"JOIN i.owner o " +
-			"WHERE o.id = :ownerId " +
+	@Query(BOOKING_VIEW +
+			"WHERE u.id = :userId " +
+			"AND b.start > :startTimeAfter")
+	List<BookingView> findAllByUserIdAndStartAfter(Integer userId,
+												   LocalDateTime startTimeAfter,
+												   Pageable pageable);
+
+	@Query(BOOKING_VIEW +
+			"WHERE u.id = :userId " +
+			"AND b.status = :status")
+	List<BookingView> findAllByUserIdAndStatusIs(Integer userId, BookingStatus status, Pageable pageable);
+
+	//бронирование видно только его автору и владельцу вещи
+	@Query(BOOKING_VIEW + "WHERE b.id IN :ids AND (u.id = :userId OR i.owner.id = :userId)")
+	List<BookingView> findAllVisibleByIdIn(Collection<Integer> ids, Integer userId);
+
+	@Query(BOOKING_VIEW + "WHERE i.owner.id = :ownerId")
+	List<BookingView> findAllByOwnerId(Integer ownerId, Pageable pageable);
+
+	@Query(BOOKING_VIEW +
+			"WHERE i.owner.id = :ownerId " +
 			"AND b.start < :startTimeBefore " +
 			"AND b.end > :endTimeAfter")
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByOwnerIdAndStartBeforeAndEndAfter(Integer ownerId,
-															LocalDateTime startTimeBefore,
-															LocalDateTime endTimeAfter,
-															Pageable pageable);
-
-	@Query("SELECT b FROM Booking b " +
-			"JOIN b.item i " +
-			"JOIN i.owner o " +
-			"WHERE o.id = :ownerId " +
+	List<BookingView> findAllByOwnerIdAndStartBeforeAndEndAfter(Integer ownerId,
+																LocalDateTime startTimeBefore,
+																LocalDateTime endTimeAfter,
+																Pageable pageable);
+
+	@Query(BOOKING_VIEW +
+			"WHERE i.owner.id = :ownerId " +
 			"AND b.end < :endTimeBefore")
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByOwnerIdAndEndBefore(Integer ownerId,
-											   LocalDateTime endTimeBefore,
-											   Pageable pageable);
-
-	@Query("SELECT b FROM Booking b " +
-			"JOIN b.item i " +
-			"JOIN i.owner o " +
-			"WHERE o.id = :ownerId " +
+	List<BookingView> findAllByOwnerIdAndEndBefore(Integer ownerId,
+												   LocalDateTime endTimeBefore,
+												   Pageable pageable);
+
+	@Query(BOOKING_VIEW +
+			"WHERE i.owner.id = :ownerId " +
 			"AND b.start > :startTimeAfter")
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByOwnerIdAndStartAfter(Integer ownerId,
-												LocalDateTime startTimeAfter,
-												Pageable pageable);
-
-	@Query("SELECT b FROM Booking b " +
-			"JOIN b.item i " +
-			"JOIN i.owner o " +
-			"WHERE o.id = :ownerId " +
+	List<BookingView> findAllByOwnerIdAndStartAfter(Integer ownerId,
+													LocalDateTime startTimeAfter,
+													Pageable pageable);
+
+	@Query(BOOKING_VIEW +
+			"WHERE i.owner.id = :ownerId " +
 			"AND b.status = :status")
-	@EntityGraph(attributePaths = {"item", "user"})
-	List<Booking> findAllByOwnerIdAndStatusIs(Integer ownerId,
-											  BookingStatus status,
-											  Pageable pageable);
+	List<BookingView> findAllByOwnerIdAndStatusIs(Integer ownerId,
+												  BookingStatus status,
+												  Pageable pageable);
 
 	@EntityGraph(attributePaths = "user")
 	List<Booking> findWithBookerAllByItemIdAndStatusIn(Integer itemId, List<BookingStatus> statuses);
+
+	@Query("SELECT new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+			"FROM Booking b " +
+			"WHERE b.status IN :statuses " +
+			"AND b.end > :endTimeAfter")
+	List<BookingInterval> findAllIntervalsByStatusInAndEndAfter(List<BookingStatus> statuses,
+																LocalDateTime endTimeAfter);
+
+	@Query("SELECT new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+			"FROM Booking b " +
+			"WHERE (b.user.id = :userId OR b.item.owner.id = :userId) " +
+			"AND b.status IN :statuses " +
+			"AND b.end > :endTimeAfter")
+	List<BookingInterval> findAllIntervalsByUserOrOwnerAndStatusInAndEndAfter(int userId, List<BookingStatus> statuses,
+																			 LocalDateTime endTimeAfter);
+
+	@Query("SELECT DISTINCT new ru.practicum.shareit.booking.model.UserItemPair(b.user.id, b.item.id) " +
+			"FROM Booking b " +
+			"WHERE b.status = :status")
+	List<UserItemPair> findAllUserItemPairsByStatus(BookingStatus status);
+
+	@Query(BOOKING_VIEW +
+			"WHERE u.id = :userId " +
+			"AND b.status IN :statuses " +
+			"AND b.start > :startAfter AND b.start < :startBefore " +
+			"AND b.end > :endAfter AND b.end < :endBefore " +
+			"AND b.start <= :cursorStart " +
+			"AND (b.start < :cursorStart OR b.id < :cursorId) " +
+			"ORDER BY b.start DESC, b.id DESC")
+	List<BookingView> findAllByUserIdAfterCursor(Integer userId,
+												 List<BookingStatus> statuses,
+												 LocalDateTime startAfter,
+												 LocalDateTime startBefore,
+												 LocalDateTime endAfter,
+												 LocalDateTime endBefore,
+												 LocalDateTime cursorStart,
+												 Integer cursorId,
+												 Pageable pageable);
+
+	@Query(BOOKING_VIEW +
+			"WHERE i.owner.id = :ownerId " +
+			"AND b.status IN :statuses " +
+			"AND b.start > :startAfter AND b.start < :startBefore " +
+			"AND b.end > :endAfter AND b.end < :endBefore " +
+			"AND b.start <= :cursorStart " +
+			"AND (b.start < :cursorStart OR b.id < :cursorId) " +
+			"ORDER BY b.start DESC, b.id DESC")
+	List<BookingView> findAllByOwnerIdAfterCursor(Integer ownerId,
+												  List<BookingStatus> statuses,
+												  LocalDateTime startAfter,
+												  LocalDateTime startBefore,
+												  LocalDateTime endAfter,
+												  LocalDateTime endBefore,
+												  LocalDateTime cursorStart,
+												  Integer cursorId,
+												  Pageable pageable);
+
+	//при единственном бронировании вещи начавшееся бронирование считается последним
+	@Query(value = "WITH item_bookings AS (" +
+			"    SELECT b.booking_id, b.item_id, b.user_id, b.booking_start, b.booking_end, b.booking_status_id, " +
+			"           COUNT(*) OVER (PARTITION BY b.item_id) AS bookings_count " +
+			"    FROM bookings b " +
+			"    WHERE b.item_id IN (:itemIds) " +
+			"    AND b.booking_status_id IN (:statuses)" +
+			"), candidates AS (" +
+			"    SELECT ib.*, " +
+			"           CASE WHEN ib.booking_start > :now THEN 'NEXT' " +
+			"                WHEN ib.bookings_count = 1 OR ib.booking_end < :now THEN 'LAST' " +
+			"           END AS kind " +
+			"    FROM item_bookings ib" +
+			"), ranked AS (" +
+			"    SELECT c.*, " +
+			"           ROW_NUMBER() OVER (PARTITION BY c.item_id, c.kind " +
+			"                              ORDER BY CASE WHEN c.kind = 'NEXT' THEN c.booking_start END ASC, " +
+			"                                       c.booking_end DESC) AS booking_rank " +
+			"    FROM candidates c " +
+			"    WHERE c.kind IS NOT NULL" +
+			") " +
+			"SELECT r.booking_id AS \"id\", r.item_id AS \"itemId\", r.user_id AS \"bookerId\", " +
+			"       r.booking_start AS \"start\", r.booking_end AS \"end\", " +
+			"       r.booking_status_id AS \"status\", r.kind AS \"kind\" " +
+			"FROM ranked r " +
+			"WHERE r.booking_rank = 1",
+			nativeQuery = true)
+	List<LastNextBooking> findLastNextBookings(List<Integer> itemIds, List<Integer> statuses, LocalDateTime now);
+
+	@Query("SELECT new ru.practicum.shareit.booking.model.BookingDecisionTarget(b.id, i.id, i.owner.id, b.user.id, " +
+			"b.status, b.start, b.end) " +
+			"FROM Booking b JOIN b.item i " +
+			"WHERE b.id IN :ids")
+	List<BookingDecisionTarget> findDecisionTargetsByIdIn(Collection<Integer> ids);
+
+	//подтверждённые бронирования не меняются, даже если их подтвердили после чтения целей
+	@Modifying
+	@Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status <> :excludedStatus")
+	int updateStatusByIdInAndStatusNot(Collection<Integer> ids, BookingStatus status, BookingStatus excludedStatus);
+
+	@Modifying
+	@Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status = :expectedStatus")
+	int updateStatusByIdInAndStatus(Collection<Integer> ids, BookingStatus status, BookingStatus expectedStatus);
 }
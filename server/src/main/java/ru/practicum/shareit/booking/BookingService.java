@@ -2,7 +2,11 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.model.dto.BookingDto;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.util.List;
 
@@ -10,11 +14,21 @@ public interface BookingService {
 
 	BookingDto addBooking(BookingDto bookingDto, int bookerId);
 
+	List<BookingBatchResult> addBookings(List<BookingDto> bookingDtos, int bookerId);
+
 	BookingDto approveBooking(int userId, int bookingId, boolean approved);
 
+	List<BookingDecisionResult> decideBookings(int ownerId, List<BookingDecisionDto> decisions);
+
 	BookingDto getBooking(int bookingId, int userId);
 
+	List<BookingDto> getBookingsByIds(List<Integer> ids, int userId);
+
 	List<BookingDto> getUserBookings(int userId, State state, Pageable pageable);
 
 	List<BookingDto> getOwnerBookings(int ownerId, State state, Pageable pageable);
+
+	List<BookingDto> getUserBookings(int userId, State state, SeekCursor after, int size);
+
+	List<BookingDto> getOwnerBookings(int ownerId, State state, SeekCursor after, int size);
 }
@@ -2,12 +2,20 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingDecisionTarget;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStateFilter;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.model.dto.BookingDto;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.booking.BookingNotFoundException;
@@ -16,11 +24,24 @@ import ru.practicum.shareit.exception.user.UserNotFoundException;
 import ru.practicum.shareit.exception.user.UserNotOwnerException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.popularity.ItemPopularity;
+import ru.practicum.shareit.item.related.RelatedItemsIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Pagenator;
+import ru.practicum.shareit.util.RequestLimits;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.BookingStatus.*;
@@ -32,6 +53,10 @@ public class BookingServiceImpl implements BookingService {
 	private final BookingRepository bookingRepository;
 	private final UserRepository userRepository;
 	private final ItemRepository itemRepository;
+	private final BookingIntervalIndex bookingIndex;
+	private final ItemSuggestIndex suggestIndex;
+	private final ItemPopularity popularity;
+	private final RelatedItemsIndex relatedIndex;
 
 	@Override
 	@Transactional
@@ -50,13 +75,81 @@ public class BookingServiceImpl implements BookingService {
 			throw new BadRequestException("Item not available.");
 		if (item.getOwner().getId() == bookerId)
 			throw new UserNotFoundException("Owner of item cannot be a booker.");
+		if (!bookingIndex.isFree(itemId, booking.getStart(), booking.getEnd()))
+			throw new BadRequestException("Item already booked for this period.");
 		booking.setUser(booker);
 		booking.setItem(item);
 		booking.setStatus(WAITING);
-		Booking savedBooking = bookingRepository.save(booking);
+		Booking savedBooking = saveBooking(booking);
+		if (!bookingIndex.tryReserve(new BookingInterval(savedBooking.getId(), itemId, booking.getStart(), booking.getEnd())))
+			throw new BadRequestException("Item already booked for this period.");
+		popularity.recordBooking(itemId);
+		suggestIndex.refreshPopularity(itemId);
 		return BookingDto.toDto(savedBooking, item, booker);
 	}
 
+	//пользователь и вещи читаются двумя запросами, пересечения проверяются по индексу интервалов и внутри пачки,
+	//принятые бронирования вставляются одним пакетом
+	@Override
+	@Transactional
+	public List<BookingBatchResult> addBookings(List<BookingDto> bookingDtos, int bookerId) {
+		if (bookingDtos.size() > RequestLimits.MAX_BATCH_SIZE)
+			throw new BadRequestException("Too many bookings in batch, max is [" + RequestLimits.MAX_BATCH_SIZE + "].");
+		User booker = userRepository.findById(bookerId).orElseThrow(
+				() -> new UserNotFoundException("Requester with id [" + bookerId + "] not exists.")
+		);
+		Set<Integer> itemIds = bookingDtos.stream()
+				.map(BookingDto::getItemId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		Map<Integer, Item> items = itemRepository.findWithOwnerAllByIdIn(itemIds).stream()
+				.collect(Collectors.toMap(Item::getId, Function.identity()));
+		BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+		Set<Integer> acceptedItemIds = new HashSet<>();
+		List<Booking> accepted = new ArrayList<>();
+		List<BookingInterval> reservations = new ArrayList<>();
+		List<Integer> acceptedIndexes = new ArrayList<>();
+		for (int i = 0; i < bookingDtos.size(); i++) {
+			BookingDto bookingDto = bookingDtos.get(i);
+			Item item = bookingDto.getItemId() == null ? null : items.get(bookingDto.getItemId());
+			String error = validateBatchBooking(bookingDto, item, bookerId);
+			if (error != null) {
+				results[i] = BookingBatchResult.failed(i, error);
+				continue;
+			}
+			//интервал занимается до сохранения, поэтому пересечение с параллельным запросом
+			//или с бронью раньше в пачке отклоняет только этот элемент
+			BookingInterval reservation = bookingIndex.tryReservePending(item.getId(),
+					bookingDto.getStart(), bookingDto.getEnd());
+			if (reservation == null) {
+				results[i] = BookingBatchResult.failed(i, "Item already booked for this period.");
+				continue;
+			}
+			Booking booking = BookingDto.toModel(bookingDto);
+			booking.setUser(booker);
+			booking.setItem(item);
+			booking.setStatus(WAITING);
+			acceptedItemIds.add(item.getId());
+			accepted.add(booking);
+			reservations.add(reservation);
+			acceptedIndexes.add(i);
+		}
+		if (!accepted.isEmpty()) {
+			bookingRepository.saveAll(accepted);
+			for (int i = 0; i < accepted.size(); i++)
+				bookingIndex.assignId(reservations.get(i), accepted.get(i).getId());
+			flushBookings();
+		}
+		for (int i = 0; i < accepted.size(); i++) {
+			Booking booking = accepted.get(i);
+			int index = acceptedIndexes.get(i);
+			popularity.recordBooking(booking.getItem().getId());
+			results[index] = BookingBatchResult.created(index, BookingDto.toDto(booking, booking.getItem(), booker));
+		}
+		acceptedItemIds.forEach(suggestIndex::refreshPopularity);
+		return List.of(results);
+	}
+
 	@Override
 	@Transactional
 	public BookingDto approveBooking(int userId, int bookingId, boolean approved) {
@@ -69,12 +162,115 @@ public class BookingServiceImpl implements BookingService {
 			throw new UserNotOwnerException("User with id [" + userId + "] not owner of Item.");
 		if (booking.getStatus() == APPROVED)
 			throw new BadRequestException("Owner cannot change status after approval.");
+		BookingStatus previousStatus = booking.getStatus();
 		booking.setStatus(status);
-		Booking savedBooking = bookingRepository.save(booking);
+		Booking savedBooking = saveBooking(booking);
+		int itemId = booking.getItem().getId();
+		if (status == REJECTED)
+			bookingIndex.remove(itemId, bookingId);
+		else if (previousStatus == REJECTED
+				&& !bookingIndex.tryReserve(new BookingInterval(bookingId, itemId, booking.getStart(), booking.getEnd())))
+			throw new BadRequestException("Item already booked for this period.");
+		if (status == APPROVED) {
+			popularity.recordApproval(itemId);
+			suggestIndex.refreshPopularity(itemId);
+			relatedIndex.addApprovedBooking(booking.getUser().getId(), itemId);
+		}
 		return BookingDto.toDto(savedBooking, booking.getItem(), booking.getUser());
 	}
 
+	//владелец проверяется по целям, прочитанным одним запросом; статусы меняются одним UPDATE на каждое решение.
+	//Итог возвращается на каждый элемент запроса в его порядке; повтор id бронирования считается ошибкой
+	@Override
+	@Transactional
+	public List<BookingDecisionResult> decideBookings(int ownerId, List<BookingDecisionDto> decisions) {
+		if (decisions.size() > RequestLimits.MAX_BATCH_SIZE)
+			throw new BadRequestException("Too many decisions in batch, max is [" + RequestLimits.MAX_BATCH_SIZE + "].");
+		BookingDecisionResult[] results = new BookingDecisionResult[decisions.size()];
+		Map<Integer, Integer> indexById = new LinkedHashMap<>();
+		for (int i = 0; i < decisions.size(); i++) {
+			BookingDecisionDto decision = decisions.get(i);
+			Integer bookingId = decision.getBookingId();
+			if (bookingId == null || decision.getApproved() == null)
+				results[i] = BookingDecisionResult.failed(i, bookingId, "Booking id and decision are required.");
+			else if (indexById.putIfAbsent(bookingId, i) != null)
+				results[i] = BookingDecisionResult.failed(i, bookingId,
+						"Booking with id [" + bookingId + "] repeated in batch.");
+		}
+		if (indexById.isEmpty())
+			return List.of(results);
+		Map<Integer, BookingDecisionTarget> targets = bookingRepository.findDecisionTargetsByIdIn(indexById.keySet())
+				.stream()
+				.collect(Collectors.toMap(BookingDecisionTarget::getBookingId, Function.identity()));
+		List<BookingDecisionTarget> toApprove = new ArrayList<>();
+		List<BookingDecisionTarget> toReject = new ArrayList<>();
+		indexById.forEach((bookingId, index) -> {
+			BookingDecisionTarget target = targets.get(bookingId);
+			String error = null;
+			if (target == null)
+				error = "Booking with id [" + bookingId + "] not exists.";
+			else if (target.getOwnerId() != ownerId)
+				error = "User with id [" + ownerId + "] not owner of Item.";
+			else if (target.getStatus() == APPROVED)
+				error = "Owner cannot change status after approval.";
+			else if (!decisions.get(index).getApproved())
+				toReject.add(target);
+			else if (target.getStatus() == REJECTED && !bookingIndex.tryReserve(new BookingInterval(bookingId,
+					target.getItemId(), target.getStart(), target.getEnd())))
+				error = "Item already booked for this period.";
+			else
+				toApprove.add(target);
+			if (error != null)
+				results[index] = BookingDecisionResult.failed(index, bookingId, error);
+		});
+		if (updateStatus(toReject, REJECTED) < toReject.size()) {
+			//часть бронирований подтвердили параллельно после чтения целей, их UPDATE пропустил
+			Set<Integer> approvedMeanwhile = bookingRepository.findDecisionTargetsByIdIn(getBookingIds(toReject))
+					.stream()
+					.filter(target -> target.getStatus() == APPROVED)
+					.map(BookingDecisionTarget::getBookingId)
+					.collect(Collectors.toSet());
+			toReject.removeIf(target -> approvedMeanwhile.contains(target.getBookingId()));
+			approvedMeanwhile.forEach(bookingId -> results[indexById.get(bookingId)] = BookingDecisionResult.failed(
+					indexById.get(bookingId), bookingId, "Owner cannot change status after approval."));
+		}
+		if (approveUnchanged(toApprove) < toApprove.size()) {
+			//статус части бронирований сменили параллельно после чтения целей, их UPDATE пропустил;
+			//параллельно подтверждённое бронирование неотличимо от своего и считается подтверждённым
+			Map<Integer, BookingStatus> currentStatuses = bookingRepository.findDecisionTargetsByIdIn(getBookingIds(toApprove))
+					.stream()
+					.collect(Collectors.toMap(BookingDecisionTarget::getBookingId, BookingDecisionTarget::getStatus));
+			toApprove.removeIf(target -> {
+				if (currentStatuses.get(target.getBookingId()) == APPROVED)
+					return false;
+				if (target.getStatus() == REJECTED)
+					bookingIndex.remove(target.getItemId(), target.getBookingId());
+				int index = indexById.get(target.getBookingId());
+				results[index] = BookingDecisionResult.failed(index, target.getBookingId(),
+						"Booking status changed concurrently.");
+				return true;
+			});
+		}
+		for (BookingDecisionTarget target : toReject) {
+			bookingIndex.remove(target.getItemId(), target.getBookingId());
+			int index = indexById.get(target.getBookingId());
+			results[index] = BookingDecisionResult.applied(index, target.getBookingId(), REJECTED);
+		}
+		for (BookingDecisionTarget target : toApprove) {
+			popularity.recordApproval(target.getItemId());
+			relatedIndex.addApprovedBooking(target.getBookerId(), target.getItemId());
+			int index = indexById.get(target.getBookingId());
+			results[index] = BookingDecisionResult.applied(index, target.getBookingId(), APPROVED);
+		}
+		toApprove.stream()
+				.map(BookingDecisionTarget::getItemId)
+				.distinct()
+				.forEach(suggestIndex::refreshPopularity);
+		return List.of(results);
+	}
+
 	@Override
+	@Transactional(readOnly = true)
 	public BookingDto getBooking(int bookingId, int userId) {
 		Booking booking = bookingRepository.findWithRequesterAndItemAndOwnerOfItemById(bookingId)
 				.orElseThrow(
@@ -87,12 +283,28 @@ public class BookingServiceImpl implements BookingService {
 		return BookingDto.toDto(booking, booking.getItem(), booking.getUser());
 	}
 
+	//чужие бронирования отсеиваются в запросе, недоступные и несуществующие id в ответ не попадают
+	@Override
+	@Transactional(readOnly = true)
+	public List<BookingDto> getBookingsByIds(List<Integer> ids, int userId) {
+		userRepository.findById(userId).orElseThrow(
+				() -> new UserNotFoundException("User with id [" + userId + "] not exists.")
+		);
+		List<BookingView> bookings = Pagenator.fetchByIdPage(Pagenator.getIdPage(ids),
+				pageIds -> bookingRepository.findAllVisibleByIdIn(pageIds, userId),
+				BookingView::getId);
+		return bookings.stream()
+				.map(BookingDto::toDto)
+				.collect(Collectors.toList());
+	}
+
 	@Override
+	@Transactional(readOnly = true)
 	public List<BookingDto> getUserBookings(int userId, State state, Pageable pageable) {
 		userRepository.findById(userId).orElseThrow(
 				() -> new UserNotFoundException("User with id [" + userId + "] not exists.")
 		);
-		List<Booking> bookings;
+		List<BookingView> bookings;
 		switch (state) {
 			case CURRENT:
 				bookings = bookingRepository.findAllByUserIdAndStartBeforeAndEndAfter(userId,
@@ -120,17 +332,18 @@ public class BookingServiceImpl implements BookingService {
 				bookings = bookingRepository.findAllByUserId(userId, pageable);
 		}
 		return bookings.stream()
-				.map(booking -> BookingDto.toDto(booking, booking.getItem(), booking.getUser()))
+				.map(BookingDto::toDto)
 				.sorted(BookingDto.startComparator)
 				.collect(Collectors.toList());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<BookingDto> getOwnerBookings(int ownerId, State state, Pageable pageable) {
 		userRepository.findById(ownerId).orElseThrow(
 				() -> new UserNotFoundException("User with id [" + ownerId + "] not exists.")
 		);
-		List<Booking> bookings;
+		List<BookingView> bookings;
 		switch (state) {
 			case CURRENT:
 				bookings = bookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter(ownerId,
@@ -158,11 +371,120 @@ public class BookingServiceImpl implements BookingService {
 				bookings = bookingRepository.findAllByOwnerId(ownerId, pageable);
 		}
 		return bookings.stream()
-				.map(booking -> BookingDto.toDto(booking, booking.getItem(), booking.getUser()))
+				.map(BookingDto::toDto)
 				.sorted(BookingDto.startComparator)
 				.collect(Collectors.toList());
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<BookingDto> getUserBookings(int userId, State state, SeekCursor after, int size) {
+		userRepository.findById(userId).orElseThrow(
+				() -> new UserNotFoundException("User with id [" + userId + "] not exists.")
+		);
+		BookingStateFilter filter = BookingStateFilter.of(state, getTimeNow());
+		List<BookingView> bookings = bookingRepository.findAllByUserIdAfterCursor(userId,
+				filter.getStatuses(),
+				filter.getStartAfter(),
+				filter.getStartBefore(),
+				filter.getEndAfter(),
+				filter.getEndBefore(),
+				after.getTime(),
+				after.getId(),
+				getSeekPage(size));
+		return bookings.stream()
+				.map(BookingDto::toDto)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<BookingDto> getOwnerBookings(int ownerId, State state, SeekCursor after, int size) {
+		userRepository.findById(ownerId).orElseThrow(
+				() -> new UserNotFoundException("User with id [" + ownerId + "] not exists.")
+		);
+		BookingStateFilter filter = BookingStateFilter.of(state, getTimeNow());
+		List<BookingView> bookings = bookingRepository.findAllByOwnerIdAfterCursor(ownerId,
+				filter.getStatuses(),
+				filter.getStartAfter(),
+				filter.getStartBefore(),
+				filter.getEndAfter(),
+				filter.getEndBefore(),
+				after.getTime(),
+				after.getId(),
+				getSeekPage(size));
+		return bookings.stream()
+				.map(BookingDto::toDto)
+				.collect(Collectors.toList());
+	}
+
+	private Pageable getSeekPage(int size) {
+		return Pagenator.getPage(0, size);
+	}
+
+	private String validateBatchBooking(BookingDto bookingDto, Item item, int bookerId) {
+		LocalDateTime start = bookingDto.getStart();
+		LocalDateTime end = bookingDto.getEnd();
+		if (start == null || end == null || bookingDto.getItemId() == null)
+			return "Booking start, end and itemId are required.";
+		if (!isValidBookingStartEndTime(start, end))
+			return "Wrong booking start-end time!";
+		if (item == null)
+			return "Item for booking with id [" + bookingDto.getItemId() + "] not exists.";
+		if (!item.getAvailable())
+			return "Item not available.";
+		if (item.getOwner().getId() == bookerId)
+			return "Owner of item cannot be a booker.";
+		return null;
+	}
+
+	private int updateStatus(List<BookingDecisionTarget> targets, BookingStatus status) {
+		if (targets.isEmpty())
+			return 0;
+		try {
+			return bookingRepository.updateStatusByIdInAndStatusNot(getBookingIds(targets), status, APPROVED);
+		} catch (DataIntegrityViolationException exception) {
+			throw new BadRequestException("Item already booked for this period.");
+		}
+	}
+
+	//подтверждаются только бронирования, чей статус не сменился после чтения целей: одним UPDATE на каждый статус
+	private int approveUnchanged(List<BookingDecisionTarget> targets) {
+		Map<BookingStatus, List<Integer>> idsByStatus = targets.stream()
+				.collect(Collectors.groupingBy(BookingDecisionTarget::getStatus,
+						Collectors.mapping(BookingDecisionTarget::getBookingId, Collectors.toList())));
+		int updated = 0;
+		try {
+			for (Map.Entry<BookingStatus, List<Integer>> entry : idsByStatus.entrySet())
+				updated += bookingRepository.updateStatusByIdInAndStatus(entry.getValue(), APPROVED, entry.getKey());
+		} catch (DataIntegrityViolationException exception) {
+			throw new BadRequestException("Item already booked for this period.");
+		}
+		return updated;
+	}
+
+	private List<Integer> getBookingIds(List<BookingDecisionTarget> targets) {
+		return targets.stream()
+				.map(BookingDecisionTarget::getBookingId)
+				.toList();
+	}
+
+	private void flushBookings() {
+		try {
+			bookingRepository.flush();
+		} catch (DataIntegrityViolationException exception) {
+			throw new BadRequestException("Item already booked for this period.");
+		}
+	}
+
+	private Booking saveBooking(Booking booking) {
+		try {
+			return bookingRepository.saveAndFlush(booking);
+		} catch (DataIntegrityViolationException exception) {
+			throw new BadRequestException("Item already booked for this period.");
+		}
+	}
+
 	private boolean isValidBookingStartEndTime(LocalDateTime start, LocalDateTime end) {
 		return start.isAfter(getTimeNow())
 				&& end.isAfter(getTimeNow())
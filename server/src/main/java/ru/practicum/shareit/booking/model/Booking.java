@@ -27,7 +27,8 @@ import java.time.LocalDateTime;
 )
 public class Booking {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+	@SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
 	@Column(name = "booking_id")
 	private Integer id;
 
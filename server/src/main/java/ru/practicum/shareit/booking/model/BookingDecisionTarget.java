@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingDecisionTarget {
+	Integer bookingId;
+	Integer itemId;
+	Integer ownerId;
+	Integer bookerId;
+	BookingStatus status;
+	LocalDateTime start;
+	LocalDateTime end;
+}
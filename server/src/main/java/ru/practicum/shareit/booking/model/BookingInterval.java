@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingInterval {
+	Integer bookingId;
+	Integer itemId;
+	LocalDateTime start;
+	LocalDateTime end;
+
+	public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+		return start.isBefore(otherEnd) && otherStart.isBefore(end);
+	}
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+public class BookingStateFilter {
+	private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+	private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+	List<BookingStatus> statuses;
+	LocalDateTime startAfter;
+	LocalDateTime startBefore;
+	LocalDateTime endAfter;
+	LocalDateTime endBefore;
+
+	public static BookingStateFilter of(State state, LocalDateTime now) {
+		switch (state) {
+			case CURRENT:
+				return new BookingStateFilter(List.of(BookingStatus.values()), MIN_TIME, now, now, MAX_TIME);
+			case PAST:
+				return new BookingStateFilter(List.of(BookingStatus.values()), MIN_TIME, MAX_TIME, MIN_TIME, now);
+			case FUTURE:
+				return new BookingStateFilter(List.of(BookingStatus.values()), now, MAX_TIME, MIN_TIME, MAX_TIME);
+			case WAITING:
+				return new BookingStateFilter(List.of(BookingStatus.WAITING), MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+			case REJECTED:
+				return new BookingStateFilter(List.of(BookingStatus.REJECTED), MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+			default:
+				return new BookingStateFilter(List.of(BookingStatus.values()), MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+//плоская строка бронирования для списков: без управляемых сущностей, прокси и снимков для dirty checking
+@Value
+public class BookingView {
+	Integer id;
+	LocalDateTime start;
+	LocalDateTime end;
+	BookingStatus status;
+	Integer itemId;
+	String itemName;
+	String itemDescription;
+	Boolean itemAvailable;
+	Integer bookerId;
+	String bookerName;
+	String bookerEmail;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface LastNextBooking {
+	String LAST = "LAST";
+	String NEXT = "NEXT";
+
+	Integer getId();
+
+	Integer getItemId();
+
+	Integer getBookerId();
+
+	LocalDateTime getStart();
+
+	LocalDateTime getEnd();
+
+	Integer getStatus();
+
+	String getKind();
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+@Value
+public class UserItemPair {
+	Integer userId;
+	Integer itemId;
+}
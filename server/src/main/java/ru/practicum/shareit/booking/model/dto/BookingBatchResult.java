@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import lombok.Value;
+
+//результат по элементу пачки: index — позиция в запросе, заполнено либо booking, либо error
+@Value
+public class BookingBatchResult {
+	int index;
+	BookingDto booking;
+	String error;
+
+	public static BookingBatchResult created(int index, BookingDto booking) {
+		return new BookingBatchResult(index, booking, null);
+	}
+
+	public static BookingBatchResult failed(int index, String error) {
+		return new BookingBatchResult(index, null, error);
+	}
+}
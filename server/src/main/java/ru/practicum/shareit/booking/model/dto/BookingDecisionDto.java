@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingDecisionDto {
+	private Integer bookingId;
+	private Boolean approved;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+//итог решения по бронированию: index — позиция в запросе, заполнено либо status, либо error
+@Value
+public class BookingDecisionResult {
+	int index;
+	Integer bookingId;
+	BookingStatus status;
+	String error;
+
+	public static BookingDecisionResult applied(int index, Integer bookingId, BookingStatus status) {
+		return new BookingDecisionResult(index, bookingId, status, null);
+	}
+
+	public static BookingDecisionResult failed(int index, Integer bookingId, String error) {
+		return new BookingDecisionResult(index, bookingId, null, error);
+	}
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.dto.ItemDto;
 import ru.practicum.shareit.user.model.User;
@@ -48,6 +49,26 @@ public class BookingDto {
 		return bookingDto;
 	}
 
+	public static BookingDto toDto(BookingView view) {
+		return BookingDto.builder()
+				.id(view.getId())
+				.start(view.getStart())
+				.end(view.getEnd())
+				.status(view.getStatus())
+				.item(ItemDto.builder()
+						.id(view.getItemId())
+						.name(view.getItemName())
+						.description(view.getItemDescription())
+						.available(view.getItemAvailable())
+						.build())
+				.booker(UserDto.builder()
+						.id(view.getBookerId())
+						.name(view.getBookerName())
+						.email(view.getBookerEmail())
+						.build())
+				.build();
+	}
+
 	public static Booking toModel(BookingDto dto) {
 		Booking booking = new Booking();
 		booking.setStart(dto.getStart());
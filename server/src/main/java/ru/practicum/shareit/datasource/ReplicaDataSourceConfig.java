@@ -0,0 +1,70 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//без адресов реплик остаётся единственный DataSource из автоконфигурации Spring Boot
+@Configuration
+@ConditionalOnExpression("!'${shareit.datasource.replica-urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource primary = properties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		primary.setPoolName("primary");
+		return primary;
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties,
+											   @Value("${shareit.datasource.replica-urls}") List<String> replicaUrls,
+											   @Value("${shareit.datasource.replica-lag-query}") String lagQuery,
+											   @Value("${shareit.datasource.replica-max-lag:PT5S}") Duration maxLag,
+											   @Value("${shareit.datasource.replica-check-interval:PT5S}") Duration checkInterval,
+											   @Value("${shareit.datasource.replica-check-timeout:PT2S}") Duration checkTimeout) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (int i = 0; i < replicaUrls.size(); i++) {
+			HikariDataSource replica = properties.initializeDataSourceBuilder()
+					.type(HikariDataSource.class)
+					.url(replicaUrls.get(i).strip())
+					.build();
+			replica.setPoolName("replica-" + i);
+			replica.setReadOnly(true);
+			replicas.put(replica.getPoolName(), replica);
+		}
+		ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicas, lagQuery, maxLag, checkTimeout);
+		lagMonitor.check();
+		lagMonitor.start(checkInterval);
+		return lagMonitor;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource primaryDataSource,
+								 ReplicaLagMonitor replicaLagMonitor,
+								 @Value("${shareit.datasource.read-your-writes-window:PT10S}") Duration window) {
+		return new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor, window));
+	}
+
+	@Bean
+	public SharerUserFilter sharerUserFilter() {
+		return new SharerUserFilter();
+	}
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.datasource;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+//реплика с отставанием больше допустимого или недоступная исключается из чтения до следующей проверки.
+//Проверки идут в собственных потоках, не завися от общего планировщика, и ограничены по времени:
+//зависшая реплика считается неисправной, а не задерживает проверку остальных
+@Slf4j
+public class ReplicaLagMonitor {
+	private final Map<String, DataSource> replicas;
+	private final Map<String, JdbcTemplate> probes = new LinkedHashMap<>();
+	private final String lagQuery;
+	private final double maxLagSeconds;
+	private final Duration checkTimeout;
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+			daemonThreads("replica-lag-monitor"));
+	private final ExecutorService probeExecutor;
+	private volatile List<String> healthyKeys = List.of();
+
+	public ReplicaLagMonitor(Map<String, DataSource> replicas, String lagQuery, Duration maxLag, Duration checkTimeout) {
+		this.replicas = Map.copyOf(replicas);
+		this.lagQuery = lagQuery;
+		this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+		this.checkTimeout = checkTimeout;
+		this.replicas.forEach((key, replica) -> {
+			JdbcTemplate probe = new JdbcTemplate(replica);
+			probe.setQueryTimeout((int) Math.max(1, checkTimeout.toSeconds()));
+			probes.put(key, probe);
+		});
+		this.probeExecutor = Executors.newFixedThreadPool(Math.max(1, replicas.size()),
+				daemonThreads("replica-lag-probe"));
+	}
+
+	public Map<String, DataSource> getReplicas() {
+		return replicas;
+	}
+
+	public List<String> getHealthyKeys() {
+		return healthyKeys;
+	}
+
+	public void start(Duration interval) {
+		scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	public void check() {
+		Map<String, Future<Boolean>> results = new LinkedHashMap<>();
+		probes.forEach((key, probe) -> results.put(key, probeExecutor.submit(() -> isHealthy(key, probe))));
+		long deadline = System.nanoTime() + checkTimeout.toNanos();
+		List<String> healthy = new ArrayList<>();
+		results.forEach((key, result) -> {
+			if (awaitProbe(key, result, deadline))
+				healthy.add(key);
+		});
+		healthy.sort(null);
+		if (!Set.copyOf(healthy).equals(Set.copyOf(healthyKeys)))
+			log.info("Healthy replicas changed: {}.", healthy);
+		healthyKeys = List.copyOf(healthy);
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		scheduler.shutdownNow();
+		probeExecutor.shutdownNow();
+		for (DataSource replica : replicas.values()) {
+			if (replica instanceof Closeable closeable)
+				closeable.close();
+		}
+	}
+
+	private boolean awaitProbe(String key, Future<Boolean> result, long deadline) {
+		try {
+			return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			result.cancel(true);
+			log.warn("Replica [{}] lag not checked in [{}].", key, checkTimeout);
+		} catch (ExecutionException e) {
+			log.warn("Replica [{}] lag not checked.", key, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	private boolean isHealthy(String key, JdbcTemplate probe) {
+		try {
+			Double lagSeconds = probe.queryForObject(lagQuery, Double.class);
+			if (lagSeconds != null && lagSeconds <= maxLagSeconds)
+				return true;
+			log.warn("Replica [{}] lags behind primary by [{}] seconds.", key, lagSeconds);
+		} catch (RuntimeException e) {
+			log.warn("Replica [{}] lag not checked.", key, e);
+		}
+		return false;
+	}
+
+	private static ThreadFactory daemonThreads(String name) {
+		return runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
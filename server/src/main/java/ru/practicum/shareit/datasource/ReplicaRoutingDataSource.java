@@ -0,0 +1,56 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.util.TransactionActions;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//read-only транзакции читают с исправных реплик по кругу, остальные идут в primary.
+//Пользователь, недавно писавший в primary, читает оттуда же, пока реплики могут не догнать его запись.
+//Ключ выбирается при получении соединения, поэтому источник оборачивается в LazyConnectionDataSourceProxy
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+	public static final String PRIMARY = "primary";
+	private static final int MAX_TRACKED_WRITERS = 100_000;
+
+	private final ReplicaLagMonitor lagMonitor;
+	private final Cache<Integer, Boolean> recentWriters;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor, Duration readYourWritesWindow) {
+		this.lagMonitor = lagMonitor;
+		this.recentWriters = Caffeine.newBuilder()
+				.expireAfterWrite(readYourWritesWindow)
+				.maximumSize(MAX_TRACKED_WRITERS)
+				.build();
+		Map<Object, Object> targets = new HashMap<>(lagMonitor.getReplicas());
+		targets.put(PRIMARY, primary);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Integer userId = RoutingContext.getUserId();
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			//окно отсчитывается от коммита: долгая пишущая транзакция не должна израсходовать его заранее
+			if (userId != null && TransactionSynchronizationManager.isActualTransactionActive())
+				TransactionActions.afterCommit(() -> recentWriters.put(userId, Boolean.TRUE));
+			return PRIMARY;
+		}
+		if (userId != null && recentWriters.getIfPresent(userId) != null)
+			return PRIMARY;
+		List<String> healthyKeys = lagMonitor.getHealthyKeys();
+		if (healthyKeys.isEmpty())
+			return PRIMARY;
+		return healthyKeys.get(Math.floorMod(nextReplica.getAndIncrement(), healthyKeys.size()));
+	}
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.experimental.UtilityClass;
+
+//пользователь текущего запроса нужен маршрутизации для чтения собственных записей с primary
+@UtilityClass
+public class RoutingContext {
+	private static final ThreadLocal<Integer> USER_ID = new ThreadLocal<>();
+
+	public static Integer getUserId() {
+		return USER_ID.get();
+	}
+
+	public static void setUserId(Integer userId) {
+		USER_ID.set(userId);
+	}
+
+	public static void clear() {
+		USER_ID.remove();
+	}
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class SharerUserFilter extends OncePerRequestFilter {
+	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		RoutingContext.setUserId(parseUserId(request.getHeader(USER_ID_HEADER)));
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			RoutingContext.clear();
+		}
+	}
+
+	private static Integer parseUserId(String header) {
+		if (header == null)
+			return null;
+		try {
+			return Integer.valueOf(header.strip());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
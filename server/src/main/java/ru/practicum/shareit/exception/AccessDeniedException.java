@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class AccessDeniedException extends RuntimeException {
+	public AccessDeniedException(String message) {
+		super(message);
+	}
+}
@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.DataAlreadyExistsException;
 import ru.practicum.shareit.exception.DataNotFoundException;
@@ -36,6 +37,13 @@ public class ErrorHandler {
 		return new ErrorResponse("error", exception.getMessage());
 	}
 
+	@ExceptionHandler
+	@ResponseStatus(HttpStatus.FORBIDDEN)
+	public ErrorResponse handleAccessDenied(final AccessDeniedException exception) {
+		log.warn(exception.getMessage());
+		return new ErrorResponse("error", exception.getMessage());
+	}
+
 	@ExceptionHandler
 	@ResponseStatus(HttpStatus.NOT_FOUND)
 	public ErrorResponse handleUserNotOwner(final UserNotOwnerException exception) {
@@ -4,12 +4,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.model.dto.ItemBookingsCommentsDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemSuggestionDto;
 import ru.practicum.shareit.util.Pagenator;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -60,6 +63,15 @@ public class ItemController {
 		return itemDto;
 	}
 
+	@GetMapping(params = "ids")
+	public List<ItemDto> getItemsByIds(@RequestHeader(USER_ID_HEADER) int userId,
+									   @RequestParam List<Integer> ids) {
+		log.info("Request to get items by ids [{}] with userId [{}].", ids, userId);
+		List<ItemDto> itemDtos = itemService.getItemsByIds(ids, userId);
+		log.info("[{}] items received.", itemDtos.size());
+		return itemDtos;
+	}
+
 	@DeleteMapping("/{itemId}")
 	public ItemDto deleteItemById(@PathVariable int itemId,
 								  @RequestHeader(USER_ID_HEADER) int userId) {
@@ -71,15 +83,38 @@ public class ItemController {
 
 	@GetMapping("/search")
 	public List<ItemDto> searchByText(@RequestParam String text,
+									  @RequestParam(defaultValue = "false") boolean fuzzy,
+									  @RequestParam(required = false)
+									  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime freeFrom,
+									  @RequestParam(required = false)
+									  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime freeTo,
 									  @RequestParam(defaultValue = "0") int from,
 									  @RequestParam(defaultValue = "20") int size) {
-		log.info("Request to search item by text [{}].", text);
+		log.info("Request to search item by text [{}], fuzzy [{}].", text, fuzzy);
 		Pageable pageable = Pagenator.getPage(from, size);
-		List<ItemDto> itemsDtos = itemService.searchByText(text, pageable);
+		List<ItemDto> itemsDtos = itemService.searchByText(text, fuzzy, freeFrom, freeTo, pageable);
 		log.info("Items received.");
 		return itemsDtos;
 	}
 
+	@GetMapping("/suggest")
+	public List<ItemSuggestionDto> suggest(@RequestParam String prefix,
+										   @RequestParam(defaultValue = "10") int size) {
+		log.info("Request to suggest items by prefix [{}].", prefix);
+		List<ItemSuggestionDto> suggestions = itemService.suggest(prefix, size);
+		log.info("Suggestions received.");
+		return suggestions;
+	}
+
+	@GetMapping("/{itemId}/related")
+	public List<ItemDto> getRelatedItems(@PathVariable int itemId,
+										 @RequestParam(defaultValue = "10") int size) {
+		log.info("Request to get items related to item with id [{}].", itemId);
+		List<ItemDto> relatedItems = itemService.getRelatedItems(itemId, size);
+		log.info("Related items received.");
+		return relatedItems;
+	}
+
 	@PostMapping("/{itemId}/comment")
 	public CommentDto addComment(@PathVariable int itemId,
 								 @RequestHeader(USER_ID_HEADER) int userId,
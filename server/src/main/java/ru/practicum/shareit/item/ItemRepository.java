@@ -1,26 +1,96 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSuggestion;
+import ru.practicum.shareit.item.model.ItemView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
+	//выдача поиска читается проекцией ItemView: сущности не попадают в контекст персистентности
+	String ITEM_VIEW_COLUMNS = "i.item_id AS id, i.item_name AS name, i.description AS description, " +
+			"i.available AS available";
+	String ITEM_VIEW_FIELDS = "i.id AS id, i.name AS name, i.description AS description, i.available AS available";
 
 	@EntityGraph(attributePaths = "owner")
 	Optional<Item> findWithOwnerById(int id);
 
-	List<Item> findItemByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIs(String infix1,
-																								 String infix2,
-																								 Boolean isAvailable,
-																								 Pageable pageable);
+	@EntityGraph(attributePaths = "owner")
+	List<Item> findWithOwnerAllByIdIn(Collection<Integer> ids);
+
+	//tsvector поддерживается индексом из миграции V2_1, триграммы по каждому полю - индексами из V6_1
+	@Query(value = "SELECT " + ITEM_VIEW_COLUMNS + " FROM items AS i " +
+			"LEFT JOIN item_popularity AS p ON p.item_id = i.item_id " +
+			"WHERE i.available " +
+			"AND (i.search_vector @@ plainto_tsquery('russian', :text) " +
+			"OR lower(i.item_name) LIKE :pattern ESCAPE '\\' OR lower(i.description) LIKE :pattern ESCAPE '\\') " +
+			"ORDER BY ts_rank(i.search_vector, plainto_tsquery('russian', :text)) DESC, " +
+			"p.popularity_rank DESC NULLS LAST, i.item_id",
+			nativeQuery = true)
+	List<ItemView> searchAvailableByFullText(String text, String pattern, Pageable pageable);
+
+	@Query("SELECT " + ITEM_VIEW_FIELDS + " FROM Item i LEFT JOIN ItemPopularityRank p ON p.itemId = i.id " +
+			"WHERE i.available = true " +
+			"AND (LOWER(i.name) LIKE :pattern ESCAPE '\\' OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+			"ORDER BY CASE WHEN LOWER(i.name) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END, " +
+			"p.popularityRank DESC NULLS LAST, i.id")
+	List<ItemView> searchAvailableByPattern(String pattern, Pageable pageable);
+
+	//пересечение периодов проверяется по GiST-индексу ограничения excl_booking_item_period
+	@Query(value = "SELECT " + ITEM_VIEW_COLUMNS + " FROM items AS i " +
+			"LEFT JOIN item_popularity AS p ON p.item_id = i.item_id " +
+			"WHERE i.available " +
+			"AND (i.search_vector @@ plainto_tsquery('russian', :text) " +
+			"OR lower(i.item_name) LIKE :pattern ESCAPE '\\' OR lower(i.description) LIKE :pattern ESCAPE '\\') " +
+			"AND NOT EXISTS (SELECT 1 FROM bookings AS b " +
+			"WHERE b.item_id = i.item_id AND b.booking_status_id IN (1, 2) " +
+			"AND tsrange(b.booking_start, b.booking_end) && tsrange(CAST(:freeFrom AS timestamp), CAST(:freeTo AS timestamp))) " +
+			"ORDER BY ts_rank(i.search_vector, plainto_tsquery('russian', :text)) DESC, " +
+			"p.popularity_rank DESC NULLS LAST, i.item_id",
+			nativeQuery = true)
+	List<ItemView> searchAvailableFreeByFullText(String text, String pattern, LocalDateTime freeFrom,
+												 LocalDateTime freeTo, Pageable pageable);
+
+	@Query("SELECT " + ITEM_VIEW_FIELDS + " FROM Item i LEFT JOIN ItemPopularityRank p ON p.itemId = i.id " +
+			"WHERE i.available = true " +
+			"AND (LOWER(i.name) LIKE :pattern ESCAPE '\\' OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+			"AND NOT EXISTS (SELECT b.id FROM Booking b " +
+			"WHERE b.item = i AND b.status IN :statuses AND b.start < :freeTo AND b.end > :freeFrom) " +
+			"ORDER BY CASE WHEN LOWER(i.name) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END, " +
+			"p.popularityRank DESC NULLS LAST, i.id")
+	List<ItemView> searchAvailableFreeByPattern(String pattern, List<BookingStatus> statuses, LocalDateTime freeFrom,
+												LocalDateTime freeTo, Pageable pageable);
+
+	@Query("SELECT " + ITEM_VIEW_FIELDS + " FROM Item i WHERE i.id IN :ids")
+	List<ItemView> findAllViewsByIdIn(Collection<Integer> ids);
 
-	@EntityGraph(value = "item-bookings-owner-graph")
-	List<Item> findWithBookingsWithOwnerByOwnerId(Integer ownerId, Pageable pageable);
+	List<Item> findAllByOwnerId(Integer ownerId, Pageable pageable);
 
 	@EntityGraph(attributePaths = "bookings")
 	List<Item> findWithBookingsAllByOwnerId(int id);
-}
\ No newline at end of file
+
+	@Query("SELECT new ru.practicum.shareit.item.model.ItemSuggestion(i.id, i.name) " +
+			"FROM Item i " +
+			"WHERE i.available = true")
+	List<ItemSuggestion> findAllAvailableSuggestions();
+
+	@Query("SELECT CONCAT(i.name, ' ', i.description) FROM Item i")
+	List<String> findAllTexts(Pageable pageable);
+
+	Page<Item> findAllByIdGreaterThanOrModifiedAfter(int id, LocalDateTime modified, Pageable pageable);
+
+	@Query("SELECT i.id FROM Item i")
+	List<Integer> findAllIds();
+
+	@Query("SELECT i.id FROM Item i WHERE i.id IN :ids")
+	List<Integer> findIdsByIdIn(Collection<Integer> ids);
+}
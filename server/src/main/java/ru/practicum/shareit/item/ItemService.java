@@ -4,7 +4,9 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.model.dto.ItemBookingsCommentsDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemSuggestionDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -17,9 +19,16 @@ public interface ItemService {
 
 	ItemBookingsCommentsDto getItemById(int itemId, int userId);
 
+	List<ItemDto> getItemsByIds(List<Integer> ids, int userId);
+
 	ItemDto deleteItemById(int itemId, int userId);
 
-	List<ItemDto> searchByText(String text, Pageable pageable);
+	List<ItemDto> searchByText(String text, boolean fuzzy, LocalDateTime freeFrom, LocalDateTime freeTo,
+							   Pageable pageable);
+
+	List<ItemSuggestionDto> suggest(String prefix, int size);
+
+	List<ItemDto> getRelatedItems(int itemId, int size);
 
 	CommentDto addComment(int itemId, int userId, CommentDto commentDto);
 }
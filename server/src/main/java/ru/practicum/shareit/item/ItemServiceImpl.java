@@ -5,9 +5,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.LastNextBooking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.exception.item.ItemNotFoundException;
@@ -16,19 +18,32 @@ import ru.practicum.shareit.exception.user.UserNotOwnerException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.hot.HotItemCache;
+import ru.practicum.shareit.item.hot.HotItemTracker;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
+import ru.practicum.shareit.item.popularity.ItemPopularity;
+import ru.practicum.shareit.item.related.RelatedItemsIndex;
+import ru.practicum.shareit.item.model.dto.BookingForItemDto;
 import ru.practicum.shareit.item.model.dto.ItemBookingsCommentsDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.item.search.ItemVocabulary;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Pagenator;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -43,6 +58,16 @@ public class ItemServiceImpl implements ItemService {
 	private final BookingRepository bookingRepository;
 	private final CommentRepository commentRepository;
 	private final ItemRequestRepository requestRepository;
+	private final BookingIntervalIndex bookingIndex;
+	private final ItemSearchEngine searchEngine;
+	private final ItemSuggestIndex suggestIndex;
+	private final ItemVocabulary vocabulary;
+	private final ItemSearchCache searchCache;
+	private final HotItemTracker hotItemTracker;
+	private final HotItemCache hotItemCache;
+	private final ItemPopularity popularity;
+	private final RelatedItemsIndex relatedIndex;
+	private final RequestMatcher requestMatcher;
 
 	@Override
 	@Transactional
@@ -60,6 +85,11 @@ public class ItemServiceImpl implements ItemService {
 		}
 		item.setOwner(owner);
 		Item savedItem = itemRepository.save(item);
+		searchEngine.index(savedItem);
+		suggestIndex.put(savedItem);
+		vocabulary.add(savedItem);
+		searchCache.invalidate(savedItem);
+		requestMatcher.onItemAdded(savedItem);
 		ItemDto savedItemDto = ItemDto.toDto(savedItem);
 		if (requestId != null)
 			savedItemDto.setRequestId(requestId);
@@ -77,34 +107,42 @@ public class ItemServiceImpl implements ItemService {
 
 		setUpdatedFieldsToUpdatableItem(itemDto, updatableItem);
 		Item updatedItem = itemRepository.save(updatableItem);
+		searchEngine.index(updatedItem);
+		suggestIndex.put(updatedItem);
+		vocabulary.add(updatedItem);
+		searchCache.invalidate(updatedItem);
+		hotItemCache.invalidate(updatedItem.getId());
 		return ItemDto.toDto(updatedItem);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<ItemBookingsCommentsDto> getAllItemsByUserId(int userId, Pageable pageable) {
 		userRepository.findById(userId).orElseThrow(
 				() -> new UserNotFoundException("Items not received. User with id [" + userId + "] not exists.")
 		);
 
-		List<Item> itemsWithBookings = itemRepository.findWithBookingsWithOwnerByOwnerId(userId, pageable);
-		if (itemsWithBookings.isEmpty())
+		List<Item> items = itemRepository.findAllByOwnerId(userId, pageable);
+		if (items.isEmpty())
 			return new ArrayList<>();
-		List<Integer> itemsIds = itemsWithBookings.stream()
+		List<Integer> itemsIds = items.stream()
 				.map(Item::getId)
 				.collect(Collectors.toList());
 
 		List<Comment> comments = commentRepository.findWithItemWithCommenterAllByItemIdIn(itemsIds);
-
 		Map<Integer, List<Comment>> itemIdComments = getItemIdComments(comments);
 
-		return itemsWithBookings.stream()
+		Map<Integer, List<LastNextBooking>> itemIdLastNextBookings = getItemIdLastNextBookings(itemsIds,
+				List.of(BookingStatus.values()));
+
+		return items.stream()
 				.map(
 						item -> {
-							List<Optional<Booking>> lastNextBookings = findLastNextBooking(item.getBookings());
+							List<LastNextBooking> lastNextBookings = itemIdLastNextBookings.get(item.getId());
 							List<Comment> itemComments = itemIdComments.get(item.getId());
-							return ItemBookingsCommentsDto.toDto(item,
-									lastNextBookings.get(0).orElse(null),
-									lastNextBookings.get(1).orElse(null),
+							return ItemBookingsCommentsDto.toDtoWithBookings(item,
+									findBooking(lastNextBookings, LastNextBooking.LAST),
+									findBooking(lastNextBookings, LastNextBooking.NEXT),
 									itemComments);
 						}
 				)
@@ -112,27 +150,50 @@ public class ItemServiceImpl implements ItemService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public ItemBookingsCommentsDto getItemById(int itemId, int userId) {
 		User userRequester = userRepository.findById(userId).orElseThrow(
 				() -> new UserNotFoundException("User not found. User with id [" + userId + "] not exists.")
 		);
+		hotItemTracker.record(itemId);
+		ItemBookingsCommentsDto pinnedItem = hotItemCache.get(itemId, userId);
+		if (pinnedItem != null)
+			return pinnedItem;
+		long pinVersion = hotItemCache.getVersion();
 		Item item = itemRepository.findWithOwnerById(itemId).orElseThrow(
 				() -> new ItemNotFoundException("Item not found. Item with id [" + itemId + "] not exists.")
 		);
 
 		List<Comment> itemComments = commentRepository.findWithCommenterAllByItemId(itemId);
-		if (!userRequester.getId().equals(item.getOwner().getId()))
-			return ItemBookingsCommentsDto.toDto(item, null, null, itemComments);
-
-		List<Booking> itemBookings = bookingRepository.findWithBookerAllByItemIdAndStatusIn(itemId,
-				List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
-		List<Optional<Booking>> lastNextBookings = findLastNextBooking(itemBookings);
-		return ItemBookingsCommentsDto.toDto(item,
-				lastNextBookings.get(0).orElse(null),
-				lastNextBookings.get(1).orElse(null),
+		if (!userRequester.getId().equals(item.getOwner().getId())) {
+			ItemBookingsCommentsDto itemDto = ItemBookingsCommentsDto.toDtoWithBookings(item, null, null, itemComments);
+			if (hotItemTracker.isHot(itemId))
+				hotItemCache.pin(itemId, item.getOwner().getId(), itemDto, pinVersion);
+			return itemDto;
+		}
+
+		List<LastNextBooking> lastNextBookings = getItemIdLastNextBookings(List.of(itemId),
+				BookingIntervalIndex.ACTIVE_STATUSES).get(itemId);
+		return ItemBookingsCommentsDto.toDtoWithBookings(item,
+				findBooking(lastNextBookings, LastNextBooking.LAST),
+				findBooking(lastNextBookings, LastNextBooking.NEXT),
 				itemComments);
 	}
 
+	//мульти-запрос отдаёт вещи без бронирований и комментариев: он нужен для отрисовки списков
+	@Override
+	@Transactional(readOnly = true)
+	public List<ItemDto> getItemsByIds(List<Integer> ids, int userId) {
+		userRepository.findById(userId).orElseThrow(
+				() -> new UserNotFoundException("User not found. User with id [" + userId + "] not exists.")
+		);
+		List<ItemView> items = Pagenator.fetchByIdPage(Pagenator.getIdPage(ids), itemRepository::findAllViewsByIdIn,
+				ItemView::getId);
+		return items.stream()
+				.map(ItemDto::toDto)
+				.collect(Collectors.toList());
+	}
+
 	@Override
 	@Transactional
 	public ItemDto deleteItemById(int itemId, int ownerId) {
@@ -142,18 +203,61 @@ public class ItemServiceImpl implements ItemService {
 		if (!isUserOwner(ownerId, removableItem))
 			throw new UserNotOwnerException("Item not deleted. User isn't owner of item.");
 		itemRepository.deleteById(itemId);
+		bookingIndex.removeItem(itemId);
+		searchEngine.remove(itemId);
+		suggestIndex.remove(itemId);
+		searchCache.invalidate(removableItem);
+		hotItemCache.invalidate(itemId);
+		popularity.remove(itemId);
+		relatedIndex.removeItem(itemId);
+		requestMatcher.onItemRemoved(removableItem);
 		return ItemDto.toDto(removableItem);
 	}
 
 	@Override
-	public List<ItemDto> searchByText(String text, Pageable pageable) {
+	@Transactional(readOnly = true)
+	public List<ItemDto> searchByText(String text, boolean fuzzy, LocalDateTime freeFrom, LocalDateTime freeTo,
+									  Pageable pageable) {
+		checkAvailabilityWindow(freeFrom, freeTo);
 		if (text.isBlank())
 			return new ArrayList<>();
-		List<Item> items = itemRepository.findItemByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIs(text,
-				text,
-				true,
-				pageable);
-		return items.stream()
+		String query = fuzzy ? vocabulary.correct(text) : text.strip();
+		//выдача с окном доступности зависит от бронирований и не кэшируется; прошедшая часть окна
+		//отбрасывается: индекс бронирований в памяти хранит только ещё не закончившиеся брони,
+		//и без этого он расходился бы с поиском по базе
+		if (freeFrom != null) {
+			LocalDateTime now = getTimeNow();
+			LocalDateTime windowStart = freeFrom.isBefore(now) ? now : freeFrom;
+			return toItemDtos(searchEngine.searchFree(query, windowStart, freeTo, pageable));
+		}
+		return new ArrayList<>(searchCache.get(query, pageable, () -> toItemDtos(searchEngine.search(query, pageable))));
+	}
+
+	@Override
+	public List<ItemSuggestionDto> suggest(String prefix, int size) {
+		if (size < 1 || size > ItemSuggestIndex.TOP_SIZE)
+			throw new BadRequestException("Illegal argument for suggestions: size [" + size + "].");
+		if (prefix.isBlank())
+			return new ArrayList<>();
+		return suggestIndex.suggest(prefix, size).stream()
+				.map(ItemSuggestionDto::toDto)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ItemDto> getRelatedItems(int itemId, int size) {
+		if (size < 1 || size > RelatedItemsIndex.MAX_RELATED)
+			throw new BadRequestException("Illegal argument for related items: size [" + size + "].");
+		if (!itemRepository.existsById(itemId))
+			throw new ItemNotFoundException("Item not found. Item with id [" + itemId + "] not exists.");
+		//берутся все хранимые соседи, чтобы после отсева недоступных осталось до size вещей
+		List<Integer> relatedIds = Arrays.stream(relatedIndex.getRelated(itemId, RelatedItemsIndex.MAX_RELATED))
+				.boxed()
+				.toList();
+		return Pagenator.fetchByIdPage(relatedIds, itemRepository::findAllById, Item::getId).stream()
+				.filter(Item::getAvailable)
+				.limit(size)
 				.map(ItemDto::toDto)
 				.collect(Collectors.toList());
 	}
@@ -175,6 +279,9 @@ public class ItemServiceImpl implements ItemService {
 		comment.setItem(item);
 		comment.setUser(userCommenter);
 		Comment savedComment = commentRepository.save(comment);
+		hotItemCache.invalidate(itemId);
+		popularity.recordComment(itemId);
+		suggestIndex.refreshPopularity(itemId);
 		return CommentDto.toDto(savedComment, userCommenter.getName());
 	}
 
@@ -183,6 +290,20 @@ public class ItemServiceImpl implements ItemService {
 				.collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 	}
 
+	private void checkAvailabilityWindow(LocalDateTime freeFrom, LocalDateTime freeTo) {
+		if (freeFrom == null && freeTo == null)
+			return;
+		if (freeFrom == null || freeTo == null || !freeFrom.isBefore(freeTo) || !freeTo.isAfter(getTimeNow()))
+			throw new BadRequestException("Illegal availability window: freeFrom [" + freeFrom
+					+ "], freeTo [" + freeTo + "].");
+	}
+
+	private List<ItemDto> toItemDtos(List<ItemView> items) {
+		return items.stream()
+				.map(ItemDto::toDto)
+				.collect(Collectors.toList());
+	}
+
 	private boolean isUserOwner(int userId, Item itemWithOwner) {
 		return itemWithOwner.getOwner().getId().equals(userId);
 	}
@@ -208,36 +329,23 @@ public class ItemServiceImpl implements ItemService {
 			updatableItem.setAvailable(itemDto.getAvailable());
 	}
 
-	private List<Optional<Booking>> findLastNextBooking(List<Booking> bookings) {
-		if (bookings == null || bookings.isEmpty())
-			return List.of(Optional.empty(), Optional.empty());
-
-		if (bookings.size() == 1) {
-			Booking booking = bookings.get(0);
-			if (booking.getStart().isAfter(getTimeNow()))
-				return List.of(Optional.empty(), Optional.of(booking));
-			else
-				return List.of(Optional.of(booking), Optional.empty());
-		}
+	private Map<Integer, List<LastNextBooking>> getItemIdLastNextBookings(List<Integer> itemsIds,
+																		  List<BookingStatus> statuses) {
+		List<Integer> statusIds = statuses.stream()
+				.map(BookingStatus::ordinal)
+				.collect(Collectors.toList());
+		return bookingRepository.findLastNextBookings(itemsIds, statusIds, getTimeNow()).stream()
+				.collect(Collectors.groupingBy(LastNextBooking::getItemId));
+	}
 
-		Booking lastBooking = null;
-		Booking nextBooking = null;
-		for (Booking booking : bookings) {
-			if (booking.getEnd().isBefore(getTimeNow())) {
-				if (lastBooking == null)
-					lastBooking = booking;
-				else if (booking.getEnd().isAfter(lastBooking.getEnd()))
-					lastBooking = booking;
-			}
-
-			if (booking.getStart().isAfter(getTimeNow())) {
-				if (nextBooking == null)
-					nextBooking = booking;
-				else if (booking.getStart().isBefore(nextBooking.getStart()))
-					nextBooking = booking;
-			}
-		}
-		return List.of(Optional.ofNullable(lastBooking), Optional.ofNullable(nextBooking));
+	private BookingForItemDto findBooking(List<LastNextBooking> lastNextBookings, String kind) {
+		if (lastNextBookings == null)
+			return null;
+		return lastNextBookings.stream()
+				.filter(booking -> kind.equals(booking.getKind()))
+				.findFirst()
+				.map(BookingForItemDto::toDto)
+				.orElse(null);
 	}
 
 	private LocalDateTime getTimeNow() {
@@ -19,7 +19,8 @@ import java.util.Objects;
 @Table(name = "comments", schema = "public")
 public class Comment {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+	@SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
 	@Column(name = "comment_id")
 	private Integer id;
 
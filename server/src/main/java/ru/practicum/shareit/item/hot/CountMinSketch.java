@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.hot;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+//частоты оцениваются сверху; счётчики атомарные и только увеличиваются, поэтому обновления
+//из разных потоков не блокируют друг друга и не теряются
+final class CountMinSketch {
+	private static final int[] SEEDS = {0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F, 0x165667B1, 0xD3A2646C};
+
+	private final int mask;
+	private final AtomicIntegerArray[] counters;
+
+	CountMinSketch(int width, int depth) {
+		if (Integer.bitCount(width) != 1 || depth < 1 || depth > SEEDS.length)
+			throw new IllegalArgumentException("Illegal count-min sketch size: width [" + width
+					+ "], depth [" + depth + "].");
+		this.mask = width - 1;
+		this.counters = new AtomicIntegerArray[depth];
+		for (int row = 0; row < depth; row++)
+			counters[row] = new AtomicIntegerArray(width);
+	}
+
+	int add(int value) {
+		int estimate = Integer.MAX_VALUE;
+		for (int row = 0; row < counters.length; row++)
+			estimate = Math.min(estimate, counters[row].incrementAndGet(index(value, row)));
+		return estimate;
+	}
+
+	int estimate(int value) {
+		int estimate = Integer.MAX_VALUE;
+		for (int row = 0; row < counters.length; row++)
+			estimate = Math.min(estimate, counters[row].get(index(value, row)));
+		return estimate;
+	}
+
+	//старение: старые обращения постепенно перестают влиять на оценку
+	void halve() {
+		for (AtomicIntegerArray row : counters) {
+			for (int i = 0; i < row.length(); i++)
+				row.updateAndGet(i, counter -> counter >>> 1);
+		}
+	}
+
+	private int index(int value, int row) {
+		int hash = value * SEEDS[row];
+		hash ^= hash >>> 16;
+		return hash & mask;
+	}
+}
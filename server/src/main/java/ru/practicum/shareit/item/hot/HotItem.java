@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.hot;
+
+public record HotItem(int itemId, int hits) {
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.hot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.dto.ItemBookingsCommentsDto;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+//закрепляются только представления для не-владельцев: в них нет бронирований, зависящих от текущего времени
+@Component
+public class HotItemCache {
+	public static final String CACHE_NAME = "hotItems";
+
+	private final Cache<Integer, PinnedItem> cache;
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public HotItemCache(@Value("${shareit.items.hot.top-size:16}") int topSize,
+						@Value("${shareit.items.hot.ttl:PT5M}") Duration ttl,
+						MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(2L * topSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public ItemBookingsCommentsDto get(int itemId, int userId) {
+		PinnedItem pinned = cache.getIfPresent(itemId);
+		if (pinned == null || pinned.ownerId() == userId)
+			return null;
+		return pinned.view();
+	}
+
+	//версия берётся до чтения из базы, чтобы не закрепить данные, устаревшие за время чтения
+	public long getVersion() {
+		return invalidations.get();
+	}
+
+	public void pin(int itemId, int ownerId, ItemBookingsCommentsDto view, long version) {
+		cache.asMap().compute(itemId, (id, previous) ->
+				invalidations.get() == version ? new PinnedItem(ownerId, view) : previous);
+	}
+
+	public void invalidate(int itemId) {
+		invalidations.incrementAndGet();
+		TransactionActions.afterCommit(() -> {
+			invalidations.incrementAndGet();
+			cache.invalidate(itemId);
+		});
+	}
+
+	public void invalidateAll() {
+		invalidations.incrementAndGet();
+		TransactionActions.afterCommit(() -> {
+			invalidations.incrementAndGet();
+			cache.invalidateAll();
+		});
+	}
+
+	private record PinnedItem(int ownerId, ItemBookingsCommentsDto view) {
+	}
+}
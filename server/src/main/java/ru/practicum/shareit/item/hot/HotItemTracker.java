@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.hot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//поток просмотров вещей: оценка частот скетчем и top-K самых просматриваемых;
+//просмотр обновляет скетч без блокировки, а top-K перестраивается под своей блокировкой
+//только когда оценка вещи превышает порог вытеснения
+@Component
+public class HotItemTracker {
+	private static final int SKETCH_WIDTH = 4096;
+	private static final int SKETCH_DEPTH = 4;
+	private static final int AGING_PERIOD = 10 * SKETCH_WIDTH;
+
+	private final int topSize;
+	private final int minHits;
+	private final CountMinSketch sketch = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH);
+	private final Map<Integer, Integer> top = new ConcurrentHashMap<>();
+	private final Object topLock = new Object();
+	private final AtomicInteger views = new AtomicInteger();
+	//минимум оценок в заполненном top-K; может отставать вниз, тогда лишний вход под блокировку его обновит
+	private volatile int evictionFloor;
+
+	public HotItemTracker(@Value("${shareit.items.hot.top-size:16}") int topSize,
+						  @Value("${shareit.items.hot.min-hits:20}") int minHits) {
+		this.topSize = topSize;
+		this.minHits = minHits;
+	}
+
+	public void record(int itemId) {
+		int hits = sketch.add(itemId);
+		if (top.computeIfPresent(itemId, (id, topHits) -> Math.max(topHits, hits)) == null && hits > evictionFloor)
+			offer(itemId, hits);
+		if (views.incrementAndGet() % AGING_PERIOD == 0)
+			age();
+	}
+
+	public boolean isHot(int itemId) {
+		Integer hits = top.get(itemId);
+		return hits != null && hits >= minHits;
+	}
+
+	public List<HotItem> getTop() {
+		return top.entrySet().stream()
+				.map(entry -> new HotItem(entry.getKey(), entry.getValue()))
+				.sorted(Comparator.comparingInt(HotItem::hits).reversed()
+						.thenComparingInt(HotItem::itemId))
+				.toList();
+	}
+
+	private void offer(int itemId, int hits) {
+		synchronized (topLock) {
+			if (top.containsKey(itemId) || top.size() < topSize) {
+				top.merge(itemId, hits, Math::max);
+			} else {
+				Map.Entry<Integer, Integer> coldest = coldest();
+				if (hits > coldest.getValue()) {
+					top.remove(coldest.getKey());
+					top.put(itemId, hits);
+				}
+			}
+			updateEvictionFloor();
+		}
+	}
+
+	private void age() {
+		synchronized (topLock) {
+			sketch.halve();
+			top.replaceAll((id, topHits) -> topHits >>> 1);
+			top.values().removeIf(topHits -> topHits == 0);
+			updateEvictionFloor();
+		}
+	}
+
+	private Map.Entry<Integer, Integer> coldest() {
+		return top.entrySet().stream()
+				.min(Map.Entry.comparingByValue())
+				.orElseThrow();
+	}
+
+	private void updateEvictionFloor() {
+		evictionFloor = top.size() < topSize ? 0 : coldest().getValue();
+	}
+}
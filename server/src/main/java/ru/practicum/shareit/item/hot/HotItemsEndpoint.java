@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.hot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "hotitems")
+@RequiredArgsConstructor
+public class HotItemsEndpoint {
+	private final HotItemTracker tracker;
+
+	@ReadOperation
+	public List<HotItem> hotItems() {
+		return tracker.getTop();
+	}
+}
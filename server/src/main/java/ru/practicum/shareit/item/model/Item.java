@@ -4,12 +4,14 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.proxy.HibernateProxy;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
@@ -19,14 +21,10 @@ import java.util.Objects;
 //Не забыть аннотировать поля со связями @ToString.Exclude
 @Entity
 @Table(name = "items", schema = "public")
-@NamedEntityGraph(
-		name = "item-bookings-owner-graph",
-		attributeNodes = @NamedAttributeNode(value = "bookings", subgraph = "bookings-user-graph"),
-		subgraphs = @NamedSubgraph(name = "bookings-user-graph", attributeNodes = @NamedAttributeNode("user"))
-)
-public class Item {
+public class Item implements ItemView {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+	@SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
 	@Column(name = "item_id")
 	private Integer id;
 
@@ -39,6 +37,11 @@ public class Item {
 	@Column(name = "available", nullable = false)
 	private Boolean available;
 
+	//по времени изменения поисковый индекс догоняет базу после загрузки снимка
+	@UpdateTimestamp
+	@Column(name = "modified", nullable = false)
+	private LocalDateTime modified;
+
 	@ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	@ToString.Exclude
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.With;
+import ru.practicum.shareit.item.popularity.ItemPopularity;
+
+@Value
+@AllArgsConstructor
+public class ItemSuggestion {
+	Integer id;
+	String name;
+	@With
+	float popularity;
+
+	public ItemSuggestion(Integer id, String name) {
+		this(id, name, ItemPopularity.NO_RANK);
+	}
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.model;
+
+//поля вещи, нужные выдаче; поиск читает их проекцией, сущность Item реализует тот же контракт
+public interface ItemView {
+	Integer getId();
+
+	String getName();
+
+	String getDescription();
+
+	Boolean getAvailable();
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.model;
+
+public interface RequestedItemView extends ItemView {
+	Integer getRequestId();
+}
@@ -2,7 +2,9 @@ package ru.practicum.shareit.item.model.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.LastNextBooking;
 
 import java.time.LocalDateTime;
 
@@ -18,4 +20,24 @@ public class BookingForItemDto {
 	private BookingStatus status;
 
 	private Integer bookerId;
+
+	public static BookingForItemDto toDto(Booking booking) {
+		return BookingForItemDto.builder()
+				.id(booking.getId())
+				.start(booking.getStart())
+				.end(booking.getEnd())
+				.status(booking.getStatus())
+				.bookerId(booking.getUser().getId())
+				.build();
+	}
+
+	public static BookingForItemDto toDto(LastNextBooking booking) {
+		return BookingForItemDto.builder()
+				.id(booking.getId())
+				.start(booking.getStart())
+				.end(booking.getEnd())
+				.status(BookingStatus.values()[booking.getStatus()])
+				.bookerId(booking.getBookerId())
+				.build();
+	}
 }
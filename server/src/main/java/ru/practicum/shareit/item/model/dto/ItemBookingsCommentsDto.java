@@ -29,35 +29,25 @@ public class ItemBookingsCommentsDto {
 	private List<CommentDto> comments;
 
 	public static ItemBookingsCommentsDto toDto(Item item, Booking lastBooking, Booking nextBooking, List<Comment> comments) {
+		return toDtoWithBookings(item,
+				lastBooking == null ? null : BookingForItemDto.toDto(lastBooking),
+				nextBooking == null ? null : BookingForItemDto.toDto(nextBooking),
+				comments);
+	}
+
+	public static ItemBookingsCommentsDto toDtoWithBookings(Item item,
+															BookingForItemDto lastBooking,
+															BookingForItemDto nextBooking,
+															List<Comment> comments) {
 		ItemBookingsCommentsDto dto = ItemBookingsCommentsDto.builder()
 				.id(item.getId())
 				.name(item.getName())
 				.description(item.getDescription())
 				.available(item.getAvailable())
-				.lastBooking(null)
-				.nextBooking(null)
+				.lastBooking(lastBooking)
+				.nextBooking(nextBooking)
 				.comments(new ArrayList<>())
 				.build();
-		if (lastBooking != null) {
-			BookingForItemDto lastBookingDto = BookingForItemDto.builder()
-					.id(lastBooking.getId())
-					.start(lastBooking.getStart())
-					.end(lastBooking.getEnd())
-					.status(lastBooking.getStatus())
-					.bookerId(lastBooking.getUser().getId())
-					.build();
-			dto.setLastBooking(lastBookingDto);
-		}
-		if (nextBooking != null) {
-			BookingForItemDto nextBookingDto = BookingForItemDto.builder()
-					.id(nextBooking.getId())
-					.start(nextBooking.getStart())
-					.end(nextBooking.getEnd())
-					.status(nextBooking.getStatus())
-					.bookerId(nextBooking.getUser().getId())
-					.build();
-			dto.setNextBooking(nextBookingDto);
-		}
 		if (comments != null && !comments.isEmpty()) {
 			List<CommentDto> commentDtos = comments.stream()
 					.map(
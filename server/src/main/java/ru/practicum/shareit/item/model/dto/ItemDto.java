@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
 
 @Data
 @Builder
@@ -28,7 +29,7 @@ public class ItemDto {
 
 	private Integer requestId;
 
-	public static ItemDto toDto(Item item) {
+	public static ItemDto toDto(ItemView item) {
 		return ItemDto.builder()
 				.id(item.getId())
 				.name(item.getName())
@@ -37,7 +38,7 @@ public class ItemDto {
 				.build();
 	}
 
-	public static ItemDto toDto(Item item, int requestId) {
+	public static ItemDto toDto(ItemView item, int requestId) {
 		return ItemDto.builder()
 				.id(item.getId())
 				.name(item.getName())
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.item.model.ItemSuggestion;
+
+@Data
+@Builder
+public class ItemSuggestionDto {
+	private Integer id;
+
+	private String name;
+
+	public static ItemSuggestionDto toDto(ItemSuggestion suggestion) {
+		return ItemSuggestionDto.builder()
+				.id(suggestion.getId())
+				.name(suggestion.getName())
+				.build();
+	}
+}
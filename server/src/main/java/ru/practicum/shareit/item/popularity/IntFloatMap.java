@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.popularity;
+
+import java.util.Arrays;
+
+//открытая адресация без упаковки ключей и значений; удаление сдвигом, без надгробий
+final class IntFloatMap {
+	private static final int FREE = Integer.MIN_VALUE;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private int[] keys;
+	private float[] values;
+	private int size;
+
+	IntFloatMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		keys = new int[capacity];
+		values = new float[capacity];
+		Arrays.fill(keys, FREE);
+	}
+
+	float get(int key, float defaultValue) {
+		int slot = find(key);
+		return keys[slot] == FREE ? defaultValue : values[slot];
+	}
+
+	void put(int key, float value) {
+		if (key == FREE)
+			throw new IllegalArgumentException("Illegal key [" + key + "].");
+		int slot = find(key);
+		if (keys[slot] == FREE) {
+			keys[slot] = key;
+			size++;
+		}
+		values[slot] = value;
+		if (size > keys.length * LOAD_FACTOR)
+			resize();
+	}
+
+	void remove(int key) {
+		int slot = find(key);
+		if (keys[slot] == FREE)
+			return;
+		int mask = keys.length - 1;
+		int next = slot;
+		//ключи после удалённого сдвигаются, если их исходная ячейка не лежит между дырой и текущей позицией
+		while (true) {
+			next = (next + 1) & mask;
+			if (keys[next] == FREE)
+				break;
+			int home = mix(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				slot = next;
+			}
+		}
+		keys[slot] = FREE;
+		size--;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void forEach(Entry action) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != FREE)
+				action.accept(keys[i], values[i]);
+		}
+	}
+
+	private int find(int key) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (keys[slot] != FREE && keys[slot] != key)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void resize() {
+		int[] oldKeys = keys;
+		float[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		values = new float[oldValues.length * 2];
+		Arrays.fill(keys, FREE);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE)
+				put(oldKeys[i], oldValues[i]);
+		}
+	}
+
+	private static int mix(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	@FunctionalInterface
+	interface Entry {
+		void accept(int key, float value);
+	}
+}
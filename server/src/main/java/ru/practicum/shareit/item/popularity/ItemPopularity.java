@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item.popularity;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//популярность затухает экспоненциально; хранится логарифм суммы событий, приведённой к моменту EPOCH.
+//Затухание одинаково для всех вещей, поэтому ранги сравнимы без пересчёта, а текущая оценка
+//равна exp(rank - decay(now))
+@Slf4j
+@Component
+public class ItemPopularity {
+	public static final float NO_RANK = Float.NEGATIVE_INFINITY;
+	static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+	private static final float BOOKING_WEIGHT = 1;
+	private static final float APPROVAL_WEIGHT = 2;
+	private static final float COMMENT_WEIGHT = 1;
+
+	private final ItemPopularityRepository popularityRepository;
+	private final double decayPerSecond;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final IntFloatMap ranks = new IntFloatMap(1024);
+	private final BitSet changed = new BitSet();
+	private final BitSet removed = new BitSet();
+
+	public ItemPopularity(ItemPopularityRepository popularityRepository,
+						  @Value("${shareit.items.popularity.half-life:P7D}") Duration halfLife) {
+		this.popularityRepository = popularityRepository;
+		this.decayPerSecond = Math.log(2) / halfLife.toSeconds();
+	}
+
+	@PostConstruct
+	public void load() {
+		List<ItemPopularityRank> loaded = popularityRepository.findAll();
+		lock.writeLock().lock();
+		try {
+			loaded.forEach(rank -> ranks.put(rank.getItemId(), rank.getPopularityRank()));
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Item popularity loaded: [{}] items.", loaded.size());
+	}
+
+	public void recordBooking(int itemId) {
+		record(itemId, BOOKING_WEIGHT);
+	}
+
+	public void recordApproval(int itemId) {
+		record(itemId, APPROVAL_WEIGHT);
+	}
+
+	public void recordComment(int itemId) {
+		record(itemId, COMMENT_WEIGHT);
+	}
+
+	public void remove(int itemId) {
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				ranks.remove(itemId);
+				changed.clear(itemId);
+				removed.set(itemId);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	public float getRank(int itemId) {
+		lock.readLock().lock();
+		try {
+			return ranks.get(itemId, NO_RANK);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public double getScore(int itemId, LocalDateTime now) {
+		return Math.exp(getRank(itemId) - getDecay(now));
+	}
+
+	//в таблицу пишутся только изменившиеся ранги; ранги удалённых вещей чистятся там же,
+	//а полная чистка рангов без вещей идёт только после удалений
+	@PreDestroy
+	@Scheduled(fixedDelayString = "${shareit.items.popularity.checkpoint-interval:PT1M}")
+	public void checkpoint() {
+		List<ItemPopularityRank> changedRanks = new ArrayList<>();
+		List<Integer> removedIds = new ArrayList<>();
+		lock.writeLock().lock();
+		try {
+			changed.stream().forEach(itemId -> changedRanks.add(new ItemPopularityRank(itemId, ranks.get(itemId, NO_RANK))));
+			removed.stream().forEach(removedIds::add);
+			changed.clear();
+			removed.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		try {
+			popularityRepository.upsertAll(changedRanks);
+			if (!removedIds.isEmpty()) {
+				popularityRepository.deleteAllByIdInBatch(removedIds);
+				//в таблице могли остаться ранги вещей, удалённых параллельно с записью события
+				popularityRepository.deleteAllOfDeletedItems();
+			}
+		} catch (RuntimeException e) {
+			log.warn("Item popularity checkpoint failed, [{}] ranks will be retried.", changedRanks.size(), e);
+			markForRetry(changedRanks, removedIds);
+		}
+	}
+
+	static float addToRank(float rank, float weight, double decay) {
+		double event = Math.log(weight) + decay;
+		if (rank == NO_RANK)
+			return (float) event;
+		double max = Math.max(rank, event);
+		return (float) (max + Math.log1p(Math.exp(-Math.abs(rank - event))));
+	}
+
+	double getDecay(LocalDateTime time) {
+		return decayPerSecond * Duration.between(EPOCH, time).toSeconds();
+	}
+
+	private void record(int itemId, float weight) {
+		TransactionActions.afterCommit(() -> {
+			double decay = getDecay(LocalDateTime.now());
+			lock.writeLock().lock();
+			try {
+				ranks.put(itemId, addToRank(ranks.get(itemId, NO_RANK), weight, decay));
+				changed.set(itemId);
+				removed.clear(itemId);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	private void markForRetry(List<ItemPopularityRank> changedRanks, List<Integer> removedIds) {
+		lock.writeLock().lock();
+		try {
+			for (ItemPopularityRank rank : changedRanks) {
+				if (!removed.get(rank.getItemId()))
+					changed.set(rank.getItemId());
+			}
+			removedIds.forEach(itemId -> {
+				if (!changed.get(itemId))
+					removed.set(itemId);
+			});
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.popularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "item_popularity", schema = "public")
+public class ItemPopularityRank {
+	@Id
+	@Column(name = "item_id")
+	private Integer itemId;
+
+	@Column(name = "popularity_rank", nullable = false)
+	private Float popularityRank;
+}
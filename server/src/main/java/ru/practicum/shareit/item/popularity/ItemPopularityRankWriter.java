@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.popularity;
+
+import java.util.List;
+
+public interface ItemPopularityRankWriter {
+
+	//ранги пишутся пакетной вставкой с обновлением существующих строк, без чтения перед записью
+	void upsertAll(List<ItemPopularityRank> ranks);
+}
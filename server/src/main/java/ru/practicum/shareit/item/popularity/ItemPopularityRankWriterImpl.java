@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.popularity;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+@RequiredArgsConstructor
+class ItemPopularityRankWriterImpl implements ItemPopularityRankWriter {
+	private static final int BATCH_SIZE = 1000;
+	private static final String POSTGRES_UPSERT = "INSERT INTO item_popularity (item_id, popularity_rank) " +
+			"VALUES (?, ?) ON CONFLICT (item_id) DO UPDATE SET popularity_rank = EXCLUDED.popularity_rank";
+	private static final String DEFAULT_UPSERT = "MERGE INTO item_popularity (item_id, popularity_rank) " +
+			"KEY (item_id) VALUES (?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void upsertAll(List<ItemPopularityRank> ranks) {
+		if (ranks.isEmpty())
+			return;
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			String upsert = connection.isWrapperFor(PGConnection.class) ? POSTGRES_UPSERT : DEFAULT_UPSERT;
+			try (PreparedStatement statement = connection.prepareStatement(upsert)) {
+				int batched = 0;
+				for (ItemPopularityRank rank : ranks) {
+					statement.setInt(1, rank.getItemId());
+					statement.setFloat(2, rank.getPopularityRank());
+					statement.addBatch();
+					if (++batched == BATCH_SIZE) {
+						statement.executeBatch();
+						batched = 0;
+					}
+				}
+				if (batched > 0)
+					statement.executeBatch();
+			}
+			return null;
+		});
+	}
+}
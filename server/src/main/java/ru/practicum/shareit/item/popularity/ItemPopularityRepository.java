@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.popularity;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ItemPopularityRepository extends JpaRepository<ItemPopularityRank, Integer>, ItemPopularityRankWriter {
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM ItemPopularityRank p WHERE NOT EXISTS (SELECT i.id FROM Item i WHERE i.id = p.itemId)")
+	int deleteAllOfDeletedItems();
+}
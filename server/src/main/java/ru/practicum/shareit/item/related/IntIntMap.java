@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.related;
+
+import java.util.Arrays;
+
+//счётчики совместных бронирований без упаковки; ключи только добавляются
+final class IntIntMap {
+	private static final int FREE = Integer.MIN_VALUE;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+
+	IntIntMap() {
+		keys = new int[8];
+		values = new int[8];
+		Arrays.fill(keys, FREE);
+	}
+
+	void increment(int key, int delta) {
+		int slot = find(key);
+		if (keys[slot] == FREE) {
+			keys[slot] = key;
+			size++;
+		}
+		values[slot] += delta;
+		if (size > keys.length / 2)
+			resize();
+	}
+
+	int get(int key) {
+		int slot = find(key);
+		return keys[slot] == FREE ? 0 : values[slot];
+	}
+
+	int size() {
+		return size;
+	}
+
+	void forEach(Entry action) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != FREE)
+				action.accept(keys[i], values[i]);
+		}
+	}
+
+	private int find(int key) {
+		int mask = keys.length - 1;
+		int slot = mix(key) & mask;
+		while (keys[slot] != FREE && keys[slot] != key)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void resize() {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+		Arrays.fill(keys, FREE);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE)
+				increment(oldKeys[i], oldValues[i]);
+		}
+	}
+
+	private static int mix(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	@FunctionalInterface
+	interface Entry {
+		void accept(int key, int value);
+	}
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.item.related;
+
+import java.util.Arrays;
+
+//соседи вещи по убыванию числа совместных бронирований. При переполнении вытесняется последний,
+//а новый сосед наследует его счётчик (Space-Saving), поэтому частые пары не теряются
+final class Neighbors {
+	private final int[] itemIds;
+	private final int[] counts;
+	private int size;
+
+	Neighbors(int capacity) {
+		itemIds = new int[capacity];
+		counts = new int[capacity];
+	}
+
+	static Neighbors of(IntIntMap coCounts, int capacity) {
+		long[] packed = new long[coCounts.size()];
+		int[] index = {0};
+		//счётчик в старших битах, инвертированный id в младших: сортировка даёт убывание счётчика и возрастание id
+		coCounts.forEach((itemId, count) -> packed[index[0]++] = ((long) count << 32) | (~itemId & 0xFFFFFFFFL));
+		Arrays.sort(packed);
+		Neighbors neighbors = new Neighbors(capacity);
+		for (int i = packed.length - 1; i >= 0 && neighbors.size < capacity; i--) {
+			neighbors.itemIds[neighbors.size] = ~(int) packed[i];
+			neighbors.counts[neighbors.size] = (int) (packed[i] >>> 32);
+			neighbors.size++;
+		}
+		return neighbors;
+	}
+
+	void increment(int itemId) {
+		add(itemId, 1);
+	}
+
+	//сводки частей объединяются сложением счётчиков, как и при поштучном увеличении
+	void addAll(Neighbors other) {
+		for (int i = 0; i < other.size; i++)
+			add(other.itemIds[i], other.counts[i]);
+	}
+
+	private void add(int itemId, int count) {
+		int position = indexOf(itemId);
+		if (position < 0) {
+			if (size < itemIds.length) {
+				position = size++;
+				counts[position] = 0;
+			} else {
+				position = size - 1;
+			}
+			itemIds[position] = itemId;
+		}
+		counts[position] += count;
+		//поднимаем вверх, пока соседний выше не станет больше
+		while (position > 0 && isBefore(position, position - 1)) {
+			swap(position, position - 1);
+			position--;
+		}
+	}
+
+	void remove(int itemId) {
+		int position = indexOf(itemId);
+		if (position < 0)
+			return;
+		System.arraycopy(itemIds, position + 1, itemIds, position, size - position - 1);
+		System.arraycopy(counts, position + 1, counts, position, size - position - 1);
+		size--;
+	}
+
+	int[] top(int limit) {
+		return Arrays.copyOf(itemIds, Math.min(limit, size));
+	}
+
+	int getCount(int itemId) {
+		int position = indexOf(itemId);
+		return position < 0 ? 0 : counts[position];
+	}
+
+	private int indexOf(int itemId) {
+		for (int i = 0; i < size; i++) {
+			if (itemIds[i] == itemId)
+				return i;
+		}
+		return -1;
+	}
+
+	private boolean isBefore(int first, int second) {
+		if (counts[first] != counts[second])
+			return counts[first] > counts[second];
+		return itemIds[first] < itemIds[second];
+	}
+
+	private void swap(int first, int second) {
+		int itemId = itemIds[first];
+		int count = counts[first];
+		itemIds[first] = itemIds[second];
+		counts[first] = counts[second];
+		itemIds[second] = itemId;
+		counts[second] = count;
+	}
+}
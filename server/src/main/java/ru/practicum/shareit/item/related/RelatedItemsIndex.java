@@ -0,0 +1,230 @@
+package ru.practicum.shareit.item.related;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.UserItemPair;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//матрица совместных бронирований по одобренным бронированиям; у каждой вещи хранится только top соседей
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelatedItemsIndex {
+	public static final int MAX_RELATED = 20;
+	//запас над отдаваемым размером держит точность вытеснения при инкрементальных обновлениях
+	private static final int NEIGHBORS_CAPACITY = 2 * MAX_RELATED;
+	//у пользователя с огромной историей пар квадратично много, а сигнал от них слабый
+	private static final int MAX_ITEMS_PER_USER = 500;
+	private static final int USERS_PER_TASK = 1024;
+
+	private final BookingRepository bookingRepository;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Map<Integer, int[]> userItems = new HashMap<>();
+	private Map<Integer, Neighbors> itemNeighbors = new HashMap<>();
+	//вещи, удалённые после последнего перестроения
+	private Set<Integer> removedItems = new HashSet<>();
+	//обновления, пришедшие во время перестроения, повторяются на новой матрице после замены;
+	//повтор безопасен, т.к. обновления идемпотентны
+	private List<Runnable> updatesDuringRebuild;
+
+	@PostConstruct
+	@Scheduled(cron = "${shareit.items.related.rebuild-cron:0 0 4 * * *}")
+	public synchronized void rebuild() {
+		setUpdatesDuringRebuild(new ArrayList<>());
+		try {
+			Map<Integer, int[]> loadedUserItems = groupByUser(
+					bookingRepository.findAllUserItemPairsByStatus(BookingStatus.APPROVED));
+			int[][] histories = loadedUserItems.values().toArray(new int[0][]);
+			Map<Integer, Neighbors> loadedNeighbors = ForkJoinPool.commonPool()
+					.invoke(new CoCountTask(histories, 0, histories.length));
+			int replayed;
+			lock.writeLock().lock();
+			try {
+				userItems = loadedUserItems;
+				itemNeighbors = loadedNeighbors;
+				removedItems = new HashSet<>();
+				updatesDuringRebuild.forEach(Runnable::run);
+				replayed = updatesDuringRebuild.size();
+			} finally {
+				lock.writeLock().unlock();
+			}
+			log.info("Related items index built: [{}] users, [{}] items, [{}] updates replayed.",
+					loadedUserItems.size(), loadedNeighbors.size(), replayed);
+		} finally {
+			setUpdatesDuringRebuild(null);
+		}
+	}
+
+	public int[] getRelated(int itemId, int limit) {
+		lock.readLock().lock();
+		try {
+			Neighbors neighbors = itemNeighbors.get(itemId);
+			if (neighbors == null)
+				return new int[0];
+			return Arrays.stream(neighbors.top(NEIGHBORS_CAPACITY))
+					.filter(neighborId -> !removedItems.contains(neighborId))
+					.limit(limit)
+					.toArray();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void addApprovedBooking(int userId, int itemId) {
+		TransactionActions.afterCommit(() -> update(() -> addApprovedBookingLocked(userId, itemId)));
+	}
+
+	public void removeItem(int itemId) {
+		TransactionActions.afterCommit(() -> update(() -> removeItemLocked(itemId)));
+	}
+
+	private void update(Runnable update) {
+		lock.writeLock().lock();
+		try {
+			update.run();
+			if (updatesDuringRebuild != null)
+				updatesDuringRebuild.add(update);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void setUpdatesDuringRebuild(List<Runnable> updates) {
+		lock.writeLock().lock();
+		try {
+			updatesDuringRebuild = updates;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void addApprovedBookingLocked(int userId, int itemId) {
+		if (removedItems.contains(itemId))
+			return;
+		int[] items = Arrays.stream(userItems.getOrDefault(userId, new int[0]))
+				.filter(otherItemId -> !removedItems.contains(otherItemId))
+				.toArray();
+		int position = Arrays.binarySearch(items, itemId);
+		if (position >= 0 || items.length >= MAX_ITEMS_PER_USER)
+			return;
+		for (int otherItemId : items) {
+			itemNeighbors.computeIfAbsent(itemId, id -> new Neighbors(NEIGHBORS_CAPACITY)).increment(otherItemId);
+			itemNeighbors.computeIfAbsent(otherItemId, id -> new Neighbors(NEIGHBORS_CAPACITY)).increment(itemId);
+		}
+		int insertion = -position - 1;
+		int[] updated = new int[items.length + 1];
+		System.arraycopy(items, 0, updated, 0, insertion);
+		updated[insertion] = itemId;
+		System.arraycopy(items, insertion, updated, insertion + 1, items.length - insertion);
+		userItems.put(userId, updated);
+	}
+
+	//из историй пользователей вещь не вычищается сразу: новые одобрения её пропускают,
+	//а в выдаче соседей она отфильтровывается
+	private void removeItemLocked(int itemId) {
+		removedItems.add(itemId);
+		Neighbors neighbors = itemNeighbors.remove(itemId);
+		if (neighbors != null) {
+			for (int neighborId : neighbors.top(NEIGHBORS_CAPACITY))
+				removeNeighbor(neighborId, itemId);
+		}
+	}
+
+	private void removeNeighbor(int itemId, int neighborId) {
+		Neighbors reverse = itemNeighbors.get(itemId);
+		if (reverse != null)
+			reverse.remove(neighborId);
+	}
+
+	private static Map<Integer, int[]> groupByUser(List<UserItemPair> pairs) {
+		Map<Integer, IntIntMap> grouped = new HashMap<>();
+		for (UserItemPair pair : pairs)
+			grouped.computeIfAbsent(pair.getUserId(), userId -> new IntIntMap()).increment(pair.getItemId(), 1);
+		Map<Integer, int[]> result = new HashMap<>();
+		grouped.forEach((userId, items) -> {
+			int[] itemIds = new int[items.size()];
+			int[] index = {0};
+			items.forEach((itemId, count) -> itemIds[index[0]++] = itemId);
+			Arrays.sort(itemIds);
+			result.put(userId, itemIds.length > MAX_ITEMS_PER_USER
+					? Arrays.copyOf(itemIds, MAX_ITEMS_PER_USER)
+					: itemIds);
+		});
+		return result;
+	}
+
+	//пользователи делятся на части, части считаются параллельно; счётчики части сразу урезаются
+	//до top соседей каждой вещи, поэтому сливаются попарно только ограниченные сводки
+	private static class CoCountTask extends RecursiveTask<Map<Integer, Neighbors>> {
+		private final int[][] histories;
+		private final int from;
+		private final int to;
+
+		private CoCountTask(int[][] histories, int from, int to) {
+			this.histories = histories;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Map<Integer, Neighbors> compute() {
+			if (to - from <= USERS_PER_TASK)
+				return countDirectly();
+			int middle = (from + to) >>> 1;
+			CoCountTask left = new CoCountTask(histories, from, middle);
+			left.fork();
+			Map<Integer, Neighbors> right = new CoCountTask(histories, middle, to).compute();
+			return merge(left.join(), right);
+		}
+
+		private Map<Integer, Neighbors> countDirectly() {
+			Map<Integer, IntIntMap> coCounts = new HashMap<>();
+			for (int i = from; i < to; i++) {
+				int[] items = histories[i];
+				for (int first : items) {
+					IntIntMap counts = null;
+					for (int second : items) {
+						if (first == second)
+							continue;
+						if (counts == null)
+							counts = coCounts.computeIfAbsent(first, itemId -> new IntIntMap());
+						counts.increment(second, 1);
+					}
+				}
+			}
+			Map<Integer, Neighbors> neighbors = new HashMap<>();
+			coCounts.forEach((itemId, counts) -> neighbors.put(itemId, Neighbors.of(counts, NEIGHBORS_CAPACITY)));
+			return neighbors;
+		}
+
+		private static Map<Integer, Neighbors> merge(Map<Integer, Neighbors> first, Map<Integer, Neighbors> second) {
+			Map<Integer, Neighbors> target = first.size() >= second.size() ? first : second;
+			Map<Integer, Neighbors> source = target == first ? second : first;
+			source.forEach((itemId, neighbors) -> {
+				Neighbors targetNeighbors = target.get(itemId);
+				if (targetNeighbors == null)
+					target.put(itemId, neighbors);
+				else
+					targetNeighbors.addAll(neighbors);
+			});
+			return target;
+		}
+	}
+}
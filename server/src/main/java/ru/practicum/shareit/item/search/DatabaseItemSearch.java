@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.ItemView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearch implements ItemSearchEngine {
+	private final ItemRepository itemRepository;
+	private final boolean fullTextEnabled;
+
+	public DatabaseItemSearch(ItemRepository itemRepository,
+							  @Value("${shareit.search.full-text:false}") boolean fullTextEnabled) {
+		this.itemRepository = itemRepository;
+		this.fullTextEnabled = fullTextEnabled;
+	}
+
+	@Override
+	public List<ItemView> search(String text, Pageable pageable) {
+		String pattern = toContainsPattern(text);
+		if (fullTextEnabled)
+			return itemRepository.searchAvailableByFullText(text, pattern, pageable);
+		return itemRepository.searchAvailableByPattern(pattern, pageable);
+	}
+
+	@Override
+	public List<ItemView> searchFree(String text, LocalDateTime freeFrom, LocalDateTime freeTo, Pageable pageable) {
+		String pattern = toContainsPattern(text);
+		if (fullTextEnabled)
+			return itemRepository.searchAvailableFreeByFullText(text, pattern, freeFrom, freeTo, pageable);
+		return itemRepository.searchAvailableFreeByPattern(pattern, BookingIntervalIndex.ACTIVE_STATUSES,
+				freeFrom, freeTo, pageable);
+	}
+
+	public static String toContainsPattern(String text) {
+		String escaped = text.toLowerCase()
+				.replace("\\", "\\\\")
+				.replace("%", "\\%")
+				.replace("_", "\\_");
+		return "%" + escaped + "%";
+	}
+}
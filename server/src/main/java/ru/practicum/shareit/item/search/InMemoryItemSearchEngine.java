@@ -0,0 +1,492 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
+import ru.practicum.shareit.util.Pagenator;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+	private static final float K1 = 1.2f;
+	private static final float B = 0.75f;
+	private static final int SNAPSHOT_MAGIC = 0x53485358;
+	private static final int SNAPSHOT_VERSION = 2;
+	private static final String SNAPSHOT_FILE = "items.seg";
+	private static final int REBUILD_PAGE_SIZE = 1000;
+	//запас покрывает расхождение часов узлов и транзакции, не закоммиченные к моменту отметки
+	private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+	//худший результат в голове очереди: меньший скор, при равенстве - больший id
+	private static final Comparator<ScoredItem> WORST_FIRST = Comparator
+			.comparingDouble(ScoredItem::score)
+			.thenComparing(ScoredItem::itemId, Comparator.reverseOrder());
+
+	private final ItemRepository itemRepository;
+	private final BookingIntervalIndex bookingIndex;
+	private final Path snapshotPath;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Integer> termIds = new HashMap<>();
+	private final List<String> terms = new ArrayList<>();
+	private final List<PostingList> postings = new ArrayList<>();
+	//массивы вещей плотные и индексируются порядковым номером, а не id: их размер равен числу вещей
+	private final ItemOrdinals ordinals = new ItemOrdinals(REBUILD_PAGE_SIZE);
+	private final BitSet available = new BitSet();
+	private int[] ordinalItemIds = new int[0];
+	private int[][] itemTerms = new int[0][];
+	private int[] itemLengths = new int[0];
+	private int itemCount;
+	private long totalLength;
+	//время, с которого изменения вещей в базе могли не попасть в индекс
+	private LocalDateTime indexedSince;
+
+	public InMemoryItemSearchEngine(ItemRepository itemRepository,
+									BookingIntervalIndex bookingIndex,
+									@Value("${shareit.search.index-dir:search-index}") String indexDir) {
+		this.itemRepository = itemRepository;
+		this.bookingIndex = bookingIndex;
+		this.snapshotPath = Path.of(indexDir).resolve(SNAPSHOT_FILE);
+	}
+
+	//снимок удаляется после загрузки, поэтому после аварийной остановки индекс строится заново из базы
+	@PostConstruct
+	public void load() {
+		SnapshotMark mark = loadSnapshot();
+		if (mark != null) {
+			log.info("Item search index loaded from [{}]: [{}] items.", snapshotPath, itemCount);
+			catchUp(mark);
+			return;
+		}
+		rebuild();
+		log.info("Item search index rebuilt from database: [{}] items.", itemCount);
+	}
+
+	@PreDestroy
+	public void save() {
+		lock.readLock().lock();
+		try {
+			writeSnapshot();
+			log.info("Item search index saved to [{}]: [{}] items.", snapshotPath, itemCount);
+		} catch (IOException e) {
+			log.warn("Item search index not saved to [{}].", snapshotPath, e);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	//выдача зависит только от множества основ слов запроса
+	@Override
+	public String normalizeQuery(String text) {
+		return String.join(" ", new TreeSet<>(ItemTextAnalyzer.analyze(text)));
+	}
+
+	@Override
+	public List<ItemView> search(String text, Pageable pageable) {
+		return fetchItems(searchIds(text, itemId -> true, pageable.getOffset(), pageable.getPageSize()));
+	}
+
+	//занятость проверяется до отбора страницы, поэтому страница заполняется только свободными вещами
+	@Override
+	public List<ItemView> searchFree(String text, LocalDateTime freeFrom, LocalDateTime freeTo, Pageable pageable) {
+		return fetchItems(searchIds(text, itemId -> bookingIndex.isFree(itemId, freeFrom, freeTo),
+				pageable.getOffset(), pageable.getPageSize()));
+	}
+
+	private List<ItemView> fetchItems(List<Integer> itemIds) {
+		List<ItemView> items = Pagenator.fetchByIdPage(itemIds, itemRepository::findAllViewsByIdIn, ItemView::getId);
+		if (items.size() < itemIds.size())
+			removeStale(itemIds, items);
+		return items;
+	}
+
+	@Override
+	public void index(Item item) {
+		IndexedItem indexedItem = analyzeItem(item);
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				putLocked(indexedItem);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	@Override
+	public void remove(int itemId) {
+		TransactionActions.afterCommit(() -> removeNow(itemId));
+	}
+
+	List<Integer> searchIds(String text, IntPredicate filter, long offset, int limit) {
+		Set<String> queryTerms = new LinkedHashSet<>(ItemTextAnalyzer.analyze(text));
+		if (queryTerms.isEmpty())
+			return List.of();
+		lock.readLock().lock();
+		try {
+			PostingList[] lists = new PostingList[queryTerms.size()];
+			int i = 0;
+			for (String term : queryTerms) {
+				Integer termId = termIds.get(term);
+				if (termId == null || postings.get(termId).size() == 0)
+					return List.of();
+				lists[i++] = postings.get(termId);
+			}
+			//пересечение начинается с самого редкого терма
+			Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+			return collectTop(lists, filter, offset, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<Integer> collectTop(PostingList[] lists, IntPredicate filter, long offset, int limit) {
+		long capacity = Math.min(offset + limit, lists[0].size());
+		if (capacity <= offset)
+			return List.of();
+		float[] idfs = new float[lists.length];
+		for (int i = 0; i < lists.length; i++)
+			idfs[i] = idf(lists[i].size());
+		float averageLength = itemCount == 0 ? 1 : (float) totalLength / itemCount;
+
+		PriorityQueue<ScoredItem> top = new PriorityQueue<>((int) capacity, WORST_FIRST);
+		PostingList rarest = lists[0];
+		for (int i = 0; i < rarest.size(); i++) {
+			int itemId = rarest.itemId(i);
+			int ordinal = ordinals.get(itemId);
+			if (!available.get(ordinal))
+				continue;
+			float lengthNorm = K1 * (1 - B + B * itemLengths[ordinal] / averageLength);
+			float score = 0;
+			boolean matchesAll = true;
+			for (int j = 0; j < lists.length; j++) {
+				int index = j == 0 ? i : lists[j].indexOf(itemId);
+				if (index < 0) {
+					matchesAll = false;
+					break;
+				}
+				int frequency = lists[j].frequency(index);
+				score += idfs[j] * frequency * (K1 + 1) / (frequency + lengthNorm);
+			}
+			if (!matchesAll || !filter.test(itemId))
+				continue;
+			ScoredItem scored = new ScoredItem(itemId, score);
+			if (top.size() < capacity) {
+				top.add(scored);
+			} else if (WORST_FIRST.compare(scored, top.peek()) > 0) {
+				top.poll();
+				top.add(scored);
+			}
+		}
+
+		int[] ranked = new int[top.size()];
+		for (int i = ranked.length - 1; i >= 0; i--)
+			ranked[i] = top.poll().itemId();
+		List<Integer> page = new ArrayList<>();
+		for (int i = (int) Math.min(offset, ranked.length); i < ranked.length; i++)
+			page.add(ranked[i]);
+		return page;
+	}
+
+	private float idf(int documentFrequency) {
+		return (float) Math.log(1 + (itemCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+	}
+
+	private void removeStale(List<Integer> itemIds, List<ItemView> items) {
+		Set<Integer> foundIds = new HashSet<>();
+		items.forEach(item -> foundIds.add(item.getId()));
+		itemIds.stream()
+				.filter(itemId -> !foundIds.contains(itemId))
+				.forEach(this::removeNow);
+	}
+
+	private void removeNow(int itemId) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(itemId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void putLocked(IndexedItem indexedItem) {
+		int itemId = indexedItem.itemId();
+		removeLocked(itemId);
+		int[] itemTermIds = new int[indexedItem.frequencies().size()];
+		int i = 0;
+		for (Map.Entry<String, Integer> entry : indexedItem.frequencies().entrySet()) {
+			int termId = getOrAddTermId(entry.getKey());
+			postings.get(termId).put(itemId, entry.getValue());
+			itemTermIds[i++] = termId;
+		}
+		addLocked(itemId, itemTermIds, indexedItem.length(), indexedItem.available());
+	}
+
+	private void addLocked(int itemId, int[] itemTermIds, int length, boolean isAvailable) {
+		int ordinal = itemCount++;
+		ensureCapacity(itemCount);
+		ordinals.put(itemId, ordinal);
+		ordinalItemIds[ordinal] = itemId;
+		itemTerms[ordinal] = itemTermIds;
+		itemLengths[ordinal] = length;
+		available.set(ordinal, isAvailable);
+		totalLength += length;
+	}
+
+	//на место удалённой вещи переносится последняя, чтобы массивы оставались без дыр
+	private void removeLocked(int itemId) {
+		int ordinal = ordinals.get(itemId);
+		if (ordinal == ItemOrdinals.MISSING)
+			return;
+		for (int termId : itemTerms[ordinal])
+			postings.get(termId).remove(itemId);
+		totalLength -= itemLengths[ordinal];
+		int last = --itemCount;
+		if (ordinal != last) {
+			int movedItemId = ordinalItemIds[last];
+			ordinals.put(movedItemId, ordinal);
+			ordinalItemIds[ordinal] = movedItemId;
+			itemTerms[ordinal] = itemTerms[last];
+			itemLengths[ordinal] = itemLengths[last];
+			available.set(ordinal, available.get(last));
+		}
+		ordinals.remove(itemId);
+		itemTerms[last] = null;
+		itemLengths[last] = 0;
+		available.clear(last);
+	}
+
+	private int getOrAddTermId(String term) {
+		Integer termId = termIds.get(term);
+		if (termId != null)
+			return termId;
+		termIds.put(term, terms.size());
+		terms.add(term);
+		postings.add(new PostingList());
+		return terms.size() - 1;
+	}
+
+	private void ensureCapacity(int size) {
+		if (size <= itemTerms.length)
+			return;
+		int capacity = Math.max(size, itemTerms.length * 2);
+		ordinalItemIds = Arrays.copyOf(ordinalItemIds, capacity);
+		itemTerms = Arrays.copyOf(itemTerms, capacity);
+		itemLengths = Arrays.copyOf(itemLengths, capacity);
+	}
+
+	private void rebuild() {
+		lock.writeLock().lock();
+		try {
+			clearLocked();
+			indexedSince = LocalDateTime.now();
+			Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+			Page<Item> page;
+			do {
+				page = itemRepository.findAll(pageable);
+				page.forEach(item -> putLocked(analyzeItem(item)));
+				pageable = page.nextPageable();
+			} while (page.hasNext());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	//вещи, созданные или изменённые после снимка, в том числе на других узлах, индексируются заново,
+	//а удалённые за это время вычищаются по списку id, если число вещей в базе разошлось с индексом
+	private void catchUp(SnapshotMark mark) {
+		lock.writeLock().lock();
+		try {
+			LocalDateTime since = LocalDateTime.now();
+			int changed = 0;
+			Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+			Page<Item> page;
+			do {
+				page = itemRepository.findAllByIdGreaterThanOrModifiedAfter(mark.maxItemId(),
+						mark.indexedSince().minus(CATCH_UP_MARGIN), pageable);
+				page.forEach(item -> putLocked(analyzeItem(item)));
+				changed += page.getNumberOfElements();
+				pageable = page.nextPageable();
+			} while (page.hasNext());
+			int removed = 0;
+			if (itemRepository.count() != itemCount) {
+				Set<Integer> existingIds = new HashSet<>(itemRepository.findAllIds());
+				//обход с конца: при удалении на текущее место переносится уже проверенная вещь
+				for (int ordinal = itemCount - 1; ordinal >= 0; ordinal--) {
+					int itemId = ordinalItemIds[ordinal];
+					if (!existingIds.contains(itemId)) {
+						removeLocked(itemId);
+						removed++;
+					}
+				}
+			}
+			indexedSince = since;
+			log.info("Item search index caught up with database: [{}] items reindexed, [{}] removed.", changed, removed);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void clearLocked() {
+		termIds.clear();
+		terms.clear();
+		postings.clear();
+		ordinals.clear();
+		available.clear();
+		ordinalItemIds = new int[0];
+		itemTerms = new int[0][];
+		itemLengths = new int[0];
+		itemCount = 0;
+		totalLength = 0;
+	}
+
+	//формат: magic, version, отметка (максимальный id, время indexedSince), словарь термов,
+	//затем вещи по возрастанию id с парами (термин, частота)
+	private void writeSnapshot() throws IOException {
+		List<byte[]> encodedTerms = new ArrayList<>(terms.size());
+		long size = 3 * Integer.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES;
+		for (String term : terms) {
+			byte[] encoded = term.getBytes(StandardCharsets.UTF_8);
+			encodedTerms.add(encoded);
+			size += Short.BYTES + encoded.length;
+		}
+		for (int ordinal = 0; ordinal < itemCount; ordinal++)
+			size += 3 * Integer.BYTES + 1 + 2L * Integer.BYTES * itemTerms[ordinal].length;
+		//вещи пишутся по возрастанию id, чтобы при загрузке списки вхождений только дописывались
+		int[] sortedItemIds = Arrays.copyOf(ordinalItemIds, itemCount);
+		Arrays.sort(sortedItemIds);
+
+		Files.createDirectories(snapshotPath.getParent());
+		Path tempPath = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+		try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			buffer.putInt(SNAPSHOT_MAGIC);
+			buffer.putInt(SNAPSHOT_VERSION);
+			buffer.putInt(itemCount == 0 ? 0 : sortedItemIds[itemCount - 1]);
+			buffer.putLong(indexedSince.toEpochSecond(ZoneOffset.UTC));
+			buffer.putInt(encodedTerms.size());
+			for (byte[] encoded : encodedTerms) {
+				buffer.putShort((short) encoded.length);
+				buffer.put(encoded);
+			}
+			buffer.putInt(itemCount);
+			for (int itemId : sortedItemIds) {
+				int ordinal = ordinals.get(itemId);
+				int[] itemTermIds = itemTerms[ordinal];
+				buffer.putInt(itemId);
+				buffer.put((byte) (available.get(ordinal) ? 1 : 0));
+				buffer.putInt(itemLengths[ordinal]);
+				buffer.putInt(itemTermIds.length);
+				for (int termId : itemTermIds) {
+					PostingList list = postings.get(termId);
+					buffer.putInt(termId);
+					buffer.putInt(list.frequency(list.indexOf(itemId)));
+				}
+			}
+			buffer.force();
+		}
+		Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private SnapshotMark loadSnapshot() {
+		if (!Files.exists(snapshotPath))
+			return null;
+		lock.writeLock().lock();
+		try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION)
+				throw new IllegalStateException("Unknown snapshot format.");
+			SnapshotMark mark = new SnapshotMark(buffer.getInt(),
+					LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC));
+			int termCount = buffer.getInt();
+			for (int i = 0; i < termCount; i++) {
+				byte[] encoded = new byte[buffer.getShort()];
+				buffer.get(encoded);
+				getOrAddTermId(new String(encoded, StandardCharsets.UTF_8));
+			}
+			int snapshotItemCount = buffer.getInt();
+			for (int i = 0; i < snapshotItemCount; i++) {
+				int itemId = buffer.getInt();
+				boolean isAvailable = buffer.get() == 1;
+				int length = buffer.getInt();
+				int[] itemTermIds = new int[buffer.getInt()];
+				for (int j = 0; j < itemTermIds.length; j++) {
+					itemTermIds[j] = buffer.getInt();
+					postings.get(itemTermIds[j]).put(itemId, buffer.getInt());
+				}
+				addLocked(itemId, itemTermIds, length, isAvailable);
+			}
+			return mark;
+		} catch (IOException | RuntimeException e) {
+			log.warn("Item search snapshot [{}] is unreadable, index will be rebuilt.", snapshotPath, e);
+			clearLocked();
+			return null;
+		} finally {
+			lock.writeLock().unlock();
+			deleteSnapshot();
+		}
+	}
+
+	private void deleteSnapshot() {
+		try {
+			Files.deleteIfExists(snapshotPath);
+		} catch (IOException e) {
+			log.warn("Item search snapshot [{}] not deleted.", snapshotPath, e);
+		}
+	}
+
+	private static IndexedItem analyzeItem(Item item) {
+		List<String> itemTerms = ItemTextAnalyzer.analyze(item.getName() + " " + item.getDescription());
+		Map<String, Integer> frequencies = new HashMap<>();
+		itemTerms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+		return new IndexedItem(item.getId(), Boolean.TRUE.equals(item.getAvailable()), frequencies, itemTerms.size());
+	}
+
+	private record IndexedItem(int itemId, boolean available, Map<String, Integer> frequencies, int length) {
+	}
+
+	private record ScoredItem(int itemId, float score) {
+	}
+
+	private record SnapshotMark(int maxItemId, LocalDateTime indexedSince) {
+	}
+}
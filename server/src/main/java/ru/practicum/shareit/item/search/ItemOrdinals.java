@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+//id вещи -> плотный порядковый номер в массивах индекса; открытая адресация, удаление сдвигом
+final class ItemOrdinals {
+	static final int MISSING = -1;
+	private static final int FREE = Integer.MIN_VALUE;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+
+	ItemOrdinals(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		keys = new int[capacity];
+		values = new int[capacity];
+		Arrays.fill(keys, FREE);
+	}
+
+	int get(int itemId) {
+		int slot = find(itemId);
+		return keys[slot] == FREE ? MISSING : values[slot];
+	}
+
+	void put(int itemId, int ordinal) {
+		if (itemId == FREE)
+			throw new IllegalArgumentException("Illegal item id [" + itemId + "].");
+		int slot = find(itemId);
+		if (keys[slot] == FREE) {
+			keys[slot] = itemId;
+			size++;
+		}
+		values[slot] = ordinal;
+		if (size > keys.length * LOAD_FACTOR)
+			resize();
+	}
+
+	void remove(int itemId) {
+		int slot = find(itemId);
+		if (keys[slot] == FREE)
+			return;
+		int mask = keys.length - 1;
+		int next = slot;
+		//ключи после удалённого сдвигаются, если их исходная ячейка не лежит между дырой и текущей позицией
+		while (true) {
+			next = (next + 1) & mask;
+			if (keys[next] == FREE)
+				break;
+			int home = mix(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				slot = next;
+			}
+		}
+		keys[slot] = FREE;
+		size--;
+	}
+
+	void clear() {
+		Arrays.fill(keys, FREE);
+		size = 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private int find(int itemId) {
+		int mask = keys.length - 1;
+		int slot = mix(itemId) & mask;
+		while (keys[slot] != FREE && keys[slot] != itemId)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void resize() {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+		Arrays.fill(keys, FREE);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE)
+				put(oldKeys[i], oldValues[i]);
+		}
+	}
+
+	private static int mix(int itemId) {
+		int hash = itemId * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
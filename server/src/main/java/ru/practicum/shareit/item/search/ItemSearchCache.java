@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//Caffeine вытесняет записи по W-TinyLFU, размер ограничен оценкой занимаемой памяти
+@Component
+public class ItemSearchCache {
+	public static final String CACHE_NAME = "itemSearch";
+	private static final int ENTRY_OVERHEAD_BYTES = 64;
+	private static final int ITEM_OVERHEAD_BYTES = 48;
+	private static final int TOKEN_PREFIX_LENGTH = 3;
+
+	private final ItemSearchEngine searchEngine;
+	private final Cache<SearchKey, List<ItemDto>> cache;
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public ItemSearchCache(@Value("${shareit.search.cache.max-weight-bytes:16777216}") long maxWeightBytes,
+						   MeterRegistry meterRegistry,
+						   ItemSearchEngine searchEngine) {
+		this.searchEngine = searchEngine;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maxWeightBytes)
+				.weigher(ItemSearchCache::weigh)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public List<ItemDto> get(String query, Pageable pageable, Supplier<List<ItemDto>> loader) {
+		SearchKey key = new SearchKey(searchEngine.normalizeQuery(query), pageable.getOffset(), pageable.getPageSize());
+		long invalidationsBeforeLoad = invalidations.get();
+		boolean[] loaded = {false};
+		List<ItemDto> items = cache.get(key, searchKey -> {
+			loaded[0] = true;
+			return List.copyOf(loader.get());
+		});
+		//результат мог быть получен до коммита изменения вещи, но попасть в кэш после инвалидации
+		if (loaded[0] && invalidations.get() != invalidationsBeforeLoad)
+			cache.invalidate(key);
+		return items;
+	}
+
+	//удаляются только записи, содержащие вещь, и записи, в выдачу которых вещь может попасть
+	public void invalidate(Item item) {
+		int itemId = item.getId();
+		String itemText = ItemTextAnalyzer.normalize(item.getName() + " " + item.getDescription());
+		boolean isAvailable = Boolean.TRUE.equals(item.getAvailable());
+		invalidations.incrementAndGet();
+		TransactionActions.afterCommit(() -> {
+			invalidations.incrementAndGet();
+			cache.asMap().entrySet().removeIf(entry -> containsItem(entry.getValue(), itemId)
+					|| isAvailable && couldMatch(ItemTextAnalyzer.normalize(entry.getKey().query()), itemText));
+		});
+	}
+
+	public void invalidateAll() {
+		invalidations.incrementAndGet();
+		TransactionActions.afterCommit(() -> {
+			invalidations.incrementAndGet();
+			cache.invalidateAll();
+		});
+	}
+
+	//проверка совпадает с поиском подстрокой (LIKE по имени, описанию и их сцеплению) и дополнена
+	//совпадением по словам: индекс в памяти ищет по основам, полнотекстовый поиск — по своим основам,
+	//поэтому для слов запроса сравниваются и префиксы
+	static boolean couldMatch(String query, String itemText) {
+		if (itemText.contains(query))
+			return true;
+		List<String> queryTokens = ItemTextAnalyzer.tokenize(query);
+		if (queryTokens.isEmpty())
+			return false;
+		List<String> itemTokens = ItemTextAnalyzer.tokenize(itemText);
+		return queryTokens.stream().allMatch(queryToken -> {
+			String prefix = queryToken.substring(0, Math.min(queryToken.length(), TOKEN_PREFIX_LENGTH));
+			return itemTokens.stream().anyMatch(itemToken -> itemToken.startsWith(prefix));
+		});
+	}
+
+	private static boolean containsItem(List<ItemDto> items, int itemId) {
+		return items.stream().anyMatch(item -> item.getId() == itemId);
+	}
+
+	private static int weigh(SearchKey key, List<ItemDto> items) {
+		int weight = ENTRY_OVERHEAD_BYTES + 2 * key.query().length();
+		for (ItemDto item : items)
+			weight += ITEM_OVERHEAD_BYTES + 2 * (item.getName().length() + item.getDescription().length());
+		return weight;
+	}
+
+	private record SearchKey(String query, long offset, int size) {
+	}
+}
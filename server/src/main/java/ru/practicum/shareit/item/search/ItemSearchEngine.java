@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+	List<ItemView> search(String text, Pageable pageable);
+
+	//только вещи без бронирований WAITING/APPROVED, пересекающих период [freeFrom, freeTo)
+	List<ItemView> searchFree(String text, LocalDateTime freeFrom, LocalDateTime freeTo, Pageable pageable);
+
+	//запросы с одинаковой нормальной формой дают одинаковую выдачу; по ней строится ключ кэша.
+	//Поиск подстрокой различает всё, кроме регистра и крайних пробелов
+	default String normalizeQuery(String text) {
+		return text.strip().toLowerCase();
+	}
+
+	//движки с собственным индексом получают изменения вещей после коммита
+	default void index(Item item) {
+	}
+
+	default void remove(int itemId) {
+	}
+}
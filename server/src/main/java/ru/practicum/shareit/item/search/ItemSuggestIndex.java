@@ -0,0 +1,284 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSuggestion;
+import ru.practicum.shareit.item.popularity.ItemPopularity;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+	public static final int TOP_SIZE = 10;
+
+	private final ItemRepository itemRepository;
+	private final ItemPopularity popularity;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Integer, ItemSuggestion> suggestions = new HashMap<>();
+	private final Comparator<Integer> ranking = Comparator
+			.comparing((Integer itemId) -> suggestions.get(itemId).getPopularity(), Comparator.reverseOrder())
+			.thenComparing(itemId -> suggestions.get(itemId).getName())
+			.thenComparing(Comparator.naturalOrder());
+	private Node root = new Node(null, ' ');
+
+	@PostConstruct
+	public void reload() {
+		List<ItemSuggestion> loaded = itemRepository.findAllAvailableSuggestions().stream()
+				.map(suggestion -> suggestion.withPopularity(popularity.getRank(suggestion.getId())))
+				.toList();
+		lock.writeLock().lock();
+		try {
+			root = new Node(null, ' ');
+			suggestions.clear();
+			loaded.forEach(this::insertLocked);
+			collectTops(root);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Item suggest index loaded: [{}] items.", loaded.size());
+	}
+
+	public List<ItemSuggestion> suggest(String prefix, int size) {
+		String normalized = ItemTextAnalyzer.normalize(prefix);
+		lock.readLock().lock();
+		try {
+			Node node = root;
+			for (int i = 0; i < normalized.length() && node != null; i++)
+				node = node.getChild(normalized.charAt(i));
+			if (node == null)
+				return List.of();
+			return Arrays.stream(node.top)
+					.limit(size)
+					.mapToObj(suggestions::get)
+					.toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void put(Item item) {
+		int itemId = item.getId();
+		String name = item.getName();
+		boolean isAvailable = Boolean.TRUE.equals(item.getAvailable());
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				removeLocked(itemId);
+				if (isAvailable)
+					putLocked(new ItemSuggestion(itemId, name, popularity.getRank(itemId)));
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	public void remove(int itemId) {
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				removeLocked(itemId);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	//ранг читается после коммита, когда ItemPopularity уже учла событие
+	public void refreshPopularity(int itemId) {
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				ItemSuggestion suggestion = suggestions.get(itemId);
+				if (suggestion == null)
+					return;
+				suggestions.put(itemId, suggestion.withPopularity(popularity.getRank(itemId)));
+				rerank(getKeys(suggestion.getName()));
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	public void reloadAfterCommit() {
+		TransactionActions.afterCommit(this::reload);
+	}
+
+	private void putLocked(ItemSuggestion suggestion) {
+		rerank(insertLocked(suggestion));
+	}
+
+	private List<String> insertLocked(ItemSuggestion suggestion) {
+		suggestions.put(suggestion.getId(), suggestion);
+		List<String> keys = getKeys(suggestion.getName());
+		for (String key : keys) {
+			Node node = root;
+			for (int i = 0; i < key.length(); i++)
+				node = node.getOrAddChild(key.charAt(i));
+			node.addItem(suggestion.getId());
+		}
+		return keys;
+	}
+
+	private void collectTops(Node node) {
+		for (Node child : node.children)
+			collectTops(child);
+		node.top = collectTop(node);
+	}
+
+	private ItemSuggestion removeLocked(int itemId) {
+		ItemSuggestion suggestion = suggestions.remove(itemId);
+		if (suggestion == null)
+			return null;
+		List<String> keys = getKeys(suggestion.getName());
+		for (String key : keys) {
+			Node node = find(key);
+			if (node != null)
+				node.removeItem(itemId);
+		}
+		rerank(keys);
+		return suggestion;
+	}
+
+	//вершины пересчитываются от глубоких к корню, чтобы родитель собирал уже обновлённые списки детей
+	private void rerank(List<String> keys) {
+		Map<Node, Boolean> affected = new IdentityHashMap<>();
+		for (String key : keys) {
+			Node node = root;
+			affected.put(node, true);
+			for (int i = 0; i < key.length() && node != null; i++) {
+				node = node.getChild(key.charAt(i));
+				if (node != null)
+					affected.put(node, true);
+			}
+		}
+		List<Node> nodes = new ArrayList<>(affected.keySet());
+		nodes.sort(Comparator.comparingInt((Node node) -> node.depth).reversed());
+		for (Node node : nodes) {
+			node.top = collectTop(node);
+			if (node.top.length == 0 && node.parent != null)
+				node.parent.removeChild(node.symbol);
+		}
+	}
+
+	private int[] collectTop(Node node) {
+		Set<Integer> candidates = new LinkedHashSet<>();
+		for (int itemId : node.itemIds)
+			candidates.add(itemId);
+		for (Node child : node.children) {
+			for (int itemId : child.top)
+				candidates.add(itemId);
+		}
+		candidates.removeIf(itemId -> !suggestions.containsKey(itemId));
+		return candidates.stream()
+				.sorted(ranking)
+				.limit(TOP_SIZE)
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	private Node find(String key) {
+		Node node = root;
+		for (int i = 0; i < key.length() && node != null; i++)
+			node = node.getChild(key.charAt(i));
+		return node;
+	}
+
+	//название целиком и его хвосты с начала каждого слова, чтобы подсказка находилась по любому слову
+	private static List<String> getKeys(String name) {
+		String normalized = ItemTextAnalyzer.normalize(name);
+		if (normalized.isEmpty())
+			return Collections.emptyList();
+		List<String> keys = new ArrayList<>();
+		keys.add(normalized);
+		for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1))
+			keys.add(normalized.substring(i + 1));
+		return keys;
+	}
+
+	private static class Node {
+		private final Node parent;
+		private final char symbol;
+		private final int depth;
+		private char[] symbols = new char[0];
+		private Node[] children = new Node[0];
+		private int[] itemIds = new int[0];
+		private int[] top = new int[0];
+
+		private Node(Node parent, char symbol) {
+			this.parent = parent;
+			this.symbol = symbol;
+			this.depth = parent == null ? 0 : parent.depth + 1;
+		}
+
+		private Node getChild(char childSymbol) {
+			int index = Arrays.binarySearch(symbols, childSymbol);
+			return index >= 0 ? children[index] : null;
+		}
+
+		private Node getOrAddChild(char childSymbol) {
+			int index = Arrays.binarySearch(symbols, childSymbol);
+			if (index >= 0)
+				return children[index];
+			index = -index - 1;
+			Node child = new Node(this, childSymbol);
+			char[] newSymbols = new char[symbols.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(symbols, 0, newSymbols, 0, index);
+			System.arraycopy(children, 0, newChildren, 0, index);
+			newSymbols[index] = childSymbol;
+			newChildren[index] = child;
+			System.arraycopy(symbols, index, newSymbols, index + 1, symbols.length - index);
+			System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+			symbols = newSymbols;
+			children = newChildren;
+			return child;
+		}
+
+		private void removeChild(char childSymbol) {
+			int index = Arrays.binarySearch(symbols, childSymbol);
+			if (index < 0)
+				return;
+			char[] newSymbols = new char[symbols.length - 1];
+			Node[] newChildren = new Node[children.length - 1];
+			System.arraycopy(symbols, 0, newSymbols, 0, index);
+			System.arraycopy(children, 0, newChildren, 0, index);
+			System.arraycopy(symbols, index + 1, newSymbols, index, symbols.length - index - 1);
+			System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+			symbols = newSymbols;
+			children = newChildren;
+		}
+
+		private void addItem(int itemId) {
+			for (int id : itemIds) {
+				if (id == itemId)
+					return;
+			}
+			itemIds = Arrays.copyOf(itemIds, itemIds.length + 1);
+			itemIds[itemIds.length - 1] = itemId;
+		}
+
+		private void removeItem(int itemId) {
+			itemIds = Arrays.stream(itemIds)
+					.filter(id -> id != itemId)
+					.toArray();
+		}
+	}
+}
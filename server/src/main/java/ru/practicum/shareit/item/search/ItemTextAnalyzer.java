@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+public class ItemTextAnalyzer {
+	private static final int MIN_STEM_LENGTH = 3;
+	//окончания упорядочены от длинных к коротким
+	private static final String[] RUSSIAN_ENDINGS = {
+			"иями", "ями", "ами", "ого", "его", "ому", "ему", "ыми", "ими",
+			"ой", "ей", "ий", "ый", "ая", "яя", "ое", "ее", "ые", "ие", "ов", "ев", "ах", "ях", "ам", "ям",
+			"ом", "ем", "ую", "юю",
+			"а", "я", "о", "е", "ы", "и", "у", "ю", "ь", "й"
+	};
+	private static final String[] ENGLISH_ENDINGS = {"ing", "es", "ed", "s"};
+
+	public static List<String> analyze(String text) {
+		List<String> terms = new ArrayList<>();
+		for (String token : tokenize(text))
+			terms.add(stem(token));
+		return terms;
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		StringBuilder token = new StringBuilder();
+		for (int i = 0; i <= text.length(); i++) {
+			char symbol = i < text.length() ? text.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(symbol)) {
+				token.append(normalizeChar(symbol));
+			} else if (!token.isEmpty()) {
+				tokens.add(token.toString());
+				token.setLength(0);
+			}
+		}
+		return tokens;
+	}
+
+	static String normalize(String text) {
+		StringBuilder normalized = new StringBuilder(text.length());
+		for (String word : text.strip().split("\\s+")) {
+			if (!normalized.isEmpty())
+				normalized.append(' ');
+			for (int i = 0; i < word.length(); i++)
+				normalized.append(normalizeChar(word.charAt(i)));
+		}
+		return normalized.toString();
+	}
+
+	static String stem(String token) {
+		String[] endings = isCyrillic(token.charAt(0)) ? RUSSIAN_ENDINGS : ENGLISH_ENDINGS;
+		for (String ending : endings) {
+			if (token.endsWith(ending) && token.length() - ending.length() >= MIN_STEM_LENGTH
+					&& !(ending.equals("s") && token.endsWith("ss")))
+				return token.substring(0, token.length() - ending.length());
+		}
+		return token;
+	}
+
+	private static char normalizeChar(char symbol) {
+		char lower = Character.toLowerCase(symbol);
+		return lower == 'ё' ? 'е' : lower;
+	}
+
+	private static boolean isCyrillic(char symbol) {
+		return Character.UnicodeBlock.of(symbol) == Character.UnicodeBlock.CYRILLIC;
+	}
+}
@@ -0,0 +1,256 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//словарь термов вещей для исправления опечаток; между перезагрузками термы только добавляются
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemVocabulary {
+	private static final int LOAD_PAGE_SIZE = 1000;
+	//расстояние Левенштейна считается только для лучших кандидатов по числу общих биграмм
+	static final int MAX_CANDIDATES = 50;
+	private static final String[][] TRANSLITERATION = {
+			{"shch", "щ"}, {"zh", "ж"}, {"kh", "х"}, {"ts", "ц"}, {"ch", "ч"}, {"sh", "ш"},
+			{"ya", "я"}, {"yu", "ю"}, {"yo", "е"},
+			{"a", "а"}, {"b", "б"}, {"c", "ц"}, {"d", "д"}, {"e", "е"}, {"f", "ф"}, {"g", "г"}, {"h", "х"},
+			{"i", "и"}, {"j", "й"}, {"k", "к"}, {"l", "л"}, {"m", "м"}, {"n", "н"}, {"o", "о"}, {"p", "п"},
+			{"q", "к"}, {"r", "р"}, {"s", "с"}, {"t", "т"}, {"u", "у"}, {"v", "в"}, {"w", "в"}, {"x", "кс"},
+			{"y", "ы"}, {"z", "з"}
+	};
+
+	private final ItemRepository itemRepository;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Integer> termIds = new HashMap<>();
+	private final List<String> terms = new ArrayList<>();
+	//словоформа, в которой терм впервые встретился в текстах вещей
+	private final List<String> surfaces = new ArrayList<>();
+	private final Map<String, TermIds> bigrams = new HashMap<>();
+	private int[] frequencies = new int[0];
+
+	@PostConstruct
+	public void load() {
+		lock.writeLock().lock();
+		try {
+			Pageable pageable = PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id"));
+			List<String> texts;
+			do {
+				texts = itemRepository.findAllTexts(pageable);
+				texts.forEach(this::addLocked);
+				pageable = pageable.next();
+			} while (texts.size() == LOAD_PAGE_SIZE);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Item vocabulary loaded: [{}] terms.", terms.size());
+	}
+
+	public void add(Item item) {
+		String text = item.getName() + " " + item.getDescription();
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				addLocked(text);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	//термы, чья основа есть в словаре, остаются как в запросе; опечатка заменяется словоформой ближайшего терма
+	//из текстов вещей, а не основой, чтобы исправленный запрос подходил и для поиска подстрокой (LIKE)
+	public String correct(String text) {
+		List<String> corrected = new ArrayList<>();
+		boolean changed = false;
+		lock.readLock().lock();
+		try {
+			for (String token : ItemTextAnalyzer.tokenize(text)) {
+				String term = ItemTextAnalyzer.stem(token);
+				if (termIds.containsKey(term)) {
+					corrected.add(token);
+					continue;
+				}
+				Correction best = findClosest(term);
+				String transliterated = transliterate(token);
+				if (!transliterated.equals(token)) {
+					Correction candidate = findClosest(ItemTextAnalyzer.stem(transliterated));
+					if (candidate != null && (best == null || candidate.isBetterThan(best)))
+						best = candidate;
+				}
+				if (best == null) {
+					corrected.add(token);
+				} else {
+					corrected.add(surfaces.get(termIds.get(best.term())));
+					changed = true;
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return changed ? String.join(" ", corrected) : text.strip();
+	}
+
+	Correction findClosest(String term) {
+		if (termIds.containsKey(term))
+			return new Correction(term, 0, frequencies[termIds.get(term)]);
+		int maxDistance = getMaxDistance(term.length());
+		if (maxDistance == 0)
+			return null;
+		Correction best = null;
+		for (int termId : selectCandidates(term, maxDistance)) {
+			String candidate = terms.get(termId);
+			int distance = boundedLevenshtein(term, candidate, maxDistance);
+			if (distance > maxDistance)
+				continue;
+			Correction correction = new Correction(candidate, distance, frequencies[termId]);
+			if (best == null || correction.isBetterThan(best))
+				best = correction;
+		}
+		return best;
+	}
+
+	//термы подходящей длины с наибольшим числом общих биграмм, не больше MAX_CANDIDATES
+	List<Integer> selectCandidates(String term, int maxDistance) {
+		//каждая правка затрагивает не больше двух биграмм
+		Set<String> termBigrams = getBigrams(term);
+		int minShared = termBigrams.size() - 2 * maxDistance;
+		Map<Integer, Integer> shared = new HashMap<>();
+		for (String bigram : termBigrams) {
+			TermIds ids = bigrams.get(bigram);
+			if (ids == null)
+				continue;
+			for (int i = 0; i < ids.size; i++) {
+				int termId = ids.values[i];
+				if (Math.abs(terms.get(termId).length() - term.length()) <= maxDistance)
+					shared.merge(termId, 1, Integer::sum);
+			}
+		}
+
+		List<Integer> candidates = new ArrayList<>();
+		for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+			if (entry.getValue() >= minShared)
+				candidates.add(entry.getKey());
+		}
+		if (candidates.size() <= MAX_CANDIDATES)
+			return candidates;
+		candidates.sort(Comparator.<Integer, Integer>comparing(shared::get, Comparator.reverseOrder())
+				.thenComparing(Comparator.naturalOrder()));
+		return candidates.subList(0, MAX_CANDIDATES);
+	}
+
+	static int getMaxDistance(int length) {
+		if (length < 3)
+			return 0;
+		return length < 6 ? 1 : 2;
+	}
+
+	//расстояние Левенштейна с отсечением: при превышении limit возвращается limit + 1
+	static int boundedLevenshtein(String first, String second, int limit) {
+		int[] previous = new int[second.length() + 1];
+		int[] current = new int[second.length() + 1];
+		for (int j = 0; j <= second.length(); j++)
+			previous[j] = j;
+		for (int i = 1; i <= first.length(); i++) {
+			current[0] = i;
+			int rowMin = current[0];
+			for (int j = 1; j <= second.length(); j++) {
+				int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				rowMin = Math.min(rowMin, current[j]);
+			}
+			if (rowMin > limit)
+				return limit + 1;
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return Math.min(previous[second.length()], limit + 1);
+	}
+
+	static String transliterate(String token) {
+		StringBuilder result = new StringBuilder();
+		int i = 0;
+		while (i < token.length()) {
+			String replacement = null;
+			for (String[] pair : TRANSLITERATION) {
+				if (token.startsWith(pair[0], i)) {
+					replacement = pair[1];
+					i += pair[0].length();
+					break;
+				}
+			}
+			if (replacement == null)
+				result.append(token.charAt(i++));
+			else
+				result.append(replacement);
+		}
+		return result.toString();
+	}
+
+	private void addLocked(String text) {
+		for (String token : ItemTextAnalyzer.tokenize(text)) {
+			String term = ItemTextAnalyzer.stem(token);
+			Integer termId = termIds.get(term);
+			if (termId == null) {
+				termId = terms.size();
+				termIds.put(term, termId);
+				terms.add(term);
+				surfaces.add(token);
+				if (termId == frequencies.length)
+					frequencies = Arrays.copyOf(frequencies, Math.max(16, termId * 2));
+				for (String bigram : getBigrams(term))
+					bigrams.computeIfAbsent(bigram, key -> new TermIds()).add(termId);
+			}
+			frequencies[termId]++;
+		}
+	}
+
+	private static Set<String> getBigrams(String term) {
+		String padded = "^" + term + "$";
+		Set<String> result = new LinkedHashSet<>();
+		for (int i = 0; i < padded.length() - 1; i++)
+			result.add(padded.substring(i, i + 2));
+		return result;
+	}
+
+	record Correction(String term, int distance, int frequency) {
+		private boolean isBetterThan(Correction other) {
+			if (distance != other.distance)
+				return distance < other.distance;
+			if (frequency != other.frequency)
+				return frequency > other.frequency;
+			return term.compareTo(other.term) < 0;
+		}
+	}
+
+	private static class TermIds {
+		private int[] values = new int[2];
+		private int size;
+
+		private void add(int termId) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = termId;
+		}
+	}
+}
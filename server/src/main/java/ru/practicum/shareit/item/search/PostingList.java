@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+//идентификаторы вещей хранятся по возрастанию, частоты - в параллельном массиве
+class PostingList {
+	private int[] itemIds = new int[4];
+	private int[] frequencies = new int[4];
+	private int size;
+
+	void put(int itemId, int frequency) {
+		int index = indexOf(itemId);
+		if (index >= 0) {
+			frequencies[index] = frequency;
+			return;
+		}
+		index = -index - 1;
+		if (size == itemIds.length) {
+			itemIds = Arrays.copyOf(itemIds, size * 2);
+			frequencies = Arrays.copyOf(frequencies, size * 2);
+		}
+		System.arraycopy(itemIds, index, itemIds, index + 1, size - index);
+		System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+		itemIds[index] = itemId;
+		frequencies[index] = frequency;
+		size++;
+	}
+
+	void remove(int itemId) {
+		int index = indexOf(itemId);
+		if (index < 0)
+			return;
+		System.arraycopy(itemIds, index + 1, itemIds, index, size - index - 1);
+		System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+		size--;
+	}
+
+	int indexOf(int itemId) {
+		return Arrays.binarySearch(itemIds, 0, size, itemId);
+	}
+
+	int size() {
+		return size;
+	}
+
+	int itemId(int index) {
+		return itemIds[index];
+	}
+
+	int frequency(int index) {
+		return frequencies[index];
+	}
+}
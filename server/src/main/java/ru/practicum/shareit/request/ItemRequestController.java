@@ -4,9 +4,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.model.dto.ItemRequestDto;
 import ru.practicum.shareit.util.Pagenator;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.util.List;
 
@@ -16,6 +18,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemRequestController {
 	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 	private final ItemRequestService requestService;
 
 	@PostMapping
@@ -54,4 +57,21 @@ public class ItemRequestController {
 		log.info("All requests received.");
 		return requests;
 	}
+
+	@GetMapping("/search")
+	public ResponseEntity<List<ItemRequestDto>> searchRequests(@RequestHeader(USER_ID_HEADER) int userId,
+															   @RequestParam String text,
+															   @RequestParam(defaultValue = "20") int size,
+															   @RequestParam(required = false) String after) {
+		log.info("Request by user with id [{}] to search requests by text [{}].", userId, text);
+		SeekCursor cursor = after == null ? SeekCursor.FIRST_PAGE : SeekCursor.decode(after);
+		List<ItemRequestDto> requests = requestService.searchRequests(userId, text, cursor, size);
+		log.info("Found requests received.");
+		if (requests.size() < size)
+			return ResponseEntity.ok(requests);
+		ItemRequestDto last = requests.get(requests.size() - 1);
+		return ResponseEntity.ok()
+				.header(NEXT_CURSOR_HEADER, new SeekCursor(last.getCreated(), last.getId()).encode())
+				.body(requests);
+	}
 }
@@ -3,8 +3,13 @@ package ru.practicum.shareit.request;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.RequestedItemView;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +21,50 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Intege
 	@EntityGraph(attributePaths = "items")
 	List<ItemRequest> findWithItemsAllByRequesterId(int requesterId);
 
+	//страница запросов и их вещи читаются проекциями двумя запросами, без сущностей и их связей
+	@Query("SELECT new ru.practicum.shareit.request.model.ItemRequestView(r.id, r.description, r.created, " +
+			"u.id, u.name, u.email) " +
+			"FROM ItemRequest r JOIN r.requester u " +
+			"WHERE u.id <> :requesterId")
+	List<ItemRequestView> findViewsByRequesterIdNot(Integer requesterId, Pageable pageable);
+
+	@Query("SELECT i.request.id AS requestId, i.id AS id, i.name AS name, i.description AS description, " +
+			"i.available AS available " +
+			"FROM Item i " +
+			"WHERE i.request.id IN :requestIds")
+	List<RequestedItemView> findItemViewsByRequestIdIn(Collection<Integer> requestIds);
+
 	@EntityGraph(attributePaths = {"requester", "items"})
-	List<ItemRequest> findWithRequesterAndItemsAllByRequesterIdNot(Integer requesterId, Pageable pageable);
+	List<ItemRequest> findWithRequesterAndItemsAllByIdIn(Collection<Integer> ids);
+
+	//tsvector поддерживается индексом из миграции V2_1, порядок страниц — индексом по (created, id)
+	@Query(value = "SELECT r.request_id FROM requests AS r " +
+			"WHERE r.user_id <> :requesterId " +
+			"AND r.search_vector @@ plainto_tsquery('russian', :text) " +
+			"AND r.created <= :cursorCreated " +
+			"AND (r.created < :cursorCreated OR r.request_id < :cursorId) " +
+			"ORDER BY r.created DESC, r.request_id DESC",
+			nativeQuery = true)
+	List<Integer> searchIdsByFullTextAfterCursor(String text, Integer requesterId, LocalDateTime cursorCreated,
+												 Integer cursorId, Pageable pageable);
+
+	@Query("SELECT r.id FROM ItemRequest r " +
+			"WHERE r.requester.id <> :requesterId " +
+			"AND LOWER(r.description) LIKE :pattern ESCAPE '\\' " +
+			"AND r.created <= :cursorCreated " +
+			"AND (r.created < :cursorCreated OR r.id < :cursorId) " +
+			"ORDER BY r.created DESC, r.id DESC")
+	List<Integer> searchIdsByPatternAfterCursor(String pattern, Integer requesterId, LocalDateTime cursorCreated,
+												Integer cursorId, Pageable pageable);
+
+	@Query("SELECT r FROM ItemRequest r WHERE NOT EXISTS (SELECT i.id FROM Item i WHERE i.request = r)")
+	List<ItemRequest> findAllOpen();
+
+	@Query("SELECT r.id FROM ItemRequest r " +
+			"WHERE r.id IN :ids AND NOT EXISTS (SELECT i.id FROM Item i WHERE i.request = r)")
+	List<Integer> findOpenIdsByIdIn(Collection<Integer> ids);
+
+	@Query("SELECT r FROM ItemRequest r " +
+			"WHERE r.id = :id AND NOT EXISTS (SELECT i.id FROM Item i WHERE i.request = r)")
+	Optional<ItemRequest> findOpenById(int id);
 }
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.search.DatabaseItemSearch;
+import ru.practicum.shareit.util.Pagenator;
+import ru.practicum.shareit.util.SeekCursor;
+
+import java.util.List;
+
+//без полнотекстового поиска (H2) запросы ищутся по подстроке описания
+@Component
+public class ItemRequestSearch {
+	private final ItemRequestRepository requestRepository;
+	private final boolean fullTextEnabled;
+
+	public ItemRequestSearch(ItemRequestRepository requestRepository,
+							 @Value("${shareit.search.full-text:false}") boolean fullTextEnabled) {
+		this.requestRepository = requestRepository;
+		this.fullTextEnabled = fullTextEnabled;
+	}
+
+	public List<Integer> searchIds(String text, int requesterId, SeekCursor after, int size) {
+		if (fullTextEnabled)
+			return requestRepository.searchIdsByFullTextAfterCursor(text, requesterId, after.getTime(), after.getId(),
+					Pagenator.getPage(0, size));
+		return requestRepository.searchIdsByPatternAfterCursor(DatabaseItemSearch.toContainsPattern(text), requesterId,
+				after.getTime(), after.getId(), Pagenator.getPage(0, size));
+	}
+}
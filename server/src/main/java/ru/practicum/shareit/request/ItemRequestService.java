@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.request.model.dto.ItemRequestDto;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.util.List;
 
@@ -14,4 +15,6 @@ public interface ItemRequestService {
 	List<ItemRequestDto> getRequestsByOwner(int requesterId);
 
 	List<ItemRequestDto> getAllRequests(int userId, Pageable pageable);
+
+	List<ItemRequestDto> searchRequests(int userId, String text, SeekCursor after, int size);
 }
@@ -7,13 +7,20 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.exception.user.UserNotFoundException;
+import ru.practicum.shareit.item.model.RequestedItemView;
+import ru.practicum.shareit.request.match.RequestTokenIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.request.model.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Pagenator;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,6 +29,8 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
 	private final UserRepository userRepository;
 	private final ItemRequestRepository requestRepository;
+	private final ItemRequestSearch requestSearch;
+	private final RequestTokenIndex tokenIndex;
 
 	@Override
 	@Transactional
@@ -32,10 +41,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 		ItemRequest requestToSave = ItemRequestDto.toModel(requestDto, requester);
 		setTimeNowToNewRequest(requestToSave);
 		ItemRequest savedRequest = requestRepository.save(requestToSave);
+		tokenIndex.add(savedRequest);
 		return ItemRequestDto.toDto(savedRequest, requester);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public ItemRequestDto getRequestById(int userId, int requestId) {
 		userRepository.findById(userId).orElseThrow(
 				() -> new UserNotFoundException("Request not received. User with id [" + userId + "] not found.")
@@ -47,6 +58,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<ItemRequestDto> getRequestsByOwner(int requesterId) {
 		User requester = userRepository.findById(requesterId).orElseThrow(
 				() -> new UserNotFoundException("User with id [" + requesterId + "] not found.")
@@ -57,11 +69,38 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<ItemRequestDto> getAllRequests(int userId, Pageable pageable) {
 		userRepository.findById(userId).orElseThrow(
 				() -> new UserNotFoundException("Request not received. User with id [" + userId + "] not found.")
 		);
-		List<ItemRequest> requests = requestRepository.findWithRequesterAndItemsAllByRequesterIdNot(userId, pageable);
+		List<ItemRequestView> requests = requestRepository.findViewsByRequesterIdNot(userId, pageable);
+		if (requests.isEmpty())
+			return new ArrayList<>();
+		List<Integer> requestIds = requests.stream()
+				.map(ItemRequestView::getId)
+				.toList();
+		Map<Integer, List<RequestedItemView>> itemsByRequestId = requestRepository.findItemViewsByRequestIdIn(requestIds)
+				.stream()
+				.collect(Collectors.groupingBy(RequestedItemView::getRequestId));
+		return requests.stream()
+				.map(request -> ItemRequestDto.toDto(request, itemsByRequestId.getOrDefault(request.getId(), List.of())))
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ItemRequestDto> searchRequests(int userId, String text, SeekCursor after, int size) {
+		userRepository.findById(userId).orElseThrow(
+				() -> new UserNotFoundException("Requests not found. User with id [" + userId + "] not found.")
+		);
+		if (text.isBlank())
+			return new ArrayList<>();
+		List<ItemRequest> requests = Pagenator.fetchByIdPage(
+				requestSearch.searchIds(text.strip(), userId, after, size),
+				requestRepository::findWithRequesterAndItemsAllByIdIn,
+				ItemRequest::getId
+		);
 		return requests.stream()
 				.map(request -> ItemRequestDto.toDto(request, request.getRequester(), request.getItems()))
 				.collect(Collectors.toList());
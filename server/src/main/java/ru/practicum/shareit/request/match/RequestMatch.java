@@ -0,0 +1,48 @@
+package ru.practicum.shareit.request.match;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Entity
+@Table(name = "request_matches", schema = "public")
+public class RequestMatch {
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_matches_seq")
+	@SequenceGenerator(name = "request_matches_seq", sequenceName = "request_matches_seq", allocationSize = 50)
+	@Column(name = "match_id")
+	private Integer id;
+
+	@Column(name = "request_id", nullable = false)
+	private Integer requestId;
+
+	@Column(name = "item_id", nullable = false)
+	private Integer itemId;
+
+	@Column(name = "score", nullable = false)
+	private Float score;
+
+	@Column(name = "created", nullable = false)
+	private LocalDateTime created;
+
+	public RequestMatch(Integer requestId, Integer itemId, Float score, LocalDateTime created) {
+		this.requestId = requestId;
+		this.itemId = itemId;
+		this.score = score;
+		this.created = created;
+	}
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.request.match;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RequestMatchRepository extends JpaRepository<RequestMatch, Integer> {
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.request.match;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+//новые вещи сопоставляются с открытыми запросами в отдельном потоке; очередь ограничена,
+//при переполнении вещь пропускается, чтобы не задерживать добавление
+@Slf4j
+@Component
+public class RequestMatcher {
+	static final int BATCH_SIZE = 100;
+	static final float MIN_SCORE = 0.5f;
+	static final int MAX_MATCHES_PER_ITEM = 10;
+
+	private final RequestTokenIndex tokenIndex;
+	private final ItemRequestRepository requestRepository;
+	private final ItemRepository itemRepository;
+	private final RequestMatchRepository matchRepository;
+	private final BlockingQueue<NewItem> queue;
+	private final Executor executor;
+	private final AtomicBoolean draining = new AtomicBoolean();
+
+	@Autowired
+	public RequestMatcher(RequestTokenIndex tokenIndex,
+						  ItemRequestRepository requestRepository,
+						  ItemRepository itemRepository,
+						  RequestMatchRepository matchRepository,
+						  @Value("${shareit.requests.matching.queue-capacity:10000}") int queueCapacity) {
+		this(tokenIndex, requestRepository, itemRepository, matchRepository, queueCapacity,
+				Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "request-matcher")));
+	}
+
+	RequestMatcher(RequestTokenIndex tokenIndex,
+				   ItemRequestRepository requestRepository,
+				   ItemRepository itemRepository,
+				   RequestMatchRepository matchRepository,
+				   int queueCapacity,
+				   Executor executor) {
+		this.tokenIndex = tokenIndex;
+		this.requestRepository = requestRepository;
+		this.itemRepository = itemRepository;
+		this.matchRepository = matchRepository;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.executor = executor;
+	}
+
+	//вещь, добавленная по запросу, закрывает его; остальные вещи ставятся в очередь на сопоставление
+	public void onItemAdded(Item item) {
+		if (item.getRequest() != null) {
+			tokenIndex.remove(item.getRequest().getId());
+			return;
+		}
+		NewItem newItem = new NewItem(item.getId(), item.getOwner().getId(),
+				item.getName() + " " + item.getDescription());
+		TransactionActions.afterCommit(() -> {
+			if (!queue.offer(newItem)) {
+				log.warn("Request matching queue is full, item with id [{}] skipped.", newItem.itemId());
+				return;
+			}
+			scheduleDrain();
+		});
+	}
+
+	//удаление вещи, добавленной по запросу, снова открывает запрос, если других вещей по нему нет;
+	//вызывается после удаления вещи в той же транзакции
+	public void onItemRemoved(Item item) {
+		if (item.getRequest() == null)
+			return;
+		requestRepository.findOpenById(item.getRequest().getId()).ifPresent(tokenIndex::add);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		if (!(executor instanceof ExecutorService executorService))
+			return;
+		executorService.shutdown();
+		if (!executorService.awaitTermination(10, TimeUnit.SECONDS))
+			executorService.shutdownNow();
+	}
+
+	private void scheduleDrain() {
+		if (!draining.compareAndSet(false, true))
+			return;
+		try {
+			executor.execute(this::drain);
+		} catch (RejectedExecutionException e) {
+			draining.set(false);
+			log.warn("Request matching stopped, [{}] items not matched.", queue.size());
+		}
+	}
+
+	private void drain() {
+		List<NewItem> batch = new ArrayList<>(BATCH_SIZE);
+		try {
+			while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+				matchBatch(batch);
+				batch.clear();
+			}
+		} finally {
+			draining.set(false);
+		}
+		//вещь могла попасть в очередь после последней выборки, но до сброса флага
+		if (!queue.isEmpty())
+			scheduleDrain();
+	}
+
+	private void matchBatch(List<NewItem> batch) {
+		LocalDateTime now = LocalDateTime.now();
+		List<RequestMatch> matches = new ArrayList<>();
+		Set<Integer> requestIds = new HashSet<>();
+		for (NewItem item : batch) {
+			for (RequestTokenIndex.Candidate candidate : tokenIndex.match(item.ownerId(), item.text(),
+					MIN_SCORE, MAX_MATCHES_PER_ITEM)) {
+				matches.add(new RequestMatch(candidate.requestId(), item.itemId(), candidate.score(), now));
+				requestIds.add(candidate.requestId());
+			}
+		}
+		if (matches.isEmpty())
+			return;
+		try {
+			//индекс мог отстать от базы: запрос уже закрыт или удалён вместе с пользователем,
+			//а вещь из очереди могли удалить до сопоставления
+			Set<Integer> openIds = new HashSet<>(requestRepository.findOpenIdsByIdIn(requestIds));
+			Set<Integer> itemIds = new HashSet<>(itemRepository.findIdsByIdIn(
+					matches.stream().map(RequestMatch::getItemId).collect(Collectors.toSet())));
+			matches.removeIf(match -> !openIds.contains(match.getRequestId())
+					|| !itemIds.contains(match.getItemId()));
+		} catch (RuntimeException e) {
+			log.warn("Request matches for [{}] new items not recorded.", batch.size(), e);
+			return;
+		}
+		if (matches.isEmpty())
+			return;
+		try {
+			matchRepository.saveAll(matches);
+			log.debug("Recorded [{}] request matches for [{}] new items.", matches.size(), batch.size());
+		} catch (RuntimeException e) {
+			//вещь или запрос удалили уже после проверки: пакет сохраняется по вещам, чтобы ошибка
+			//одной вещи не отменила совпадения остальных
+			log.debug("Request matches batch not recorded, saving matches by item.", e);
+			saveByItem(matches);
+		}
+	}
+
+	private void saveByItem(List<RequestMatch> matches) {
+		Map<Integer, List<RequestMatch>> matchesByItem = matches.stream()
+				.collect(Collectors.groupingBy(RequestMatch::getItemId));
+		matchesByItem.forEach((itemId, itemMatches) -> {
+			//id, выданные в отменённой вставке, сбрасываются, иначе совпадения сохранились бы слиянием
+			itemMatches.forEach(match -> match.setId(null));
+			try {
+				matchRepository.saveAll(itemMatches);
+			} catch (RuntimeException e) {
+				log.warn("Request matches for item with id [{}] not recorded.", itemId, e);
+			}
+		});
+	}
+
+	private record NewItem(int itemId, int ownerId, String text) {
+	}
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.request.match;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.search.ItemTextAnalyzer;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.util.TransactionActions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//инвертированный индекс по основам слов из описаний открытых запросов, т.е. запросов без предложенных вещей
+@Slf4j
+@Component
+public class RequestTokenIndex {
+	private static final int MIN_TERM_LENGTH = 3;
+
+	private final ItemRequestRepository requestRepository;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Set<Integer>> postings = new HashMap<>();
+	private final Map<Integer, IndexedRequest> requests = new HashMap<>();
+
+	public RequestTokenIndex(ItemRequestRepository requestRepository) {
+		this.requestRepository = requestRepository;
+	}
+
+	@PostConstruct
+	public void rebuild() {
+		List<ItemRequest> openRequests = requestRepository.findAllOpen();
+		lock.writeLock().lock();
+		try {
+			postings.clear();
+			requests.clear();
+			openRequests.forEach(this::putUnderLock);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Request token index built: [{}] open requests.", openRequests.size());
+	}
+
+	public void add(ItemRequest request) {
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				putUnderLock(request);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	public void remove(int requestId) {
+		TransactionActions.afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				IndexedRequest removed = requests.remove(requestId);
+				if (removed == null)
+					return;
+				for (String term : removed.terms()) {
+					Set<Integer> requestIds = postings.get(term);
+					requestIds.remove(requestId);
+					if (requestIds.isEmpty())
+						postings.remove(term);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	//оценка — доля веса слов запроса, найденных в тексте вещи; редкие слова весят больше частых
+	public List<Candidate> match(int ownerId, String text, float minScore, int limit) {
+		Set<String> itemTerms = analyze(text);
+		lock.readLock().lock();
+		try {
+			Map<Integer, Double> matchedWeights = new HashMap<>();
+			for (String term : itemTerms) {
+				Set<Integer> requestIds = postings.get(term);
+				if (requestIds == null)
+					continue;
+				double weight = weight(requestIds.size());
+				requestIds.forEach(requestId -> matchedWeights.merge(requestId, weight, Double::sum));
+			}
+			List<Candidate> candidates = new ArrayList<>();
+			matchedWeights.forEach((requestId, matchedWeight) -> {
+				IndexedRequest request = requests.get(requestId);
+				if (request.requesterId() == ownerId)
+					return;
+				float score = (float) (matchedWeight / totalWeight(request));
+				if (score >= minScore)
+					candidates.add(new Candidate(requestId, score));
+			});
+			return candidates.stream()
+					.sorted(Comparator.comparing(Candidate::score).reversed().thenComparing(Candidate::requestId))
+					.limit(limit)
+					.toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void putUnderLock(ItemRequest request) {
+		Set<String> terms = analyze(request.getDescription());
+		if (terms.isEmpty())
+			return;
+		requests.put(request.getId(), new IndexedRequest(request.getRequester().getId(), terms.toArray(new String[0])));
+		terms.forEach(term -> postings.computeIfAbsent(term, key -> new HashSet<>()).add(request.getId()));
+	}
+
+	private double totalWeight(IndexedRequest request) {
+		double total = 0;
+		for (String term : request.terms())
+			total += weight(postings.get(term).size());
+		return total;
+	}
+
+	private double weight(int documentFrequency) {
+		return Math.log(1 + (double) requests.size() / documentFrequency);
+	}
+
+	private static Set<String> analyze(String text) {
+		Set<String> terms = new LinkedHashSet<>();
+		for (String term : ItemTextAnalyzer.analyze(text)) {
+			if (term.length() >= MIN_TERM_LENGTH)
+				terms.add(term);
+		}
+		return terms;
+	}
+
+	public record Candidate(int requestId, float score) {
+	}
+
+	private record IndexedRequest(int requesterId, String[] terms) {
+	}
+}
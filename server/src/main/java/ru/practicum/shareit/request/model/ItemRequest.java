@@ -20,7 +20,8 @@ import java.util.Set;
 @Table(name = "requests", schema = "public")
 public class ItemRequest {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+	@SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
 	@Column(name = "request_id")
 	private Integer id;
 
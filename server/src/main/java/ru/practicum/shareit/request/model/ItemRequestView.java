@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ItemRequestView {
+	Integer id;
+	String description;
+	LocalDateTime created;
+	Integer requesterId;
+	String requesterName;
+	String requesterEmail;
+}
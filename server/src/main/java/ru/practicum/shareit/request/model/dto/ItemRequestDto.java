@@ -5,8 +5,10 @@ import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
 import ru.practicum.shareit.item.model.dto.ItemDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.dto.UserDto;
 
@@ -43,6 +45,22 @@ public class ItemRequestDto {
 		return requestDto;
 	}
 
+	public static ItemRequestDto toDto(ItemRequestView request, List<? extends ItemView> items) {
+		return ItemRequestDto.builder()
+				.id(request.getId())
+				.description(request.getDescription())
+				.created(request.getCreated())
+				.items(items.stream()
+						.map(item -> ItemDto.toDto(item, request.getId()))
+						.collect(Collectors.toList()))
+				.requester(UserDto.builder()
+						.id(request.getRequesterId())
+						.name(request.getRequesterName())
+						.email(request.getRequesterEmail())
+						.build())
+				.build();
+	}
+
 	public static ItemRequestDto toDto(ItemRequest request, User requester) {
 		ItemRequestDto requestDto = ItemRequestDto.builder()
 				.id(request.getId())
@@ -38,6 +38,14 @@ public class UserController {
 		return users;
 	}
 
+	@GetMapping(params = "ids")
+	public List<UserDto> getUsersByIds(@RequestParam List<Integer> ids) {
+		log.info("Request to get users by ids [{}]", ids);
+		List<UserDto> users = userService.getUsersByIds(ids);
+		log.info("[{}] users found.", users.size());
+		return users;
+	}
+
 	@GetMapping("/{userId}")
 	public UserDto getUserById(@PathVariable int userId) {
 		log.info("Request to get user by id [{}]", userId);
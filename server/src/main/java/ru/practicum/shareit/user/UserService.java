@@ -16,5 +16,7 @@ public interface UserService {
 
 	UserDto getUserById(int userId) throws UserNotFoundException;
 
+	List<UserDto> getUsersByIds(List<Integer> ids);
+
 	UserDto deleteUserById(int userId) throws UserNotFoundException;
 }
@@ -5,10 +5,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.exception.user.UserAlreadyExistsException;
 import ru.practicum.shareit.exception.user.UserNotFoundException;
+import ru.practicum.shareit.item.hot.HotItemCache;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.util.Pagenator;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,13 +24,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 	private final UserRepository userRepository;
+	private final BookingIntervalIndex bookingIndex;
+	private final ItemSuggestIndex suggestIndex;
+	private final ItemSearchCache searchCache;
+	private final HotItemCache hotItemCache;
 
 	@Override
 	@Transactional
 	public UserDto addUser(UserDto userDtoToSave) {
 		User userToSave = UserDto.toModel(userDtoToSave);
 		try {
-			User savedUser = userRepository.save(userToSave);
+			User savedUser = userRepository.saveAndFlush(userToSave);
 			return UserDto.toDto(savedUser);
 		} catch (DataIntegrityViolationException exception) {
 			throw new UserAlreadyExistsException("User not saved. User with same name or email already exists.");
@@ -44,10 +53,14 @@ public class UserServiceImpl implements UserService {
 			updatableUser.setName(userToUpdate.getName());
 		if (userToUpdate.getEmail() != null)
 			updatableUser.setEmail(userToUpdate.getEmail());
+		//имя пользователя входит в закреплённые комментарии
+		if (userToUpdate.getName() != null)
+			hotItemCache.invalidateAll();
 		return UserDto.toDto(userRepository.save(updatableUser));
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<UserDto> getAllUsers() {
 		return userRepository.findAll().stream()
 				.map(UserDto::toDto)
@@ -55,6 +68,7 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public UserDto getUserById(int userId) {
 		User user = userRepository.findById(userId).orElseThrow(
 				() -> new UserNotFoundException("User with id [" + userId + "] not exists.")
@@ -62,13 +76,26 @@ public class UserServiceImpl implements UserService {
 		return UserDto.toDto(user);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<UserDto> getUsersByIds(List<Integer> ids) {
+		List<User> users = Pagenator.fetchByIdPage(Pagenator.getIdPage(ids), userRepository::findAllById, User::getId);
+		return users.stream()
+				.map(UserDto::toDto)
+				.collect(Collectors.toList());
+	}
+
 	@Override
 	@Transactional
 	public UserDto deleteUserById(int userId) {
 		User userToDelete = userRepository.findById(userId).orElseThrow(
 				() -> new UserNotFoundException("User with id [" + userId + "] not exists.")
 		);
+		bookingIndex.removeUser(userId);
 		userRepository.deleteById(userId);
+		suggestIndex.reloadAfterCommit();
+		searchCache.invalidateAll();
+		hotItemCache.invalidateAll();
 		return UserDto.toDto(userToDelete);
 	}
 
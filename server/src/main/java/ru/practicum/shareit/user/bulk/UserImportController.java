@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.AccessDeniedException;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+//служебный путь: через gateway не публикуется и требует токена администратора;
+//пока токен не задан, импорт выключен
+@Slf4j
+@RestController
+@RequestMapping(path = "/admin/users")
+public class UserImportController {
+	public static final String HEADER_ADMIN_TOKEN = "X-Admin-Token";
+
+	private final UserImportService importService;
+	private final byte[] adminToken;
+
+	public UserImportController(UserImportService importService,
+								@Value("${shareit.admin.token:}") String adminToken) {
+		this.importService = importService;
+		this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@PostMapping(path = "/import", consumes = {UserImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+	public UserImportResult importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+										@RequestHeader(name = HEADER_ADMIN_TOKEN, required = false) String token,
+										InputStream body) {
+		checkAdmin(token);
+		UserImportFormat format = UserImportFormat.of(contentType);
+		log.info("Request to import users in [{}] format.", format);
+		UserImportResult result = importService.importUsers(body, format);
+		log.info("Users imported: [{}], rejected: [{}].", result.getImported(), result.getRejected());
+		return result;
+	}
+
+	private void checkAdmin(String token) {
+		if (adminToken.length == 0 || token == null
+				|| !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8)))
+			throw new AccessDeniedException("Admin token is missing or invalid.");
+	}
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.user.model.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//одна строка входа — один пользователь; null означает, что строку не удалось разобрать
+public enum UserImportFormat {
+	CSV {
+		@Override
+		UserDto parse(String line, ObjectMapper mapper) {
+			List<String> fields = splitCsv(line);
+			if (fields.size() != 2)
+				return null;
+			return UserDto.builder()
+					.name(fields.get(0).trim())
+					.email(fields.get(1).trim())
+					.build();
+		}
+
+		@Override
+		boolean isHeader(String line) {
+			return line.trim().equalsIgnoreCase("name,email");
+		}
+	},
+	NDJSON {
+		@Override
+		UserDto parse(String line, ObjectMapper mapper) {
+			try {
+				return mapper.readValue(line, UserDto.class);
+			} catch (JsonProcessingException exception) {
+				return null;
+			}
+		}
+
+		@Override
+		boolean isHeader(String line) {
+			return false;
+		}
+	};
+
+	public static final String TEXT_CSV_VALUE = "text/csv";
+
+	abstract UserDto parse(String line, ObjectMapper mapper);
+
+	abstract boolean isHeader(String line);
+
+	public static UserImportFormat of(String contentType) {
+		return MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType)) ? NDJSON : CSV;
+	}
+
+	//поля в кавычках могут содержать запятые, кавычка внутри них удваивается
+	static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"')
+					field.append(c);
+				else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+					field.append(line.charAt(++i));
+				else
+					quoted = false;
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.user.bulk;
+
+import lombok.Value;
+
+import java.util.List;
+
+//rejected — число всех отклонённых строк, rejections перечисляет только первые из них
+@Value
+public class UserImportResult {
+	int imported;
+	int rejected;
+	List<Rejection> rejections;
+
+	@Value
+	public static class Rejection {
+		int line;
+		String reason;
+	}
+}
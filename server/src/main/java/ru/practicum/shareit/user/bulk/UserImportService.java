@@ -0,0 +1,252 @@
+package ru.practicum.shareit.user.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.user.UserAlreadyExistsException;
+import ru.practicum.shareit.user.bulk.UserImportResult.Rejection;
+import ru.practicum.shareit.user.model.dto.UserDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+//строки потоком ложатся в user_import (COPY на PostgreSQL, пакетные INSERT на остальных СУБД),
+//дубликаты помечаются одним UPDATE, а оставшиеся строки переносятся в users одним INSERT ... SELECT
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+	public static final int MAX_LISTED_REJECTIONS = 1000;
+	static final String INVALID_LINE = "Name and valid email are required.";
+	static final String DUPLICATE_LINE = "User with same name or email already exists.";
+	//совпадает с allocationSize генератора users_seq в User
+	private static final int ID_BLOCK_SIZE = 50;
+	private static final int INSERT_BATCH_SIZE = 1000;
+	private static final int COPY_CHUNK_CHARS = 64 * 1024;
+
+	private static final String COPY_STAGING = "COPY user_import (import_id, line_no, user_name, email) " +
+			"FROM STDIN WITH (FORMAT csv)";
+	private static final String INSERT_STAGING = "INSERT INTO user_import (import_id, line_no, user_name, email) " +
+			"VALUES (?, ?, ?, ?)";
+	//дубликат — строка, чьё имя или почта уже заняты в users либо встречались в импорте строкой раньше
+	private static final String MARK_DUPLICATES = "UPDATE user_import s SET duplicate = TRUE " +
+			"WHERE s.import_id = ? AND (" +
+			"EXISTS (SELECT 1 FROM users u WHERE u.user_name = s.user_name) " +
+			"OR EXISTS (SELECT 1 FROM users u WHERE u.email = s.email) " +
+			"OR s.line_no IN (SELECT r.line_no FROM (SELECT line_no, " +
+			"ROW_NUMBER() OVER (PARTITION BY user_name ORDER BY line_no) AS name_rank, " +
+			"ROW_NUMBER() OVER (PARTITION BY email ORDER BY line_no) AS email_rank " +
+			"FROM user_import WHERE import_id = ?) r " +
+			"WHERE r.name_rank > 1 OR r.email_rank > 1))";
+	private static final String SELECT_DUPLICATE_LINES = "SELECT line_no FROM user_import " +
+			"WHERE import_id = ? AND duplicate ORDER BY line_no LIMIT ?";
+	//id выдаются теми же блоками, что и у Hibernate: значение последовательности hi закрывает блок (hi - 50, hi];
+	//блок с hi меньше размера блока (первое значение новой последовательности) пропускается
+	private static final String MOVE_TO_USERS = "INSERT INTO users (user_id, user_name, email) " +
+			"SELECT b.hi - " + (ID_BLOCK_SIZE - 1) + " + MOD(s.rn - 1, " + ID_BLOCK_SIZE + "), s.user_name, s.email " +
+			"FROM (SELECT user_name, email, ROW_NUMBER() OVER (ORDER BY line_no) AS rn " +
+			"FROM user_import WHERE import_id = ? AND NOT duplicate) s " +
+			"JOIN (SELECT hi, ROW_NUMBER() OVER (ORDER BY hi) AS block_no FROM (%s) allocated " +
+			"WHERE hi >= " + ID_BLOCK_SIZE + ") b ON b.block_no = (s.rn - 1) / " + ID_BLOCK_SIZE + " + 1";
+	private static final String POSTGRES_ID_BLOCKS = "SELECT nextval('users_seq') AS hi FROM generate_series(0, ?)";
+	private static final String DEFAULT_ID_BLOCKS = "SELECT NEXT VALUE FOR users_seq AS hi FROM SYSTEM_RANGE(0, ?)";
+	private static final String DELETE_STAGING = "DELETE FROM user_import WHERE import_id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper mapper;
+	private final Validator validator;
+
+	//тело запроса читается и копируется в user_import вне транзакции, в автокоммите, чтобы медленный клиент
+	//не держал открытую транзакцию; в транзакции выполняются только пометка дубликатов и перенос в users
+	public UserImportResult importUsers(InputStream body, UserImportFormat format) {
+		UUID importId = UUID.randomUUID();
+		try {
+			StagingResult staging = stage(importId, body, format);
+			return transactionTemplate.execute(status -> moveStaged(importId, staging));
+		} catch (RuntimeException exception) {
+			jdbcTemplate.update(DELETE_STAGING, importId);
+			throw exception;
+		}
+	}
+
+	private StagingResult stage(UUID importId, InputStream body, UserImportFormat format) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+		return jdbcTemplate.execute((ConnectionCallback<StagingResult>) connection -> {
+			boolean postgres = connection.isWrapperFor(PGConnection.class);
+			try (StagingWriter writer = postgres
+					? new CopyStagingWriter(connection, importId)
+					: new BatchStagingWriter(connection, importId)) {
+				return new StagingResult(postgres, stageLines(reader, format, writer));
+			} catch (IOException exception) {
+				throw new BadRequestException("Users not imported. Import body could not be read.");
+			}
+		});
+	}
+
+	private UserImportResult moveStaged(UUID importId, StagingResult staging) {
+		int duplicates = jdbcTemplate.update(MARK_DUPLICATES, importId, importId);
+		List<Integer> duplicateLines = duplicates == 0
+				? List.of()
+				: jdbcTemplate.queryForList(SELECT_DUPLICATE_LINES, Integer.class, importId, MAX_LISTED_REJECTIONS);
+		int toImport = staging.lines.staged - duplicates;
+		int imported = toImport == 0 ? 0 : moveToUsers(importId, toImport, staging.postgres);
+		jdbcTemplate.update(DELETE_STAGING, importId);
+		List<Rejection> rejections = Stream.concat(
+						staging.lines.invalid.stream(),
+						duplicateLines.stream().map(line -> new Rejection(line, DUPLICATE_LINE)))
+				.sorted(Comparator.comparingInt(Rejection::getLine))
+				.limit(MAX_LISTED_REJECTIONS)
+				.toList();
+		return new UserImportResult(imported, staging.lines.invalidCount + duplicates, rejections);
+	}
+
+	private StagedLines stageLines(BufferedReader reader, UserImportFormat format, StagingWriter writer)
+			throws IOException, SQLException {
+		StagedLines lines = new StagedLines();
+		int lineNo = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNo++;
+			if (line.isBlank() || (lineNo == 1 && format.isHeader(line)))
+				continue;
+			UserDto user = format.parse(line, mapper);
+			if (!isValid(user)) {
+				lines.invalidCount++;
+				if (lines.invalid.size() < MAX_LISTED_REJECTIONS)
+					lines.invalid.add(new Rejection(lineNo, INVALID_LINE));
+				continue;
+			}
+			writer.write(lineNo, user.getName(), user.getEmail());
+			lines.staged++;
+		}
+		return lines;
+	}
+
+	private boolean isValid(UserDto user) {
+		return user != null
+				&& user.getName() != null && !user.getName().isBlank()
+				&& user.getEmail() != null && !user.getEmail().isBlank()
+				&& validator.validate(user).isEmpty();
+	}
+
+	private int moveToUsers(UUID importId, int count, boolean postgres) {
+		String idBlocks = postgres ? POSTGRES_ID_BLOCKS : DEFAULT_ID_BLOCKS;
+		//лишний блок покрывает пропуск первого значения последовательности
+		int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+		try {
+			return jdbcTemplate.update(MOVE_TO_USERS.formatted(idBlocks), importId, blocks);
+		} catch (DataIntegrityViolationException exception) {
+			throw new UserAlreadyExistsException("Users not imported. Users with same name or email were saved concurrently.");
+		}
+	}
+
+	private record StagingResult(boolean postgres, StagedLines lines) {
+	}
+
+	private static class StagedLines {
+		private final List<Rejection> invalid = new ArrayList<>();
+		private int invalidCount;
+		private int staged;
+	}
+
+	private interface StagingWriter extends AutoCloseable {
+		void write(int lineNo, String name, String email) throws SQLException;
+
+		@Override
+		void close() throws SQLException;
+	}
+
+	//строки копятся в буфере и уходят в COPY кусками, тело запроса целиком в памяти не держится
+	private static class CopyStagingWriter implements StagingWriter {
+		private final CopyIn copyIn;
+		private final String importId;
+		private final StringBuilder buffer = new StringBuilder(COPY_CHUNK_CHARS);
+
+		private CopyStagingWriter(Connection connection, UUID importId) throws SQLException {
+			this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+			this.importId = importId.toString();
+		}
+
+		@Override
+		public void write(int lineNo, String name, String email) throws SQLException {
+			buffer.append(importId).append(',').append(lineNo).append(',');
+			appendQuoted(name);
+			buffer.append(',');
+			appendQuoted(email);
+			buffer.append('\n');
+			if (buffer.length() >= COPY_CHUNK_CHARS)
+				flush();
+		}
+
+		@Override
+		public void close() throws SQLException {
+			flush();
+			copyIn.endCopy();
+		}
+
+		private void appendQuoted(String value) {
+			buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+		}
+
+		private void flush() throws SQLException {
+			byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+			copyIn.writeToCopy(bytes, 0, bytes.length);
+			buffer.setLength(0);
+		}
+	}
+
+	private static class BatchStagingWriter implements StagingWriter {
+		private final PreparedStatement statement;
+		private final UUID importId;
+		private int batched;
+
+		private BatchStagingWriter(Connection connection, UUID importId) throws SQLException {
+			this.statement = connection.prepareStatement(INSERT_STAGING);
+			this.importId = importId;
+		}
+
+		@Override
+		public void write(int lineNo, String name, String email) throws SQLException {
+			statement.setObject(1, importId);
+			statement.setInt(2, lineNo);
+			statement.setString(3, name);
+			statement.setString(4, email);
+			statement.addBatch();
+			if (++batched == INSERT_BATCH_SIZE) {
+				statement.executeBatch();
+				batched = 0;
+			}
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				if (batched > 0)
+					statement.executeBatch();
+			} finally {
+				statement.close();
+			}
+		}
+	}
+}
@@ -6,6 +6,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.BadRequestException;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @UtilityClass
 public class Pagenator {
@@ -23,4 +29,27 @@ public class Pagenator {
 		return PageRequest.of(from > 0 ? from / size : 0, size);
 	}
 
+	//идентификаторы мульти-запроса: без повторов, в порядке запроса
+	public static List<Integer> getIdPage(List<Integer> ids) {
+		if (ids.size() > RequestLimits.MAX_BATCH_SIZE)
+			throw new BadRequestException("Too many ids requested: [" + ids.size() + "], max is [" + RequestLimits.MAX_BATCH_SIZE + "].");
+		return ids.stream()
+				.distinct()
+				.toList();
+	}
+
+	//страница идентификаторов выбирается в SQL, связи догружаются только для неё;
+	//пагинация вместе с EntityGraph по коллекции выполняется Hibernate в памяти
+	public static <T> List<T> fetchByIdPage(List<Integer> pageIds,
+											Function<Collection<Integer>, List<T>> fetcher,
+											Function<T, Integer> idGetter) {
+		if (pageIds.isEmpty())
+			return List.of();
+		Map<Integer, Integer> positions = new HashMap<>();
+		for (int i = 0; i < pageIds.size(); i++)
+			positions.put(pageIds.get(i), i);
+		return fetcher.apply(pageIds).stream()
+				.sorted(Comparator.comparing(entity -> positions.get(idGetter.apply(entity))))
+				.toList();
+	}
 }
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.util;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class SeekCursor {
+	public static final LocalDateTime FIRST_PAGE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+	public static final SeekCursor FIRST_PAGE = new SeekCursor(FIRST_PAGE_TIME, Integer.MAX_VALUE);
+	private static final String SEPARATOR = ",";
+
+	LocalDateTime time;
+	int id;
+
+	public String encode() {
+		String cursor = time + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static SeekCursor decode(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(SEPARATOR);
+			if (parts.length != 2)
+				throw new BadRequestException("Illegal pagination cursor [" + cursor + "].");
+			return new SeekCursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]));
+		} catch (IllegalArgumentException | DateTimeParseException exception) {
+			throw new BadRequestException("Illegal pagination cursor [" + cursor + "].");
+		}
+	}
+}
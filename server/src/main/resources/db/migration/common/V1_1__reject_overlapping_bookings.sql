@@ -0,0 +1,19 @@
+-- до ограничения excl_booking_item_period (V2_1 для PostgreSQL) пересечения броней не проверялись.
+-- Из пересекающихся активных броней вещи остаётся приоритетная: одобренная, затем более ранняя,
+-- затем с меньшим id; остальные отклоняются, иначе ограничение не создастся
+UPDATE bookings b
+SET booking_status_id = 3
+WHERE b.booking_status_id IN (1, 2)
+  AND EXISTS (
+    SELECT 1
+    FROM bookings p
+    WHERE p.item_id = b.item_id
+      AND p.booking_id <> b.booking_id
+      AND p.booking_status_id IN (1, 2)
+      AND p.booking_start < b.booking_end
+      AND b.booking_start < p.booking_end
+      AND (p.booking_status_id > b.booking_status_id
+          OR p.booking_status_id = b.booking_status_id
+              AND (p.booking_start < b.booking_start
+                  OR p.booking_start = b.booking_start AND p.booking_id < b.booking_id))
+  );
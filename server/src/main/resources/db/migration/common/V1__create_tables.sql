@@ -1,10 +1,3 @@
-DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS booking_statuses CASCADE;
-DROP TABLE IF EXISTS bookings;
-DROP TABLE IF EXISTS comments;
-DROP TABLE IF EXISTS requests;
-
 CREATE TABLE users (
     user_id int GENERATED BY DEFAULT AS IDENTITY,
     user_name varchar(200) NOT NULL,
@@ -84,4 +77,4 @@ CREATE TABLE comments (
         REFERENCES items(item_id) ON DELETE CASCADE,
     CONSTRAINT fkey_comment_user FOREIGN KEY(user_id)
         REFERENCES users(user_id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
@@ -0,0 +1,27 @@
+-- таблицы и индексы, появившиеся после исходной схемы; V1 совпадает с ней, чтобы существующие базы
+-- принимались за версию 1 и получали всё остальное миграциями
+CREATE INDEX idx_bookings_item_period ON bookings (item_id, booking_start, booking_end);
+
+CREATE INDEX idx_requests_created ON requests (created DESC, request_id DESC);
+
+CREATE TABLE item_popularity (
+    item_id int NOT NULL,
+    popularity_rank real NOT NULL,
+
+    CONSTRAINT pkey_item_popularity PRIMARY KEY(item_id)
+);
+
+CREATE TABLE request_matches (
+    match_id int GENERATED BY DEFAULT AS IDENTITY,
+    request_id int NOT NULL,
+    item_id int NOT NULL,
+    score real NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+
+    CONSTRAINT pkey_request_match PRIMARY KEY(match_id),
+    CONSTRAINT uq_request_match UNIQUE(request_id, item_id),
+    CONSTRAINT fkey_request_match_request FOREIGN KEY(request_id)
+        REFERENCES requests(request_id) ON DELETE CASCADE,
+    CONSTRAINT fkey_request_match_item FOREIGN KEY(item_id)
+        REFERENCES items(item_id) ON DELETE CASCADE
+);
@@ -0,0 +1,18 @@
+-- списки бронирований пользователя сортируются по началу и id, в том числе при переходе по курсору
+CREATE INDEX idx_bookings_user_start ON bookings (user_id, booking_start DESC, booking_id DESC);
+
+CREATE INDEX idx_bookings_user_status_start ON bookings (user_id, booking_status_id, booking_start DESC);
+
+-- последнее и следующее бронирование вещи, проверка занятости при поиске свободных вещей
+CREATE INDEX idx_bookings_item_status_start ON bookings (item_id, booking_status_id, booking_start);
+
+-- бронирования владельца выбираются через его вещи
+CREATE INDEX idx_items_owner ON items (user_id, item_id);
+
+CREATE INDEX idx_items_request ON items (request_id);
+
+CREATE INDEX idx_comments_item ON comments (item_id, created);
+
+CREATE INDEX idx_requests_user_created ON requests (user_id, created DESC);
+
+CREATE INDEX idx_request_matches_item ON request_matches (item_id);
@@ -0,0 +1,7 @@
+-- идентификаторы выдаются приложением блоками по 50 (pooled-оптимизатор Hibernate), это включает пакетные вставки
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE request_matches_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,10 @@
+-- промежуточная таблица массового импорта пользователей; строки разных импортов разделяет import_id
+CREATE TABLE user_import (
+    import_id uuid NOT NULL,
+    line_no int NOT NULL,
+    user_name varchar(200) NOT NULL,
+    email varchar(200) NOT NULL,
+    duplicate boolean DEFAULT FALSE NOT NULL
+);
+
+CREATE INDEX idx_user_import_import ON user_import (import_id, line_no);
@@ -0,0 +1,4 @@
+-- время последнего изменения вещи: по нему снимок поискового индекса догоняет базу
+ALTER TABLE items ADD COLUMN modified TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+CREATE INDEX idx_items_modified ON items (modified);
@@ -0,0 +1,24 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT excl_booking_item_period EXCLUDE USING gist (
+        item_id WITH =,
+        tsrange(booking_start, booking_end) WITH &&
+    ) WHERE (booking_status_id IN (1, 2));
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', item_name), 'A') || setweight(to_tsvector('russian', description), 'B')
+    ) STORED;
+
+CREATE INDEX idx_items_search_vector ON items USING gin (search_vector) WHERE available;
+
+CREATE INDEX idx_items_search_trgm ON items USING gin (lower(item_name || ' ' || description) gin_trgm_ops)
+    WHERE available;
+
+ALTER TABLE requests
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (to_tsvector('russian', description)) STORED;
+
+CREATE INDEX idx_requests_search_vector ON requests USING gin (search_vector);
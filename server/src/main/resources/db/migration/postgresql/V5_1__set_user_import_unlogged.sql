@@ -0,0 +1,2 @@
+-- строки живут только внутри транзакции импорта, журналировать их незачем
+ALTER TABLE user_import SET UNLOGGED;
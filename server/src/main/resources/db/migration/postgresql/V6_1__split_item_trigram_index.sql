@@ -0,0 +1,6 @@
+-- по склейке названия и описания подстрока находилась на стыке полей, поэтому каждое поле ищется отдельно
+DROP INDEX IF EXISTS idx_items_search_trgm;
+
+CREATE INDEX idx_items_name_trgm ON items USING gin (lower(item_name) gin_trgm_ops) WHERE available;
+
+CREATE INDEX idx_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops) WHERE available;
@@ -9,10 +9,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MissingRequestHeaderException;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.model.dto.BookingDto;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.booking.BookingUnsupportedStatus;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,6 +28,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +44,11 @@ class BookingControllerTest {
 	private final BookingDto dtoFrom = BookingDto.builder()
 			.id(999)
 			.build();
+	private final SeekCursor cursor = new SeekCursor(LocalDateTime.parse("2024-01-01T10:10:10"), 5);
+	private final BookingDto cursorDto = BookingDto.builder()
+			.id(4)
+			.start(LocalDateTime.parse("2024-01-01T10:10:10"))
+			.build();
 
 	@MockBean
 	private BookingService bookingService;
@@ -67,6 +78,9 @@ class BookingControllerTest {
 
 		when(bookingService.getOwnerBookings(eq(1), eq(State.ALL), any()))
 				.thenReturn(List.of(dtoFrom));
+
+		when(bookingService.getUserBookings(eq(1), eq(State.ALL), eq(cursor), eq(1)))
+				.thenReturn(List.of(cursorDto));
 	}
 
 	@Test
@@ -81,6 +95,56 @@ class BookingControllerTest {
 				.andExpect(jsonPath("$.id", is(dtoFrom.getId())));
 	}
 
+	@Test
+	void testAddBookings() throws Exception {
+		when(bookingService.addBookings(List.of(dtoTo, dtoTo), 1))
+				.thenReturn(List.of(BookingBatchResult.created(0, dtoFrom),
+						BookingBatchResult.failed(1, "Item already booked for this period.")));
+
+		mvc.perform(post("/bookings/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.accept(MediaType.ALL_VALUE)
+						.header(HEADER_X_SHARER_USER_ID, 1)
+						.content(mapper.writeValueAsString(List.of(dtoTo, dtoTo)))
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].booking.id", is(dtoFrom.getId())))
+				.andExpect(jsonPath("$[1].index", is(1)))
+				.andExpect(jsonPath("$[1].error", is("Item already booked for this period.")));
+	}
+
+	@Test
+	void testDecideBookings() throws Exception {
+		List<BookingDecisionDto> decisions = List.of(BookingDecisionDto.builder().bookingId(2).approved(true).build());
+		when(bookingService.decideBookings(1, decisions))
+				.thenReturn(List.of(BookingDecisionResult.applied(0, 2, BookingStatus.APPROVED)));
+
+		mvc.perform(patch("/bookings/owner/decisions")
+						.contentType(MediaType.APPLICATION_JSON)
+						.accept(MediaType.ALL_VALUE)
+						.header(HEADER_X_SHARER_USER_ID, 1)
+						.content(mapper.writeValueAsString(decisions))
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].index", is(0)))
+				.andExpect(jsonPath("$[0].bookingId", is(2)))
+				.andExpect(jsonPath("$[0].status", is("APPROVED")));
+	}
+
+	@Test
+	void testGetBookingsByIds() throws Exception {
+		when(bookingService.getBookingsByIds(List.of(999, 4), 1))
+				.thenReturn(List.of(dtoFrom, cursorDto));
+
+		mvc.perform(get("/bookings?ids=999,4")
+						.accept(MediaType.ALL_VALUE)
+						.header(HEADER_X_SHARER_USER_ID, 1)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()", is(2)))
+				.andExpect(jsonPath("$[1].id", is(4)));
+	}
+
 	@Test
 	void testAddBooking_without_HEADER_X_SHARER_USER_ID() throws Exception {
 		mvc.perform(post("/bookings")
@@ -187,4 +251,26 @@ class BookingControllerTest {
 				.andExpect(status().isOk())
 				.andExpect(jsonPath("$[0].id", is(dtoFrom.getId())));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testGetBookings_after_cursor() throws Exception {
+		mvc.perform(get("/bookings?size=1&after=" + cursor.encode())
+						.accept(MediaType.ALL_VALUE)
+						.header(HEADER_X_SHARER_USER_ID, 1)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(cursorDto.getId())))
+				.andExpect(header().string("X-Next-Cursor",
+						new SeekCursor(cursorDto.getStart(), cursorDto.getId()).encode()));
+	}
+
+	@Test
+	void testGetBookings_invalid_cursor() throws Exception {
+		mvc.perform(get("/bookings?size=1&after=invalid")
+						.accept(MediaType.ALL_VALUE)
+						.header(HEADER_X_SHARER_USER_ID, 1)
+				)
+				.andExpect(status().isBadRequest())
+				.andExpect(result -> assertEquals(BadRequestException.class, result.getResolvedException().getClass()));
+	}
+}
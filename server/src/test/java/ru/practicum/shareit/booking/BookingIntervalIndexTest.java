@@ -0,0 +1,149 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+	private final LocalDateTime now = LocalDateTime.now();
+	private BookingRepository bookingRepository;
+	private BookingIntervalIndex index;
+
+	@BeforeEach
+	void setUp() {
+		bookingRepository = mock(BookingRepository.class);
+		when(bookingRepository.findAllIntervalsByStatusInAndEndAfter(any(), any()))
+				.thenReturn(List.of(
+						new BookingInterval(1, 1, now.plusDays(1), now.plusDays(2)),
+						new BookingInterval(2, 1, now.plusDays(4), now.plusDays(5))
+				));
+		index = new BookingIntervalIndex(bookingRepository);
+		index.reload();
+	}
+
+	@Test
+	void test_isFree_between_bookings() {
+		assertTrue(index.isFree(1, now.plusDays(2), now.plusDays(4)));
+	}
+
+	@Test
+	void test_isFree_overlapping_bookings() {
+		assertFalse(index.isFree(1, now.plusHours(36), now.plusDays(3)));
+		assertFalse(index.isFree(1, now.plusDays(3), now.plusHours(100)));
+		assertFalse(index.isFree(1, now, now.plusDays(10)));
+	}
+
+	@Test
+	void test_isFree_other_item() {
+		assertTrue(index.isFree(2, now.plusDays(1), now.plusDays(2)));
+	}
+
+	@Test
+	void test_isFree_with_overlapping_legacy_bookings() {
+		when(bookingRepository.findAllIntervalsByStatusInAndEndAfter(any(), any()))
+				.thenReturn(List.of(
+						new BookingInterval(1, 1, now.plusDays(1), now.plusDays(10)),
+						new BookingInterval(2, 1, now.plusDays(2), now.plusDays(3))
+				));
+		index.reload();
+		assertFalse(index.isFree(1, now.plusDays(5), now.plusDays(6)));
+		assertFalse(index.isFree(1, now.plusDays(9), now.plusDays(11)));
+		assertTrue(index.isFree(1, now.plusDays(10), now.plusDays(11)));
+	}
+
+	@Test
+	void test_removeUser() {
+		when(bookingRepository.findAllIntervalsByUserOrOwnerAndStatusInAndEndAfter(eq(7), any(), any()))
+				.thenReturn(List.of(new BookingInterval(1, 1, now.plusDays(1), now.plusDays(2))));
+		index.removeUser(7);
+		assertTrue(index.isFree(1, now.plusDays(1), now.plusDays(2)));
+		assertFalse(index.isFree(1, now.plusDays(4), now.plusDays(5)));
+	}
+
+	@Test
+	void test_tryReserve() {
+		assertTrue(index.tryReserve(new BookingInterval(3, 2, now.plusDays(1), now.plusDays(2))));
+		assertFalse(index.isFree(2, now.plusHours(30), now.plusHours(40)));
+		assertFalse(index.tryReserve(new BookingInterval(4, 1, now.plusDays(3), now.plusHours(100))));
+		assertTrue(index.tryReserve(new BookingInterval(5, 1, now.plusDays(2), now.plusDays(4))));
+	}
+
+	@Test
+	void test_tryReservePending_then_assignId() {
+		BookingInterval pending = index.tryReservePending(2, now.plusDays(1), now.plusDays(2));
+		assertTrue(pending.getBookingId() < 0);
+		assertNull(index.tryReservePending(2, now.plusHours(30), now.plusDays(3)));
+		index.assignId(pending, 7);
+		assertFalse(index.isFree(2, now.plusHours(30), now.plusDays(3)));
+		index.remove(2, 7);
+		assertTrue(index.isFree(2, now.plusHours(30), now.plusDays(3)));
+	}
+
+	@Test
+	void test_tryReserve_same_item_concurrently() throws InterruptedException {
+		int threads = 16;
+		AtomicInteger reserved = new AtomicInteger();
+		runConcurrently(threads, bookingId -> {
+			if (index.tryReserve(new BookingInterval(bookingId, 3, now.plusDays(1), now.plusDays(2))))
+				reserved.incrementAndGet();
+		});
+		assertEquals(1, reserved.get());
+	}
+
+	@Test
+	void test_tryReserve_different_items_concurrently() throws InterruptedException {
+		int threads = 16;
+		AtomicInteger reserved = new AtomicInteger();
+		runConcurrently(threads, itemId -> {
+			if (index.tryReserve(new BookingInterval(itemId, 100 + itemId, now.plusDays(1), now.plusDays(2))))
+				reserved.incrementAndGet();
+		});
+		assertEquals(threads, reserved.get());
+	}
+
+	@Test
+	void test_remove() {
+		index.remove(1, 1);
+		assertTrue(index.isFree(1, now.plusDays(1), now.plusDays(2)));
+	}
+
+	@Test
+	void test_removeItem() {
+		index.removeItem(1);
+		assertTrue(index.isFree(1, now, now.plusDays(10)));
+	}
+
+	private void runConcurrently(int threads, IntConsumer task) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int i = 0; i < threads; i++) {
+			int taskId = i;
+			executor.submit(() -> {
+				start.await();
+				task.accept(taskId);
+				return null;
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+	}
+}
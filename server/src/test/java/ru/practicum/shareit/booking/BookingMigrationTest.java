@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//брони, записанные до проверки пересечений, приводятся в порядок до создания ограничения
+class BookingMigrationTest {
+	private DriverManagerDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new DriverManagerDataSource("jdbc:h2:mem:booking_migration", "test", "test");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		createFlyway("1").migrate();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("SHUTDOWN");
+	}
+
+	@Test
+	void test_overlapping_legacy_bookings_rejected() {
+		jdbcTemplate.update("INSERT INTO users (user_id, user_name, email) VALUES (1, 'owner', 'owner@email.com'), " +
+				"(2, 'booker', 'booker@email.com')");
+		jdbcTemplate.update("INSERT INTO items (item_id, user_id, item_name, description, available) " +
+				"VALUES (1, 1, 'item', 'description', TRUE), (2, 1, 'item2', 'description', TRUE)");
+		jdbcTemplate.update("INSERT INTO bookings (booking_id, booking_status_id, item_id, user_id, " +
+				"booking_start, booking_end) VALUES " +
+				"(1, 1, 1, 2, '2030-01-01 00:00:00', '2030-01-03 00:00:00'), " +
+				"(2, 2, 1, 2, '2030-01-02 00:00:00', '2030-01-04 00:00:00'), " +
+				"(3, 1, 1, 2, '2030-01-05 00:00:00', '2030-01-06 00:00:00'), " +
+				"(4, 1, 1, 2, '2030-01-05 00:00:00', '2030-01-06 00:00:00'), " +
+				"(5, 4, 1, 2, '2030-01-01 00:00:00', '2030-01-06 00:00:00'), " +
+				"(6, 1, 2, 2, '2030-01-01 00:00:00', '2030-01-03 00:00:00')");
+
+		createFlyway(null).migrate();
+
+		assertEquals(List.of(3, 2, 1, 3, 4, 1), jdbcTemplate.queryForList(
+				"SELECT booking_status_id FROM bookings ORDER BY booking_id", Integer.class));
+	}
+
+	private Flyway createFlyway(String target) {
+		FluentConfiguration configuration = Flyway.configure()
+				.dataSource(dataSource)
+				.locations("classpath:db/migration/common");
+		if (target != null)
+			configuration.target(target);
+		return configuration.load();
+	}
+}
@@ -5,9 +5,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStateFilter;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.LastNextBooking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,9 +29,9 @@ class BookingRepositoryTest {
 
 	private Pageable pageable = PageRequest.of(0, 20);
 
-	private List<Booking> bookings;
+	private List<BookingView> bookings;
 
-	private Booking booking;
+	private BookingView booking;
 
 	@Test
 	void test_findAllByOwnerId() {
@@ -41,6 +47,32 @@ class BookingRepositoryTest {
 		assertEquals(3, booking.getId());
 	}
 
+	@Test
+	void test_findAllByUserId_view() {
+		bookings = repository.findAllByUserId(2, PageRequest.of(0, 1, Sort.by(Sort.Order.desc("start"))));
+		assertEquals(1, bookings.size());
+
+		booking = bookings.get(0);
+		assertEquals(3, booking.getId());
+		assertEquals(BookingStatus.REJECTED, booking.getStatus());
+		assertEquals(1, booking.getItemId());
+		assertEquals("1item", booking.getItemName());
+		assertEquals("description", booking.getItemDescription());
+		assertTrue(booking.getItemAvailable());
+		assertEquals(2, booking.getBookerId());
+		assertEquals("2", booking.getBookerName());
+		assertEquals("2@email.com", booking.getBookerEmail());
+	}
+
+	@Test
+	void test_findAllVisibleByIdIn() {
+		assertEquals(2, repository.findAllVisibleByIdIn(List.of(1, 3, 99), 2).size());
+		assertEquals(2, repository.findAllVisibleByIdIn(List.of(1, 3, 99), 1).size());
+
+		bookings = repository.findAllVisibleByIdIn(List.of(1, 2, 3), 3);
+		assertTrue(bookings.isEmpty());
+	}
+
 	@Test
 	void test_findAllByOwnerIdAndStartBeforeAndEndAfter() {
 		bookings = repository.findAllByOwnerIdAndStartBeforeAndEndAfter(1, getTimeNow(), getTimeNow(), pageable);
@@ -98,16 +130,74 @@ class BookingRepositoryTest {
 
 	@Test
 	void test_findWithBookerAllByItemIdAndStatusIn() {
-		bookings = repository.findWithBookerAllByItemIdAndStatusIn(1,
+		List<Booking> itemBookings = repository.findWithBookerAllByItemIdAndStatusIn(1,
 				List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
 
-		booking = bookings.get(0);
-		assertEquals(1, booking.getId());
-		assertEquals(BookingStatus.WAITING, booking.getStatus());
+		assertEquals(1, itemBookings.get(0).getId());
+		assertEquals(BookingStatus.WAITING, itemBookings.get(0).getStatus());
+
+		assertEquals(2, itemBookings.get(1).getId());
+		assertEquals(BookingStatus.APPROVED, itemBookings.get(1).getStatus());
+	}
+
+	@Test
+	void test_findAllByOwnerIdAfterCursor() {
+		BookingStateFilter filter = BookingStateFilter.of(State.ALL, getTimeNow());
+		bookings = repository.findAllByOwnerIdAfterCursor(1, filter.getStatuses(),
+				filter.getStartAfter(), filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+				SeekCursor.FIRST_PAGE.getTime(), SeekCursor.FIRST_PAGE.getId(), PageRequest.of(0, 2));
+		assertEquals(2, bookings.size());
+		assertEquals(3, bookings.get(0).getId());
+		assertEquals(2, bookings.get(1).getId());
 
 		booking = bookings.get(1);
-		assertEquals(2, booking.getId());
-		assertEquals(BookingStatus.APPROVED, booking.getStatus());
+		bookings = repository.findAllByOwnerIdAfterCursor(1, filter.getStatuses(),
+				filter.getStartAfter(), filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+				booking.getStart(), booking.getId(), PageRequest.of(0, 2));
+		assertEquals(1, bookings.size());
+		assertEquals(1, bookings.get(0).getId());
+	}
+
+	@Test
+	void test_findAllByUserIdAfterCursor_state_FUTURE() {
+		BookingStateFilter filter = BookingStateFilter.of(State.FUTURE, getTimeNow());
+		bookings = repository.findAllByUserIdAfterCursor(2, filter.getStatuses(),
+				filter.getStartAfter(), filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+				SeekCursor.FIRST_PAGE.getTime(), SeekCursor.FIRST_PAGE.getId(), pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(3, bookings.get(0).getId());
+	}
+
+	@Test
+	void test_findLastNextBookings_all_statuses() {
+		List<LastNextBooking> lastNextBookings = repository.findLastNextBookings(List.of(1, 2),
+				List.of(1, 2, 3, 4), getTimeNow());
+		assertEquals(2, lastNextBookings.size());
+
+		LastNextBooking last = findByKind(lastNextBookings, LastNextBooking.LAST);
+		assertEquals(1, last.getId());
+		assertEquals(1, last.getItemId());
+		assertEquals(2, last.getBookerId());
+		assertEquals(BookingStatus.WAITING.ordinal(), last.getStatus());
+
+		LastNextBooking next = findByKind(lastNextBookings, LastNextBooking.NEXT);
+		assertEquals(3, next.getId());
+		assertTrue(next.getStart().isAfter(getTimeNow()));
+	}
+
+	@Test
+	void test_findLastNextBookings_waiting_approved() {
+		List<LastNextBooking> lastNextBookings = repository.findLastNextBookings(List.of(1),
+				List.of(1, 2), getTimeNow());
+		assertEquals(1, lastNextBookings.size());
+		assertEquals(1, findByKind(lastNextBookings, LastNextBooking.LAST).getId());
+	}
+
+	private LastNextBooking findByKind(List<LastNextBooking> lastNextBookings, String kind) {
+		return lastNextBookings.stream()
+				.filter(lastNextBooking -> kind.equals(lastNextBooking.getKind()))
+				.findFirst()
+				.orElseThrow();
 	}
 
 	private LocalDateTime getTimeNow() {
@@ -5,8 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingDecisionTarget;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.model.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.model.dto.BookingDto;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.booking.BookingNotFoundException;
@@ -16,16 +21,26 @@ import ru.practicum.shareit.exception.user.UserNotOwnerException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.popularity.ItemPopularity;
+import ru.practicum.shareit.item.related.RelatedItemsIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.util.RequestLimits;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class BookingServiceImplTest {
@@ -40,11 +55,17 @@ class BookingServiceImplTest {
 		bookingRepository = mock(BookingRepository.class);
 		userRepository = mock(UserRepository.class);
 		itemRepository = mock(ItemRepository.class);
-		bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+		bookingService = new BookingServiceImpl(bookingRepository,
+				userRepository,
+				itemRepository,
+				new BookingIntervalIndex(bookingRepository),
+				mock(ItemSuggestIndex.class),
+				mock(ItemPopularity.class),
+				mock(RelatedItemsIndex.class));
 	}
 
 	private void setUp_addBooking() {
-		when(bookingRepository.save(any()))
+		when(bookingRepository.saveAndFlush(any()))
 				.thenReturn(createBooking(1, BookingStatus.WAITING));
 
 		when(userRepository.findById(1))
@@ -172,6 +193,27 @@ class BookingServiceImplTest {
 		assertEquals("Owner of item cannot be a booker.", exception.getMessage());
 	}
 
+	@Test
+	void test_addBooking_item_already_booked() {
+		setUp_addBooking();
+		LocalDateTime now = LocalDateTime.now();
+		BookingDto dtoToAdd = BookingDto.builder()
+				.itemId(1)
+				.start(now.plusDays(1))
+				.end(now.plusDays(3))
+				.build();
+		bookingService.addBooking(dtoToAdd, 1);
+
+		BookingDto overlappingDto = BookingDto.builder()
+				.itemId(1)
+				.start(now.plusDays(2))
+				.end(now.plusDays(4))
+				.build();
+		Exception exception = assertThrows(BadRequestException.class,
+				() -> bookingService.addBooking(overlappingDto, 1));
+		assertEquals("Item already booked for this period.", exception.getMessage());
+	}
+
 	@Test
 	void test_addBooking_item_not_available() {
 		setUp_addBooking();
@@ -185,6 +227,69 @@ class BookingServiceImplTest {
 		assertEquals("Item not available.", exception.getMessage());
 	}
 
+	private void setUp_addBookings() {
+		setUp_addBooking();
+		User owner = createUser(2, "user2", "user2@email.com");
+		when(itemRepository.findWithOwnerAllByIdIn(any()))
+				.thenReturn(List.of(createItemWithOwner(1, "item", "d", true, owner),
+						createItemWithOwner(3, "item", "d", false, owner)));
+		AtomicInteger nextId = new AtomicInteger(100);
+		when(bookingRepository.saveAll(anyList()))
+				.thenAnswer(invocation -> {
+					Iterable<Booking> bookings = invocation.getArgument(0);
+					bookings.forEach(booking -> booking.setId(nextId.incrementAndGet()));
+					return bookings;
+				});
+	}
+
+	@Test
+	void test_addBookings() {
+		setUp_addBookings();
+		LocalDateTime now = LocalDateTime.now();
+		List<BookingDto> dtos = List.of(
+				BookingDto.builder().itemId(1).start(now.plusDays(1)).end(now.plusDays(3)).build(),
+				BookingDto.builder().itemId(1).start(now.plusDays(2)).end(now.plusDays(4)).build(),
+				BookingDto.builder().itemId(2).start(now.plusDays(1)).end(now.plusDays(3)).build(),
+				BookingDto.builder().itemId(3).start(now.plusDays(1)).end(now.plusDays(3)).build(),
+				BookingDto.builder().itemId(1).start(now.plusDays(5)).end(now.plusDays(6)).build());
+
+		List<BookingBatchResult> results = bookingService.addBookings(dtos, 1);
+
+		assertEquals(5, results.size());
+		assertEquals(101, results.get(0).getBooking().getId());
+		assertEquals(BookingStatus.WAITING, results.get(0).getBooking().getStatus());
+		assertEquals("Item already booked for this period.", results.get(1).getError());
+		assertEquals("Item for booking with id [2] not exists.", results.get(2).getError());
+		assertEquals("Item not available.", results.get(3).getError());
+		assertEquals(4, results.get(4).getIndex());
+		assertEquals(102, results.get(4).getBooking().getId());
+		verify(itemRepository, times(1)).findWithOwnerAllByIdIn(any());
+		verify(bookingRepository, times(1)).saveAll(anyList());
+		verify(bookingRepository, times(1)).flush();
+	}
+
+	@Test
+	void test_addBookings_overlapping_existing_booking() {
+		setUp_addBookings();
+		LocalDateTime now = LocalDateTime.now();
+		bookingService.addBooking(BookingDto.builder().itemId(1).start(now.plusDays(1)).end(now.plusDays(3)).build(), 1);
+
+		List<BookingBatchResult> results = bookingService.addBookings(List.of(
+				BookingDto.builder().itemId(1).start(now.plusDays(2)).end(now.plusDays(4)).build()), 1);
+
+		assertEquals("Item already booked for this period.", results.get(0).getError());
+		verify(bookingRepository, never()).saveAll(anyList());
+	}
+
+	@Test
+	void test_addBookings_too_many() {
+		List<BookingDto> dtos = Collections.nCopies(RequestLimits.MAX_BATCH_SIZE + 1,
+				BookingDto.builder().itemId(1).build());
+		Exception exception = assertThrows(BadRequestException.class,
+				() -> bookingService.addBookings(dtos, 1));
+		assertEquals("Too many bookings in batch, max is [100].", exception.getMessage());
+	}
+
 	private void setUpFor_approveBooking() {
 		Booking booking = createBooking(1, BookingStatus.WAITING);
 		booking.setUser(createUser(1, " ", " "));
@@ -203,9 +308,9 @@ class BookingServiceImplTest {
 		when(bookingRepository.findWithRequesterAndItemAndOwnerOfItemById(3))
 				.thenReturn(Optional.of(apprevedBooking));
 
-		when(bookingRepository.save(createBooking(1, BookingStatus.APPROVED)))
+		when(bookingRepository.saveAndFlush(createBooking(1, BookingStatus.APPROVED)))
 				.thenReturn(createBooking(1, BookingStatus.APPROVED));
-		when(bookingRepository.save(createBooking(1, BookingStatus.REJECTED)))
+		when(bookingRepository.saveAndFlush(createBooking(1, BookingStatus.REJECTED)))
 				.thenReturn(createBooking(1, BookingStatus.REJECTED));
 	}
 
@@ -253,6 +358,109 @@ class BookingServiceImplTest {
 		assertEquals("Owner cannot change status after approval.", exception.getMessage());
 	}
 
+	private BookingDecisionTarget createDecisionTarget(int bookingId, int ownerId, BookingStatus status) {
+		LocalDateTime now = LocalDateTime.now();
+		return new BookingDecisionTarget(bookingId, bookingId, ownerId, 1, status, now.plusDays(1), now.plusDays(2));
+	}
+
+	@Test
+	void test_decideBookings() {
+		when(bookingRepository.findDecisionTargetsByIdIn(any()))
+				.thenReturn(List.of(createDecisionTarget(1, 2, BookingStatus.WAITING),
+						createDecisionTarget(2, 3, BookingStatus.WAITING),
+						createDecisionTarget(3, 2, BookingStatus.APPROVED),
+						createDecisionTarget(4, 2, BookingStatus.WAITING)));
+		when(bookingRepository.updateStatusByIdInAndStatusNot(any(), any(), eq(BookingStatus.APPROVED)))
+				.thenReturn(1);
+		when(bookingRepository.updateStatusByIdInAndStatus(any(), eq(BookingStatus.APPROVED), any()))
+				.thenReturn(1);
+
+		List<BookingDecisionResult> results = bookingService.decideBookings(2, List.of(
+				BookingDecisionDto.builder().bookingId(1).approved(true).build(),
+				BookingDecisionDto.builder().bookingId(2).approved(true).build(),
+				BookingDecisionDto.builder().bookingId(3).approved(false).build(),
+				BookingDecisionDto.builder().bookingId(4).approved(false).build(),
+				BookingDecisionDto.builder().bookingId(5).approved(true).build(),
+				BookingDecisionDto.builder().approved(true).build(),
+				BookingDecisionDto.builder().bookingId(1).approved(false).build()));
+
+		assertEquals(7, results.size());
+		assertEquals(BookingDecisionResult.applied(0, 1, BookingStatus.APPROVED), results.get(0));
+		assertEquals(BookingDecisionResult.failed(1, 2, "User with id [2] not owner of Item."), results.get(1));
+		assertEquals(BookingDecisionResult.failed(2, 3, "Owner cannot change status after approval."), results.get(2));
+		assertEquals(BookingDecisionResult.applied(3, 4, BookingStatus.REJECTED), results.get(3));
+		assertEquals(BookingDecisionResult.failed(4, 5, "Booking with id [5] not exists."), results.get(4));
+		assertEquals(BookingDecisionResult.failed(5, null, "Booking id and decision are required."), results.get(5));
+		assertEquals(BookingDecisionResult.failed(6, 1, "Booking with id [1] repeated in batch."), results.get(6));
+		verify(bookingRepository, times(1)).findDecisionTargetsByIdIn(any());
+		verify(bookingRepository).updateStatusByIdInAndStatus(List.of(1), BookingStatus.APPROVED, BookingStatus.WAITING);
+		verify(bookingRepository).updateStatusByIdInAndStatusNot(List.of(4), BookingStatus.REJECTED, BookingStatus.APPROVED);
+	}
+
+	@Test
+	void test_decideBookings_approved_meanwhile() {
+		when(bookingRepository.findDecisionTargetsByIdIn(any()))
+				.thenReturn(List.of(createDecisionTarget(1, 2, BookingStatus.WAITING)),
+						List.of(createDecisionTarget(1, 2, BookingStatus.APPROVED)));
+		when(bookingRepository.updateStatusByIdInAndStatusNot(any(), any(), any()))
+				.thenReturn(0);
+
+		List<BookingDecisionResult> results = bookingService.decideBookings(2, List.of(
+				BookingDecisionDto.builder().bookingId(1).approved(false).build()));
+
+		assertEquals(BookingDecisionResult.failed(0, 1, "Owner cannot change status after approval."), results.get(0));
+	}
+
+	@Test
+	void test_decideBookings_rejected_meanwhile() {
+		when(bookingRepository.findDecisionTargetsByIdIn(any()))
+				.thenReturn(List.of(createDecisionTarget(1, 2, BookingStatus.WAITING)),
+						List.of(createDecisionTarget(1, 2, BookingStatus.REJECTED)));
+		when(bookingRepository.updateStatusByIdInAndStatus(any(), any(), any()))
+				.thenReturn(0);
+
+		List<BookingDecisionResult> results = bookingService.decideBookings(2, List.of(
+				BookingDecisionDto.builder().bookingId(1).approved(true).build()));
+
+		assertEquals(BookingDecisionResult.failed(0, 1, "Booking status changed concurrently."), results.get(0));
+	}
+
+	@Test
+	void test_decideBookings_too_many() {
+		List<BookingDecisionDto> decisions = Collections.nCopies(RequestLimits.MAX_BATCH_SIZE + 1,
+				BookingDecisionDto.builder().bookingId(1).approved(true).build());
+		Exception exception = assertThrows(BadRequestException.class,
+				() -> bookingService.decideBookings(2, decisions));
+		assertEquals("Too many decisions in batch, max is [100].", exception.getMessage());
+	}
+
+	@Test
+	void test_getBookingsByIds() {
+		when(userRepository.findById(1))
+				.thenReturn(Optional.of(createUser(1, "user", "user@email.com")));
+		LocalDateTime now = LocalDateTime.now();
+		when(bookingRepository.findAllVisibleByIdIn(List.of(2, 1, 5), 1))
+				.thenReturn(List.of(
+						new BookingView(1, now, now.plusDays(1), BookingStatus.WAITING, 1, "item", "d", true,
+								1, "user", "user@email.com"),
+						new BookingView(2, now, now.plusDays(2), BookingStatus.APPROVED, 1, "item", "d", true,
+								1, "user", "user@email.com")));
+
+		List<BookingDto> bookings = bookingService.getBookingsByIds(List.of(2, 1, 5), 1);
+
+		assertEquals(2, bookings.size());
+		assertEquals(2, bookings.get(0).getId());
+		assertEquals(BookingStatus.APPROVED, bookings.get(0).getStatus());
+		assertEquals(1, bookings.get(1).getId());
+	}
+
+	@Test
+	void test_getBookingsByIds_user_not_found() {
+		Exception exception = assertThrows(UserNotFoundException.class,
+				() -> bookingService.getBookingsByIds(List.of(1), 99));
+		assertEquals("User with id [99] not exists.", exception.getMessage());
+	}
+
 	private void setUp_getBooking() {
 		Booking booking = createBooking(1, BookingStatus.WAITING);
 		booking.setUser(createUser(1, " ", " "));
@@ -419,6 +627,33 @@ class BookingServiceImplTest {
 		verify(bookingRepository).findAllByOwnerId(any(), any());
 	}
 
+	@Test
+	void test_getUserBookings_after_cursor() {
+		setUp_test_getUserBookings();
+		SeekCursor after = new SeekCursor(LocalDateTime.now(), 5);
+		bookingService.getUserBookings(1, State.WAITING, after, 10);
+		verify(userRepository).findById(1);
+		verify(bookingRepository).findAllByUserIdAfterCursor(eq(1), eq(List.of(BookingStatus.WAITING)),
+				any(), any(), any(), any(), eq(after.getTime()), eq(5), eq(PageRequest.of(0, 10)));
+	}
+
+	@Test
+	void test_getOwnerBookings_after_cursor() {
+		setUp_getOwnerBookings();
+		SeekCursor after = new SeekCursor(LocalDateTime.now(), 5);
+		bookingService.getOwnerBookings(1, State.ALL, after, 10);
+		verify(userRepository).findById(1);
+		verify(bookingRepository).findAllByOwnerIdAfterCursor(eq(1), any(),
+				any(), any(), any(), any(), eq(after.getTime()), eq(5), eq(PageRequest.of(0, 10)));
+	}
+
+	@Test
+	void test_getOwnerBookings_after_cursor_user_not_found() {
+		Exception exception = assertThrows(UserNotFoundException.class,
+				() -> bookingService.getOwnerBookings(999, State.ALL, SeekCursor.FIRST_PAGE, 10));
+		assertEquals("User with id [999] not exists.", exception.getMessage());
+	}
+
 	private Booking createBooking(int id, BookingStatus status) {
 		Booking booking = new Booking();
 		booking.setId(id);
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+	private static final String LAG_QUERY = "SELECT lag_seconds FROM replica_lag";
+
+	private DriverManagerDataSource primary;
+	private DriverManagerDataSource replica;
+	private ReplicaLagMonitor lagMonitor;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		primary = createNode("primary");
+		replica = createNode("replica");
+		lagMonitor = new ReplicaLagMonitor(Map.of("replica-0", replica), LAG_QUERY, Duration.ofSeconds(5),
+				Duration.ofSeconds(2));
+		lagMonitor.check();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primary, lagMonitor, Duration.ofMinutes(1)));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		RoutingContext.clear();
+		lagMonitor.close();
+		new JdbcTemplate(primary).execute("SHUTDOWN");
+		new JdbcTemplate(replica).execute("SHUTDOWN");
+	}
+
+	@Test
+	void test_read_only_goes_to_replica() {
+		assertEquals("replica", readOnly.execute(status -> nodeName()));
+		assertEquals("primary", readWrite.execute(status -> nodeName()));
+		assertEquals("primary", nodeName());
+	}
+
+	@Test
+	void test_lagging_replica_falls_back_to_primary() {
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET lag_seconds = 30");
+		lagMonitor.check();
+		assertEquals(List.of(), lagMonitor.getHealthyKeys());
+		assertEquals("primary", readOnly.execute(status -> nodeName()));
+
+		new JdbcTemplate(replica).update("UPDATE replica_lag SET lag_seconds = 1");
+		lagMonitor.check();
+		assertEquals("replica", readOnly.execute(status -> nodeName()));
+	}
+
+	@Test
+	void test_unreachable_replica_falls_back_to_primary() {
+		new JdbcTemplate(replica).execute("DROP TABLE replica_lag");
+		lagMonitor.check();
+		assertEquals("primary", readOnly.execute(status -> nodeName()));
+	}
+
+	@Test
+	void test_writer_reads_own_writes_from_primary() {
+		RoutingContext.setUserId(1);
+		readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET updates = updates + 1"));
+		assertEquals("primary", readOnly.execute(status -> nodeName()));
+
+		RoutingContext.setUserId(2);
+		assertEquals("replica", readOnly.execute(status -> nodeName()));
+	}
+
+	@Test
+	void test_rolled_back_writer_not_sticky() {
+		RoutingContext.setUserId(1);
+		readWrite.executeWithoutResult(status -> {
+			jdbcTemplate.update("UPDATE node SET updates = updates + 1");
+			status.setRollbackOnly();
+		});
+		assertEquals("replica", readOnly.execute(status -> nodeName()));
+	}
+
+	@Test
+	void test_writer_sticks_only_for_window() {
+		DataSource dataSource = new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primary, lagMonitor, Duration.ZERO));
+		JdbcTemplate template = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		TransactionTemplate write = new TransactionTemplate(transactionManager);
+		TransactionTemplate read = new TransactionTemplate(transactionManager);
+		read.setReadOnly(true);
+
+		RoutingContext.setUserId(1);
+		write.executeWithoutResult(status -> template.update("UPDATE node SET updates = updates + 1"));
+		assertEquals("replica", read.execute(status -> template.queryForObject("SELECT name FROM node", String.class)));
+	}
+
+	private String nodeName() {
+		return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private DriverManagerDataSource createNode(String name) {
+		DriverManagerDataSource node = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+				"test", "test");
+		JdbcTemplate template = new JdbcTemplate(node);
+		template.execute("CREATE TABLE node (name varchar(20) NOT NULL, updates int NOT NULL)");
+		template.update("INSERT INTO node VALUES (?, 0)", name);
+		template.execute("CREATE TABLE replica_lag (lag_seconds double precision NOT NULL)");
+		template.update("INSERT INTO replica_lag VALUES (0)");
+		return node;
+	}
+}
@@ -14,6 +14,7 @@ import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.model.dto.ItemBookingsCommentsDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemSuggestionDto;
 
 import java.util.List;
 
@@ -148,6 +149,19 @@ class ItemControllerTest {
 				.andExpect(jsonPath("$[0].id", is(itemDto.getId())));
 	}
 
+	@Test
+	void test_getItemsByIds() throws Exception {
+		when(itemService.getItemsByIds(List.of(2, 1), 1))
+				.thenReturn(List.of(ItemDto.builder().id(2).build(), ItemDto.builder().id(1).build()));
+		mvc.perform(
+						get("/items?ids=2,1")
+								.header(HEADER_X_SHARER_USER_ID, 1)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(2)))
+				.andExpect(jsonPath("$[1].id", is(1)));
+	}
+
 	@Test
 	void test_getAllItems_negative_from() throws Exception {
 		mvc.perform(
@@ -238,7 +252,7 @@ class ItemControllerTest {
 
 	@Test
 	void test_searchByText() throws Exception {
-		when(itemService.searchByText(eq("qwerty"), any()))
+		when(itemService.searchByText(eq("qwerty"), eq(false), isNull(), isNull(), any()))
 				.thenReturn(List.of(itemDto));
 		mvc.perform(
 						get("/items/search?text=qwerty")
@@ -248,6 +262,36 @@ class ItemControllerTest {
 				.andExpect(jsonPath("$[0].id", is(itemDto.getId())));
 	}
 
+	@Test
+	void test_suggest() throws Exception {
+		when(itemService.suggest("дре", 10))
+				.thenReturn(List.of(ItemSuggestionDto.builder()
+						.id(1)
+						.name("Дрель")
+						.build()));
+		mvc.perform(
+						get("/items/suggest")
+								.param("prefix", "дре")
+								.accept(MediaType.ALL_VALUE)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(1)))
+				.andExpect(jsonPath("$[0].name", is("Дрель")));
+	}
+
+	@Test
+	void test_getRelatedItems() throws Exception {
+		when(itemService.getRelatedItems(1, 5))
+				.thenReturn(List.of(itemDto));
+		mvc.perform(
+						get("/items/1/related")
+								.param("size", "5")
+								.accept(MediaType.ALL_VALUE)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(itemDto.getId())));
+	}
+
 	@Test
 	void test_addComment() throws Exception {
 		when(itemService.addComment(anyInt(), anyInt(), any()))
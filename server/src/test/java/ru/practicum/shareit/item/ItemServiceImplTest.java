@@ -1,11 +1,16 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.LastNextBooking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.exception.item.ItemNotFoundException;
@@ -14,14 +19,27 @@ import ru.practicum.shareit.exception.user.UserNotOwnerException;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.hot.HotItemCache;
+import ru.practicum.shareit.item.hot.HotItemTracker;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSuggestion;
 import ru.practicum.shareit.item.model.dto.ItemBookingsCommentsDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.popularity.ItemPopularity;
+import ru.practicum.shareit.item.related.RelatedItemsIndex;
+import ru.practicum.shareit.item.search.DatabaseItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.item.search.ItemVocabulary;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +54,10 @@ class ItemServiceImplTest {
 	private BookingRepository bookingRepository;
 	private CommentRepository commentRepository;
 	private ItemRequestRepository requestRepository;
+	private ItemSearchEngine searchEngine;
+	private ItemSuggestIndex suggestIndex;
+	private ItemVocabulary vocabulary;
+	private RelatedItemsIndex relatedIndex;
 	private ItemServiceImpl service;
 	private ItemDto itemDtoTo;
 	private ItemDto itemDtoFrom;
@@ -47,11 +69,26 @@ class ItemServiceImplTest {
 		bookingRepository = mock(BookingRepository.class);
 		commentRepository = mock(CommentRepository.class);
 		requestRepository = mock(ItemRequestRepository.class);
+		searchEngine = mock(ItemSearchEngine.class);
+		suggestIndex = mock(ItemSuggestIndex.class);
+		vocabulary = mock(ItemVocabulary.class);
+		relatedIndex = mock(RelatedItemsIndex.class);
 		service = new ItemServiceImpl(userRepository,
 				itemRepository,
 				bookingRepository,
 				commentRepository,
-				requestRepository);
+				requestRepository,
+				mock(BookingIntervalIndex.class),
+				searchEngine,
+				suggestIndex,
+				vocabulary,
+				new ItemSearchCache(1024 * 1024, new SimpleMeterRegistry(),
+						new DatabaseItemSearch(mock(ItemRepository.class), false)),
+				new HotItemTracker(16, 2),
+				new HotItemCache(16, Duration.ofMinutes(5), new SimpleMeterRegistry()),
+				mock(ItemPopularity.class),
+				relatedIndex,
+				mock(RequestMatcher.class));
 	}
 
 	@Test
@@ -71,6 +108,7 @@ class ItemServiceImplTest {
 		itemDtoFrom = service.addItem(itemDtoTo, 1);
 		assertEquals(1, itemDtoFrom.getId());
 		assertNull(itemDtoFrom.getRequestId());
+		verify(searchEngine).index(any(Item.class));
 	}
 
 	@Test
@@ -135,6 +173,7 @@ class ItemServiceImplTest {
 				.build();
 		itemDtoFrom = service.updateItem(itemDtoTo, 1);
 		assertEquals(1, itemDtoFrom.getId());
+		verify(searchEngine).index(any(Item.class));
 	}
 
 	@Test
@@ -171,18 +210,15 @@ class ItemServiceImplTest {
 		when(userRepository.findById(anyInt()))
 				.thenReturn(Optional.of(createUser(1)));
 
-		when(itemRepository.findWithBookingsWithOwnerByOwnerId(anyInt(), any()))
-				.thenReturn(
-						List.of(
-								createItemWithBookings(1, List.of(
-										createCurrentBookingWithUser(1, createUser(2)),
-										createCurrentBookingWithUser(2, createUser(3))
-								)),
-								createItemWithBookings(2, List.of(
-										createCurrentBookingWithUser(3, createUser(2))
-								))
-						)
-				);
+		when(itemRepository.findAllByOwnerId(anyInt(), any()))
+				.thenReturn(List.of(createItem(1), createItem(2)));
+
+		when(bookingRepository.findLastNextBookings(eq(List.of(1, 2)), any(), any()))
+				.thenReturn(List.of(
+						createLastNextBooking(1, 1, LastNextBooking.LAST),
+						createLastNextBooking(2, 1, LastNextBooking.NEXT),
+						createLastNextBooking(3, 2, LastNextBooking.NEXT)
+				));
 
 		when(commentRepository.findWithItemWithCommenterAllByItemIdIn(any()))
 				.thenReturn(
@@ -194,7 +230,11 @@ class ItemServiceImplTest {
 
 		List<ItemBookingsCommentsDto> items = service.getAllItemsByUserId(1, pageable);
 		assertEquals(1, items.get(0).getId());
+		assertEquals(1, items.get(0).getLastBooking().getId());
+		assertEquals(2, items.get(0).getNextBooking().getId());
 		assertEquals(2, items.get(1).getId());
+		assertNull(items.get(1).getLastBooking());
+		assertEquals(3, items.get(1).getNextBooking().getId());
 	}
 
 	@Test
@@ -234,10 +274,10 @@ class ItemServiceImplTest {
 				.thenReturn(Optional.of(createUser(1)));
 		when(itemRepository.findWithOwnerById(anyInt()))
 				.thenReturn(Optional.of(createItemWithOwner(1, createUser(1))));
-		when(bookingRepository.findWithBookerAllByItemIdAndStatusIn(anyInt(), any()))
+		when(bookingRepository.findLastNextBookings(eq(List.of(1)), any(), any()))
 				.thenReturn(List.of(
-						createLastBookingWithUser(1, createUser(3)),
-						createNextBookingWithUser(2, createUser(4))
+						createLastNextBooking(1, 1, LastNextBooking.LAST),
+						createLastNextBooking(2, 1, LastNextBooking.NEXT)
 				));
 		ItemBookingsCommentsDto item = service.getItemById(1, 1);
 		assertEquals(1, item.getId());
@@ -251,10 +291,10 @@ class ItemServiceImplTest {
 				.thenReturn(Optional.of(createUser(2)));
 		when(itemRepository.findWithOwnerById(anyInt()))
 				.thenReturn(Optional.of(createItemWithOwner(1, createUser(1))));
-		when(bookingRepository.findWithBookerAllByItemIdAndStatusIn(anyInt(), any()))
+		when(bookingRepository.findLastNextBookings(eq(List.of(1)), any(), any()))
 				.thenReturn(List.of(
-						createLastBookingWithUser(1, createUser(3)),
-						createNextBookingWithUser(2, createUser(4))
+						createLastNextBooking(1, 1, LastNextBooking.LAST),
+						createLastNextBooking(2, 1, LastNextBooking.NEXT)
 				));
 		ItemBookingsCommentsDto item = service.getItemById(1, 2);
 		assertEquals(1, item.getId());
@@ -262,6 +302,25 @@ class ItemServiceImplTest {
 		assertNull(item.getNextBooking());
 	}
 
+	@Test
+	void test_getItemById_hot_item_pinned_for_not_owners() {
+		when(userRepository.findById(anyInt()))
+				.thenReturn(Optional.of(createUser(2)));
+		when(itemRepository.findWithOwnerById(anyInt()))
+				.thenReturn(Optional.of(createItemWithOwner(1, createUser(1))));
+		service.getItemById(1, 2);
+		service.getItemById(1, 2);
+		ItemBookingsCommentsDto item = service.getItemById(1, 3);
+		assertEquals(1, item.getId());
+		verify(itemRepository, times(2)).findWithOwnerById(1);
+		verify(commentRepository, times(2)).findWithCommenterAllByItemId(1);
+
+		when(userRepository.findById(anyInt()))
+				.thenReturn(Optional.of(createUser(1)));
+		service.getItemById(1, 1);
+		verify(itemRepository, times(3)).findWithOwnerById(1);
+	}
+
 	@Test
 	void test_getItemById_user_not_exists() {
 		Exception exception = assertThrows(UserNotFoundException.class,
@@ -310,22 +369,114 @@ class ItemServiceImplTest {
 
 	@Test
 	void test_searchByText() {
-		when(itemRepository.findItemByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIs(
-				anyString(),
-				anyString(),
-				eq(true),
-				any())
-		).thenReturn(List.of(createItem(1), createItem(2)));
-		List<ItemDto> items = service.searchByText("text", pageable);
+		when(searchEngine.search("text", pageable))
+				.thenReturn(List.of(createItem(1), createItem(2)));
+		List<ItemDto> items = service.searchByText(" text ", false, null, null, pageable);
 		assertEquals(2, items.size());
 	}
 
+	@Test
+	void test_searchByText_cached() {
+		when(searchEngine.search("text", pageable))
+				.thenReturn(List.of(createItem(1)));
+		service.searchByText("text", false, null, null, pageable);
+		List<ItemDto> items = service.searchByText(" Text", false, null, null, pageable);
+		assertEquals(1, items.size());
+		verify(searchEngine, times(1)).search(any(), any());
+	}
+
+	@Test
+	void test_searchByText_fuzzy() {
+		when(vocabulary.correct("drel"))
+				.thenReturn("дрель");
+		when(searchEngine.search("дрель", pageable))
+				.thenReturn(List.of(createItem(1)));
+		List<ItemDto> items = service.searchByText("drel", true, null, null, pageable);
+		assertEquals(1, items.size());
+	}
+
+	@Test
+	void test_searchByText_free_window() {
+		LocalDateTime freeFrom = LocalDateTime.now().plusDays(1);
+		LocalDateTime freeTo = freeFrom.plusDays(2);
+		when(searchEngine.searchFree("text", freeFrom, freeTo, pageable))
+				.thenReturn(List.of(createItem(1)));
+		List<ItemDto> items = service.searchByText("text", false, freeFrom, freeTo, pageable);
+		assertEquals(1, items.size());
+		verify(searchEngine, never()).search(any(), any());
+	}
+
+	@Test
+	void test_searchByText_free_window_started_in_past() {
+		LocalDateTime freeFrom = LocalDateTime.now().minusDays(1);
+		LocalDateTime freeTo = freeFrom.plusDays(3);
+		ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+		when(searchEngine.searchFree(eq("text"), captor.capture(), eq(freeTo), eq(pageable)))
+				.thenReturn(List.of(createItem(1)));
+		LocalDateTime before = LocalDateTime.now();
+		List<ItemDto> items = service.searchByText("text", false, freeFrom, freeTo, pageable);
+		assertEquals(1, items.size());
+		assertFalse(captor.getValue().isBefore(before));
+	}
+
+	@Test
+	void test_searchByText_illegal_window() {
+		LocalDateTime freeFrom = LocalDateTime.now().plusDays(1);
+		assertThrows(BadRequestException.class,
+				() -> service.searchByText("text", false, freeFrom, null, pageable));
+		assertThrows(BadRequestException.class,
+				() -> service.searchByText("text", false, freeFrom, freeFrom, pageable));
+		assertThrows(BadRequestException.class,
+				() -> service.searchByText("text", false, freeFrom.minusDays(3), freeFrom.minusDays(2), pageable));
+	}
+
 	@Test
 	void test_searchByText_text_is_blank() {
-		List<ItemDto> items = service.searchByText(" ", pageable);
+		List<ItemDto> items = service.searchByText(" ", false, null, null, pageable);
 		assertEquals(0, items.size());
 	}
 
+	@Test
+	void test_suggest() {
+		when(suggestIndex.suggest("дре", 5))
+				.thenReturn(List.of(new ItemSuggestion(1, "Дрель")));
+		List<ItemSuggestionDto> suggestions = service.suggest("дре", 5);
+		assertEquals(1, suggestions.size());
+		assertEquals(1, suggestions.get(0).getId());
+		assertEquals("Дрель", suggestions.get(0).getName());
+	}
+
+	@Test
+	void test_suggest_illegal_size() {
+		Exception exception = assertThrows(BadRequestException.class,
+				() -> service.suggest("дре", 11));
+		assertEquals("Illegal argument for suggestions: size [11].", exception.getMessage());
+	}
+
+	@Test
+	void test_getRelatedItems() {
+		when(itemRepository.existsById(1))
+				.thenReturn(true);
+		when(relatedIndex.getRelated(1, RelatedItemsIndex.MAX_RELATED))
+				.thenReturn(new int[]{3, 2, 4});
+		Item unavailableItem = createItem(2);
+		unavailableItem.setAvailable(false);
+		when(itemRepository.findAllById(List.of(3, 2, 4)))
+				.thenReturn(List.of(unavailableItem, createItem(4), createItem(3)));
+		List<ItemDto> items = service.getRelatedItems(1, 10);
+		assertEquals(List.of(3, 4), items.stream().map(ItemDto::getId).toList());
+		assertEquals(1, service.getRelatedItems(1, 1).size());
+	}
+
+	@Test
+	void test_getRelatedItems_item_not_exists() {
+		Exception exception = assertThrows(ItemNotFoundException.class,
+				() -> service.getRelatedItems(1, 10));
+		assertEquals("Item not found. Item with id [1] not exists.", exception.getMessage());
+		assertThrows(BadRequestException.class,
+				() -> service.getRelatedItems(1, 21));
+	}
+
 	@Test
 	void test_addComment() {
 		when(userRepository.findById(anyInt()))
@@ -437,6 +588,26 @@ class ItemServiceImplTest {
 		assertEquals("Commenter not renter of item.", exception.getMessage());
 	}
 
+	@Test
+	void test_getItemsByIds() {
+		when(userRepository.findById(1))
+				.thenReturn(Optional.of(createUser(1)));
+		when(itemRepository.findAllViewsByIdIn(List.of(3, 1, 2)))
+				.thenReturn(List.of(createItem(1), createItem(3)));
+		List<ItemDto> items = service.getItemsByIds(List.of(3, 1, 3, 2), 1);
+		assertEquals(2, items.size());
+		assertEquals(3, items.get(0).getId());
+		assertEquals(1, items.get(1).getId());
+	}
+
+	@Test
+	void test_getItemsByIds_user_not_found() {
+		when(userRepository.findById(anyInt()))
+				.thenReturn(Optional.empty());
+		assertThrows(UserNotFoundException.class, () -> service.getItemsByIds(List.of(1), 99));
+		verify(itemRepository, never()).findAllViewsByIdIn(any());
+	}
+
 	private User createUser(Integer id) {
 		User user = new User();
 		user.setId(id);
@@ -481,32 +652,43 @@ class ItemServiceImplTest {
 		return booking;
 	}
 
-	private Booking createLastBookingWithUser(Integer id, User user) {
-		Booking booking = new Booking();
-		booking.setId(id);
-		booking.setUser(user);
-		booking.setStart(LocalDateTime.now().minusHours(2));
-		booking.setEnd(LocalDateTime.now().minusHours(1));
-		return booking;
-	}
-
-	private Booking createNextBookingWithUser(Integer id, User user) {
-		Booking booking = new Booking();
-		booking.setId(id);
-		booking.setUser(user);
-		booking.setStart(LocalDateTime.now().plusHours(1));
-		booking.setEnd(LocalDateTime.now().plusHours(2));
-		return booking;
-	}
-
-	private Item createItemWithBookings(int id, List<Booking> bookings) {
-		Item item = new Item();
-		item.setId(id);
-		item.setName("name");
-		item.setDescription("description");
-		item.setAvailable(true);
-		item.setBookings(bookings);
-		return item;
+	private LastNextBooking createLastNextBooking(int id, int itemId, String kind) {
+		return new LastNextBooking() {
+			@Override
+			public Integer getId() {
+				return id;
+			}
+
+			@Override
+			public Integer getItemId() {
+				return itemId;
+			}
+
+			@Override
+			public Integer getBookerId() {
+				return 3;
+			}
+
+			@Override
+			public LocalDateTime getStart() {
+				return LocalDateTime.now();
+			}
+
+			@Override
+			public LocalDateTime getEnd() {
+				return LocalDateTime.now();
+			}
+
+			@Override
+			public Integer getStatus() {
+				return BookingStatus.APPROVED.ordinal();
+			}
+
+			@Override
+			public String getKind() {
+				return kind;
+			}
+		};
 	}
 
 	private Comment createComment(Integer id, Item item, User user) {
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.hot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.dto.ItemBookingsCommentsDto;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HotItemCacheTest {
+	private HotItemCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new HotItemCache(16, Duration.ofMinutes(5), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void test_pinned_view_not_for_owner() {
+		cache.pin(1, 10, createView(1), cache.getVersion());
+		assertEquals(1, cache.get(1, 20).getId());
+		assertNull(cache.get(1, 10));
+		assertNull(cache.get(2, 20));
+	}
+
+	@Test
+	void test_invalidate() {
+		cache.pin(1, 10, createView(1), cache.getVersion());
+		cache.pin(2, 10, createView(2), cache.getVersion());
+		cache.invalidate(1);
+		assertNull(cache.get(1, 20));
+		assertEquals(2, cache.get(2, 20).getId());
+		cache.invalidateAll();
+		assertNull(cache.get(2, 20));
+	}
+
+	@Test
+	void test_stale_view_not_pinned() {
+		long version = cache.getVersion();
+		cache.invalidate(1);
+		cache.pin(1, 10, createView(1), version);
+		assertNull(cache.get(1, 20));
+	}
+
+	private ItemBookingsCommentsDto createView(int id) {
+		return ItemBookingsCommentsDto.builder()
+				.id(id)
+				.name("name")
+				.description("description")
+				.available(true)
+				.build();
+	}
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.hot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotItemTrackerTest {
+
+	@Test
+	void test_top_of_heavy_hitters() {
+		HotItemTracker tracker = new HotItemTracker(2, 10);
+		for (int i = 0; i < 30; i++) {
+			tracker.record(1);
+			if (i % 2 == 0)
+				tracker.record(2);
+			tracker.record(100 + i);
+		}
+		assertEquals(List.of(new HotItem(1, 30), new HotItem(2, 15)), tracker.getTop());
+		assertTrue(tracker.isHot(1));
+		assertTrue(tracker.isHot(2));
+		assertFalse(tracker.isHot(100));
+	}
+
+	@Test
+	void test_not_hot_below_min_hits() {
+		HotItemTracker tracker = new HotItemTracker(2, 10);
+		for (int i = 0; i < 9; i++)
+			tracker.record(1);
+		assertFalse(tracker.isHot(1));
+		tracker.record(1);
+		assertTrue(tracker.isHot(1));
+	}
+
+	@Test
+	void test_concurrent_views_not_lost() throws InterruptedException {
+		HotItemTracker tracker = new HotItemTracker(2, 10);
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 1000; i++)
+					tracker.record(1);
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertEquals(List.of(new HotItem(1, 4000)), tracker.getTop());
+	}
+
+	@Test
+	void test_sketch_never_underestimates() {
+		CountMinSketch sketch = new CountMinSketch(64, 4);
+		for (int value = 0; value < 1000; value++) {
+			for (int i = 0; i < value % 5; i++)
+				sketch.add(value);
+		}
+		for (int value = 0; value < 1000; value++)
+			assertTrue(sketch.estimate(value) >= value % 5);
+		sketch.halve();
+		assertTrue(sketch.estimate(4) >= 2);
+	}
+}
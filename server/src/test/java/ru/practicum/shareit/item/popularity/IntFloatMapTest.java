@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.popularity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntFloatMapTest {
+
+	@Test
+	void test_put_get_remove() {
+		IntFloatMap map = new IntFloatMap(2);
+		map.put(1, 1.5f);
+		map.put(2, 2.5f);
+		map.put(1, 3.5f);
+		assertEquals(2, map.size());
+		assertEquals(3.5f, map.get(1, 0f));
+		assertEquals(-1f, map.get(3, -1f));
+		map.remove(1);
+		map.remove(3);
+		assertEquals(1, map.size());
+		assertEquals(-1f, map.get(1, -1f));
+	}
+
+	@Test
+	void test_same_as_hash_map_after_random_operations() {
+		IntFloatMap map = new IntFloatMap(4);
+		Map<Integer, Float> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			int key = random.nextInt(500);
+			if (random.nextInt(3) == 0) {
+				map.remove(key);
+				expected.remove(key);
+			} else {
+				map.put(key, i);
+				expected.put(key, (float) i);
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		Map<Integer, Float> actual = new HashMap<>();
+		map.forEach(actual::put);
+		assertEquals(expected, actual);
+	}
+}
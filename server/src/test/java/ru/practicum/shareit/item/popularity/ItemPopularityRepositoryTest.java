@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.popularity;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class ItemPopularityRepositoryTest {
+	@Autowired
+	private ItemPopularityRepository repository;
+
+	@Test
+	void test_upsertAll() {
+		repository.upsertAll(List.of(new ItemPopularityRank(1, 1f), new ItemPopularityRank(2, 2f)));
+		repository.upsertAll(List.of(new ItemPopularityRank(2, 5f), new ItemPopularityRank(3, 3f)));
+
+		assertEquals(3, repository.count());
+		assertEquals(1f, repository.findById(1).orElseThrow().getPopularityRank());
+		assertEquals(5f, repository.findById(2).orElseThrow().getPopularityRank());
+		assertEquals(3f, repository.findById(3).orElseThrow().getPopularityRank());
+	}
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.popularity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ItemPopularityTest {
+	private ItemPopularityRepository popularityRepository;
+	private ItemPopularity popularity;
+
+	@BeforeEach
+	void setUp() {
+		popularityRepository = mock(ItemPopularityRepository.class);
+		popularity = new ItemPopularity(popularityRepository, Duration.ofDays(7));
+	}
+
+	@Test
+	void test_score_decays_by_half_life() {
+		LocalDateTime now = LocalDateTime.now();
+		popularity.recordBooking(1);
+		popularity.recordApproval(1);
+		assertEquals(3, popularity.getScore(1, now), 0.01);
+		assertEquals(1.5, popularity.getScore(1, now.plusDays(7)), 0.01);
+		assertEquals(0, popularity.getScore(2, now));
+	}
+
+	@Test
+	void test_recent_events_outrank_old() {
+		double oldDecay = popularity.getDecay(LocalDateTime.now().minusDays(21));
+		double newDecay = popularity.getDecay(LocalDateTime.now());
+		float oldRank = ItemPopularity.NO_RANK;
+		for (int i = 0; i < 7; i++)
+			oldRank = ItemPopularity.addToRank(oldRank, 1, oldDecay);
+		float newRank = ItemPopularity.addToRank(ItemPopularity.NO_RANK, 1, newDecay);
+		assertTrue(newRank > oldRank);
+		assertTrue(ItemPopularity.addToRank(oldRank, 1, oldDecay) > oldRank);
+	}
+
+	@Test
+	void test_load_and_checkpoint_changed() {
+		when(popularityRepository.findAll())
+				.thenReturn(List.of(new ItemPopularityRank(1, 5f)));
+		popularity.load();
+		assertEquals(5f, popularity.getRank(1));
+
+		popularity.recordComment(2);
+		popularity.remove(3);
+		popularity.checkpoint();
+		assertEquals(List.of(2), getSavedIds());
+		verify(popularityRepository).deleteAllByIdInBatch(List.of(3));
+		verify(popularityRepository).deleteAllOfDeletedItems();
+
+		popularity.checkpoint();
+		assertEquals(List.of(), getSavedIds());
+		verify(popularityRepository, times(1)).deleteAllOfDeletedItems();
+	}
+
+	@Test
+	void test_checkpoint_retried_after_failure() {
+		popularity.recordBooking(1);
+		doThrow(new IllegalStateException("database is down"))
+				.doNothing()
+				.when(popularityRepository).upsertAll(anyList());
+		popularity.checkpoint();
+		popularity.checkpoint();
+		ArgumentCaptor<List<ItemPopularityRank>> captor = ArgumentCaptor.captor();
+		verify(popularityRepository, times(2)).upsertAll(captor.capture());
+		assertEquals(1, captor.getAllValues().get(1).get(0).getItemId());
+		assertEquals(popularity.getRank(1), captor.getAllValues().get(1).get(0).getPopularityRank());
+	}
+
+	private List<Integer> getSavedIds() {
+		ArgumentCaptor<List<ItemPopularityRank>> captor = ArgumentCaptor.captor();
+		verify(popularityRepository, atLeastOnce()).upsertAll(captor.capture());
+		return captor.getValue().stream()
+				.map(ItemPopularityRank::getItemId)
+				.toList();
+	}
+}
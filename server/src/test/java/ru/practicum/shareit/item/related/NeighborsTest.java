@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.related;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NeighborsTest {
+
+	@Test
+	void test_of_keeps_top_by_count_then_id() {
+		IntIntMap counts = new IntIntMap();
+		counts.increment(5, 1);
+		counts.increment(3, 4);
+		counts.increment(7, 4);
+		counts.increment(1, 2);
+		counts.increment(9, 1);
+		Neighbors neighbors = Neighbors.of(counts, 3);
+		assertArrayEquals(new int[]{3, 7, 1}, neighbors.top(10));
+		assertEquals(4, neighbors.getCount(7));
+	}
+
+	@Test
+	void test_increment_evicts_last_and_inherits_its_count() {
+		Neighbors neighbors = new Neighbors(2);
+		neighbors.increment(1);
+		neighbors.increment(1);
+		neighbors.increment(2);
+		neighbors.increment(3);
+		assertArrayEquals(new int[]{1, 3}, neighbors.top(2));
+		assertEquals(2, neighbors.getCount(3));
+		neighbors.increment(3);
+		assertArrayEquals(new int[]{3, 1}, neighbors.top(2));
+		neighbors.remove(3);
+		assertArrayEquals(new int[]{1}, neighbors.top(2));
+	}
+
+	@Test
+	void test_addAll_sums_counts() {
+		Neighbors first = new Neighbors(2);
+		first.increment(1);
+		first.increment(1);
+		first.increment(1);
+		first.increment(2);
+		Neighbors second = new Neighbors(2);
+		second.increment(2);
+		second.increment(2);
+		second.increment(2);
+		second.increment(4);
+		first.addAll(second);
+		assertArrayEquals(new int[]{2, 4}, first.top(2));
+		assertEquals(4, first.getCount(2));
+		assertEquals(4, first.getCount(4));
+	}
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.related;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.UserItemPair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelatedItemsIndexTest {
+	private BookingRepository bookingRepository;
+	private RelatedItemsIndex index;
+
+	@BeforeEach
+	void setUp() {
+		bookingRepository = mock(BookingRepository.class);
+		when(bookingRepository.findAllUserItemPairsByStatus(BookingStatus.APPROVED))
+				.thenReturn(List.of(
+						new UserItemPair(1, 1), new UserItemPair(1, 2), new UserItemPair(1, 3),
+						new UserItemPair(2, 1), new UserItemPair(2, 3),
+						new UserItemPair(3, 1), new UserItemPair(3, 3), new UserItemPair(3, 4),
+						new UserItemPair(4, 5)
+				));
+		index = new RelatedItemsIndex(bookingRepository);
+		index.rebuild();
+	}
+
+	@Test
+	void test_rebuild() {
+		assertArrayEquals(new int[]{3, 2, 4}, index.getRelated(1, 10));
+		assertArrayEquals(new int[]{3}, index.getRelated(1, 1));
+		assertArrayEquals(new int[]{1, 2, 4}, index.getRelated(3, 10));
+		assertArrayEquals(new int[0], index.getRelated(5, 10));
+		assertArrayEquals(new int[0], index.getRelated(6, 10));
+	}
+
+	@Test
+	void test_rebuild_in_parallel_same_as_sequential() {
+		List<UserItemPair> pairs = new ArrayList<>();
+		for (int userId = 0; userId < 5000; userId++) {
+			pairs.add(new UserItemPair(userId, 1));
+			pairs.add(new UserItemPair(userId, 2 + userId % 3));
+		}
+		when(bookingRepository.findAllUserItemPairsByStatus(BookingStatus.APPROVED))
+				.thenReturn(pairs);
+		index.rebuild();
+		assertArrayEquals(new int[]{2, 3, 4}, index.getRelated(1, 10));
+		assertArrayEquals(new int[]{1}, index.getRelated(2, 10));
+	}
+
+	@Test
+	void test_addApprovedBooking() {
+		index.addApprovedBooking(4, 1);
+		index.addApprovedBooking(4, 1);
+		assertArrayEquals(new int[]{1}, index.getRelated(5, 10));
+		assertArrayEquals(new int[]{3, 2, 4, 5}, index.getRelated(1, 10));
+
+		index.addApprovedBooking(1, 4);
+		index.addApprovedBooking(2, 4);
+		assertArrayEquals(new int[]{3, 4, 2, 5}, index.getRelated(1, 10));
+	}
+
+	@Test
+	void test_addApprovedBooking_during_rebuild_replayed() {
+		List<UserItemPair> pairs = List.of(new UserItemPair(1, 1), new UserItemPair(1, 2));
+		when(bookingRepository.findAllUserItemPairsByStatus(BookingStatus.APPROVED))
+				.thenAnswer(invocation -> {
+					index.addApprovedBooking(1, 6);
+					return pairs;
+				});
+		index.rebuild();
+		assertArrayEquals(new int[]{2, 6}, index.getRelated(1, 10));
+		assertArrayEquals(new int[]{1, 2}, index.getRelated(6, 10));
+	}
+
+	@Test
+	void test_removeItem() {
+		index.removeItem(3);
+		assertArrayEquals(new int[]{2, 4}, index.getRelated(1, 10));
+		assertArrayEquals(new int[0], index.getRelated(3, 10));
+	}
+
+	@Test
+	void test_removeItem_not_back_after_approval() {
+		index.removeItem(3);
+		index.addApprovedBooking(2, 6);
+		assertArrayEquals(new int[]{1}, index.getRelated(6, 10));
+		assertArrayEquals(new int[0], index.getRelated(3, 10));
+	}
+}
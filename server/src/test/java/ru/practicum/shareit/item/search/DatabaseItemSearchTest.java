@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.ItemView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(DatabaseItemSearch.class)
+@Sql("/test_item_search_schema.sql")
+class DatabaseItemSearchTest {
+	@Autowired
+	private DatabaseItemSearch itemSearch;
+
+	private final Pageable pageable = PageRequest.of(0, 20);
+
+	@Test
+	void test_search_only_available() {
+		assertEquals(List.of(3), getIds(itemSearch.search("дРеЛь", pageable)));
+	}
+
+	@Test
+	void test_search_name_matches_first_then_popular() {
+		assertEquals(List.of(6, 2, 1), getIds(itemSearch.search("отвертк", pageable)));
+	}
+
+	@Test
+	void test_search_escapes_pattern() {
+		assertEquals(List.of(5), getIds(itemSearch.search("100%", pageable)));
+		assertEquals(List.of(), getIds(itemSearch.search("_", pageable)));
+	}
+
+	@Test
+	void test_searchFree() {
+		LocalDateTime freeFrom = LocalDateTime.of(2030, 1, 10, 12, 0);
+		LocalDateTime freeTo = LocalDateTime.of(2030, 1, 20, 12, 0);
+		assertEquals(List.of(), getIds(itemSearch.searchFree("дрель", freeFrom, freeTo, pageable)));
+		assertEquals(List.of(6, 2, 1), getIds(itemSearch.searchFree("отвертк", freeFrom, freeTo, pageable)));
+		assertEquals(List.of(3), getIds(itemSearch.searchFree("дрель", freeTo.plusMonths(1),
+				freeTo.plusMonths(2), pageable)));
+	}
+
+	@Test
+	void test_toContainsPattern() {
+		assertEquals("%a\\%b\\_c\\\\%", DatabaseItemSearch.toContainsPattern("A%b_c\\"));
+	}
+
+	private List<Integer> getIds(List<ItemView> items) {
+		return items.stream()
+				.map(ItemView::getId)
+				.toList();
+	}
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class InMemoryItemSearchEngineTest {
+	private static final IntPredicate ALL = itemId -> true;
+
+	@TempDir
+	private Path indexDir;
+
+	private ItemRepository itemRepository;
+
+	private BookingIntervalIndex bookingIndex;
+
+	private InMemoryItemSearchEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		itemRepository = mock(ItemRepository.class);
+		when(itemRepository.findAll(any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(
+						createItem(1, "Дрель", "Простая дрель", true),
+						createItem(2, "Отвертка", "Аккумуляторная отвертка", true),
+						createItem(3, "Дрель ударная", "Мощная", false),
+						createItem(4, "Набор", "Отвертка и дрель", true)
+				)));
+		bookingIndex = mock(BookingIntervalIndex.class);
+		engine = new InMemoryItemSearchEngine(itemRepository, bookingIndex, indexDir.toString());
+		engine.load();
+	}
+
+	@Test
+	void test_searchIds_ranked_and_available_only() {
+		assertEquals(List.of(1, 4), engine.searchIds("дрели", ALL, 0, 20));
+	}
+
+	@Test
+	void test_searchIds_all_terms_required() {
+		assertEquals(List.of(4), engine.searchIds("Отвертки, дрель", ALL, 0, 20));
+		assertEquals(List.of(), engine.searchIds("дрель молоток", ALL, 0, 20));
+	}
+
+	@Test
+	void test_searchIds_page() {
+		assertEquals(List.of(4), engine.searchIds("дрель", ALL, 1, 1));
+		assertEquals(List.of(), engine.searchIds("дрель", ALL, 2, 1));
+	}
+
+	@Test
+	void test_searchFree() {
+		LocalDateTime freeFrom = LocalDateTime.now().plusDays(1);
+		LocalDateTime freeTo = freeFrom.plusDays(1);
+		when(bookingIndex.isFree(anyInt(), eq(freeFrom), eq(freeTo)))
+				.thenReturn(true);
+		when(bookingIndex.isFree(1, freeFrom, freeTo))
+				.thenReturn(false);
+		when(itemRepository.findAllViewsByIdIn(List.of(4)))
+				.thenReturn(List.of(createItem(4, "Набор", "Отвертка и дрель", true)));
+		List<ItemView> items = engine.searchFree("дрель", freeFrom, freeTo, PageRequest.of(0, 1));
+		assertEquals(1, items.size());
+		assertEquals(4, items.get(0).getId());
+	}
+
+	@Test
+	void test_index_updates_item() {
+		engine.index(createItem(3, "Дрель ударная", "Мощная", true));
+		engine.index(createItem(1, "Молоток", "Простой", true));
+		assertEquals(List.of(3, 4), engine.searchIds("дрель", ALL, 0, 20));
+		assertEquals(List.of(1), engine.searchIds("молоток", ALL, 0, 20));
+	}
+
+	@Test
+	void test_remove() {
+		engine.remove(1);
+		assertEquals(List.of(4), engine.searchIds("дрель", ALL, 0, 20));
+	}
+
+	@Test
+	void test_sparse_ids_after_remove() {
+		engine.index(createItem(2_000_000_000, "Дрель", "Сетевая дрель", true));
+		engine.remove(1);
+		engine.remove(2);
+		assertEquals(List.of(2_000_000_000, 4), engine.searchIds("дрель", ALL, 0, 20));
+		assertEquals(List.of(4), engine.searchIds("отвертка", ALL, 0, 20));
+		engine.index(createItem(3, "Дрель ударная", "Мощная", true));
+		assertEquals(List.of(2_000_000_000, 3, 4), engine.searchIds("дрель", ALL, 0, 20));
+	}
+
+	@Test
+	void test_search_removes_deleted_items() {
+		when(itemRepository.findAllViewsByIdIn(List.of(1, 4)))
+				.thenReturn(List.of(createItem(4, "Набор", "Отвертка и дрель", true)));
+		List<ItemView> items = engine.search("дрель", PageRequest.of(0, 20));
+		assertEquals(1, items.size());
+		assertEquals(List.of(4), engine.searchIds("дрель", ALL, 0, 20));
+	}
+
+	@Test
+	void test_snapshot_loaded_without_full_rebuild() {
+		engine.index(createItem(5, "Пила", "Ножовка", true));
+		engine.save();
+		Path snapshot = indexDir.resolve("items.seg");
+		assertTrue(Files.exists(snapshot));
+		when(itemRepository.findAllByIdGreaterThanOrModifiedAfter(eq(5), any(), any(Pageable.class)))
+				.thenReturn(Page.empty());
+		when(itemRepository.count())
+				.thenReturn(5L);
+
+		InMemoryItemSearchEngine loaded = new InMemoryItemSearchEngine(itemRepository, bookingIndex, indexDir.toString());
+		loaded.load();
+		verify(itemRepository, times(1)).findAll(any(Pageable.class));
+		verify(itemRepository, never()).findAllIds();
+		assertFalse(Files.exists(snapshot));
+		assertEquals(List.of(1, 4), loaded.searchIds("дрель", ALL, 0, 20));
+		assertEquals(List.of(5), loaded.searchIds("пила", ALL, 0, 20));
+	}
+
+	@Test
+	void test_snapshot_caught_up_with_database() {
+		engine.save();
+		//пока узел стоял, вещь 1 изменили, вещь 2 удалили, а вещь 5 добавили
+		when(itemRepository.findAllByIdGreaterThanOrModifiedAfter(eq(4), any(), any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(
+						createItem(1, "Молоток", "Простой", true),
+						createItem(5, "Пила", "Ножовка", true)
+				)));
+		when(itemRepository.count())
+				.thenReturn(4L);
+		when(itemRepository.findAllIds())
+				.thenReturn(List.of(1, 3, 4, 5));
+
+		InMemoryItemSearchEngine loaded = new InMemoryItemSearchEngine(itemRepository, bookingIndex, indexDir.toString());
+		loaded.load();
+		verify(itemRepository, times(1)).findAll(any(Pageable.class));
+		assertEquals(List.of(4), loaded.searchIds("дрель", ALL, 0, 20));
+		assertEquals(List.of(4), loaded.searchIds("отвертка", ALL, 0, 20));
+		assertEquals(List.of(1), loaded.searchIds("молоток", ALL, 0, 20));
+		assertEquals(List.of(5), loaded.searchIds("пила", ALL, 0, 20));
+	}
+
+	@Test
+	void test_broken_snapshot_rebuilt_from_database() throws Exception {
+		Files.write(indexDir.resolve("items.seg"), new byte[]{1, 2, 3});
+		InMemoryItemSearchEngine loaded = new InMemoryItemSearchEngine(itemRepository, bookingIndex, indexDir.toString());
+		loaded.load();
+		verify(itemRepository, times(2)).findAll(any(Pageable.class));
+		assertEquals(List.of(1, 4), loaded.searchIds("дрель", ALL, 0, 20));
+	}
+
+	private Item createItem(int id, String name, String description, boolean available) {
+		Item item = new Item();
+		item.setId(id);
+		item.setName(name);
+		item.setDescription(description);
+		item.setAvailable(available);
+		return item;
+	}
+}
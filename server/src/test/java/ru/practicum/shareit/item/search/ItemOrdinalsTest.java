@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemOrdinalsTest {
+
+	@Test
+	void test_put_get_remove() {
+		ItemOrdinals ordinals = new ItemOrdinals(2);
+		ordinals.put(1_000_000, 0);
+		ordinals.put(7, 1);
+		ordinals.put(1_000_000, 2);
+		assertEquals(2, ordinals.size());
+		assertEquals(2, ordinals.get(1_000_000));
+		assertEquals(ItemOrdinals.MISSING, ordinals.get(3));
+		ordinals.remove(1_000_000);
+		ordinals.remove(3);
+		assertEquals(1, ordinals.size());
+		assertEquals(ItemOrdinals.MISSING, ordinals.get(1_000_000));
+		assertEquals(1, ordinals.get(7));
+	}
+
+	@Test
+	void test_same_as_hash_map_after_random_operations() {
+		ItemOrdinals ordinals = new ItemOrdinals(4);
+		Map<Integer, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			int itemId = random.nextInt(500);
+			if (random.nextInt(3) == 0) {
+				ordinals.remove(itemId);
+				expected.remove(itemId);
+			} else {
+				ordinals.put(itemId, i);
+				expected.put(itemId, i);
+			}
+		}
+		assertEquals(expected.size(), ordinals.size());
+		for (int itemId = 0; itemId < 500; itemId++)
+			assertEquals(expected.getOrDefault(itemId, ItemOrdinals.MISSING), ordinals.get(itemId));
+	}
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ItemSearchCacheTest {
+	private final Pageable pageable = PageRequest.of(0, 20);
+	private MeterRegistry meterRegistry;
+	private ItemSearchCache cache;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new ItemSearchCache(1024 * 1024, meterRegistry,
+				new DatabaseItemSearch(mock(ItemRepository.class), false));
+		loads = new AtomicInteger();
+	}
+
+	@Test
+	void test_get_hit_by_normalized_query() {
+		cache.get("Дрель", pageable, loader(createItem(1, "Дрель", "Ударная")));
+		List<ItemDto> items = cache.get(" дрель ", pageable, loader(createItem(1, "Дрель", "Ударная")));
+		assertEquals(1, items.size());
+		assertEquals(1, loads.get());
+		cache.get("дрель", PageRequest.of(1, 20), loader());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void test_get_keyed_by_engine_normalization() {
+		cache.get("ёлка", pageable, loader());
+		cache.get("елка", pageable, loader());
+		cache.get("ёлка  игрушка", pageable, loader());
+		cache.get("ёлка игрушка", pageable, loader());
+		assertEquals(4, loads.get());
+	}
+
+	@Test
+	void test_invalidate_entry_with_item() {
+		Item item = createItem(1, "Дрель", "Ударная");
+		cache.get("дрель", pageable, loader(item));
+		item.setName("Отвёртка");
+		item.setAvailable(false);
+		cache.invalidate(item);
+		cache.get("дрель", pageable, loader());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void test_invalidate_only_matching_entries() {
+		cache.get("дрели", pageable, loader());
+		cache.get("пила", pageable, loader(createItem(2, "Пила", "Ручная")));
+		cache.invalidate(createItem(3, "Дрель", "Аккумуляторная"));
+		cache.get("пила", pageable, loader());
+		assertEquals(2, loads.get());
+		cache.get("дрели", pageable, loader());
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void test_invalidate_all() {
+		cache.get("пила", pageable, loader());
+		cache.invalidateAll();
+		cache.get("пила", pageable, loader());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void test_could_match() {
+		String itemText = ItemTextAnalyzer.normalize("Дрель ударная Bosch, 800-Вт");
+		assertTrue(ItemSearchCache.couldMatch("дрел", itemText));
+		assertTrue(ItemSearchCache.couldMatch("ударные дрели", itemText));
+		assertTrue(ItemSearchCache.couldMatch("ль уда", itemText));
+		assertTrue(ItemSearchCache.couldMatch("osc", itemText));
+		assertTrue(ItemSearchCache.couldMatch("h, 800-", itemText));
+		assertTrue(ItemSearchCache.couldMatch(",", itemText));
+		assertFalse(ItemSearchCache.couldMatch("пила", itemText));
+		assertFalse(ItemSearchCache.couldMatch("дрель пила", itemText));
+		assertFalse(ItemSearchCache.couldMatch("%", itemText));
+	}
+
+	@Test
+	void test_invalidate_infix_match() {
+		cache.get("осч", pageable, loader());
+		cache.invalidate(createItem(3, "Точильный брусок", "Для ножей и ножниц, сталь/керамика"));
+		cache.get("осч", pageable, loader());
+		assertEquals(1, loads.get());
+		cache.get("ль/кер", pageable, loader());
+		cache.invalidate(createItem(4, "Точильный брусок", "Для ножей и ножниц, сталь/керамика"));
+		cache.get("ль/кер", pageable, loader());
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void test_metrics() {
+		cache.get("пила", pageable, loader());
+		cache.get("пила", pageable, loader());
+		assertEquals(1.0, meterRegistry.get("cache.gets")
+				.tags("cache", ItemSearchCache.CACHE_NAME, "result", "hit")
+				.functionCounter()
+				.count());
+		assertEquals(1.0, meterRegistry.get("cache.gets")
+				.tags("cache", ItemSearchCache.CACHE_NAME, "result", "miss")
+				.functionCounter()
+				.count());
+	}
+
+	private Supplier<List<ItemDto>> loader(Item... items) {
+		return () -> {
+			loads.incrementAndGet();
+			return List.of(items).stream()
+					.map(ItemDto::toDto)
+					.toList();
+		};
+	}
+
+	private Item createItem(int id, String name, String description) {
+		Item item = new Item();
+		item.setId(id);
+		item.setName(name);
+		item.setDescription(description);
+		item.setAvailable(true);
+		return item;
+	}
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSuggestion;
+import ru.practicum.shareit.item.popularity.ItemPopularity;
+import ru.practicum.shareit.item.popularity.ItemPopularityRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSuggestIndexTest {
+	private ItemSuggestIndex index;
+	private ItemPopularity popularity;
+
+	@BeforeEach
+	void setUp() {
+		ItemRepository itemRepository = mock(ItemRepository.class);
+		when(itemRepository.findAllAvailableSuggestions())
+				.thenReturn(List.of(
+						new ItemSuggestion(1, "Дрель"),
+						new ItemSuggestion(2, "Дрель ударная"),
+						new ItemSuggestion(3, "Набор для дрели"),
+						new ItemSuggestion(4, "Ёлка")
+				));
+		popularity = new ItemPopularity(mock(ItemPopularityRepository.class), Duration.ofDays(7));
+		recordBookings(1, 1);
+		recordBookings(2, 5);
+		recordBookings(3, 2);
+		index = new ItemSuggestIndex(itemRepository, popularity);
+		index.reload();
+	}
+
+	@Test
+	void test_suggest_by_popularity() {
+		assertEquals(List.of(2, 3, 1), getIds(index.suggest("ДР", 10)));
+		assertEquals(List.of(2, 1), getIds(index.suggest("дрель", 10)));
+		assertEquals(List.of(2), getIds(index.suggest("дре", 1)));
+	}
+
+	@Test
+	void test_suggest_by_any_word_and_normalized() {
+		assertEquals(List.of(2), getIds(index.suggest("удар", 10)));
+		assertEquals(List.of(4), getIds(index.suggest("елк", 10)));
+		assertEquals(List.of(), getIds(index.suggest("молоток", 10)));
+	}
+
+	@Test
+	void test_put_and_remove() {
+		index.put(createItem(5, "Дрель-шуруповерт", true));
+		assertEquals(List.of(2, 3, 1, 5), getIds(index.suggest("др", 10)));
+
+		index.put(createItem(2, "Перфоратор", true));
+		assertEquals(List.of(3, 1, 5), getIds(index.suggest("др", 10)));
+		assertEquals(List.of(2), getIds(index.suggest("перф", 10)));
+
+		index.put(createItem(1, "Дрель", false));
+		index.remove(3);
+		assertEquals(List.of(5), getIds(index.suggest("др", 10)));
+	}
+
+	@Test
+	void test_refreshPopularity() {
+		recordBookings(1, 5);
+		index.refreshPopularity(1);
+		assertEquals(List.of(1, 2, 3), getIds(index.suggest("др", 10)));
+	}
+
+	private void recordBookings(int itemId, int count) {
+		for (int i = 0; i < count; i++)
+			popularity.recordBooking(itemId);
+	}
+
+	private List<Integer> getIds(List<ItemSuggestion> suggestions) {
+		return suggestions.stream()
+				.map(ItemSuggestion::getId)
+				.toList();
+	}
+
+	private Item createItem(int id, String name, boolean available) {
+		Item item = new Item();
+		item.setId(id);
+		item.setName(name);
+		item.setAvailable(available);
+		return item;
+	}
+}
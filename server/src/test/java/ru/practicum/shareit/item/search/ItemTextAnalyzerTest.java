@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemTextAnalyzerTest {
+
+	@Test
+	void test_analyze() {
+		assertEquals(List.of("дрел", "аккумуляторн", "2", "ежик"),
+				ItemTextAnalyzer.analyze("Дрель аккумуляторная, 2 ёжика!"));
+	}
+
+	@Test
+	void test_analyze_same_stem_for_word_forms() {
+		assertEquals(ItemTextAnalyzer.analyze("отвертка"), ItemTextAnalyzer.analyze("ОТВЕРТКИ"));
+		assertEquals(ItemTextAnalyzer.analyze("drill"), ItemTextAnalyzer.analyze("Drills"));
+		assertEquals(ItemTextAnalyzer.analyze("drill"), ItemTextAnalyzer.analyze("drilling"));
+	}
+
+	@Test
+	void test_stem_keeps_short_words() {
+		assertEquals("кот", ItemTextAnalyzer.stem("кот"));
+		assertEquals("glass", ItemTextAnalyzer.stem("glass"));
+	}
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemVocabularyTest {
+	private ItemRepository itemRepository;
+
+	private ItemVocabulary vocabulary;
+
+	@BeforeEach
+	void setUp() {
+		itemRepository = mock(ItemRepository.class);
+		when(itemRepository.findAllTexts(any(Pageable.class)))
+				.thenReturn(List.of(
+						"Дрель Простая дрель",
+						"Отвертка Аккумуляторная отвертка",
+						"Drill Cordless drill",
+						"Перфоратор Мощный"
+				));
+		vocabulary = new ItemVocabulary(itemRepository);
+		vocabulary.load();
+	}
+
+	@Test
+	void test_correct() {
+		assertEquals("дрель", vocabulary.correct("дрль"));
+		assertEquals("отвертка", vocabulary.correct("атвертка"));
+		assertEquals("перфоратор", vocabulary.correct("пефоратр"));
+		assertEquals("drill", vocabulary.correct("dril"));
+		assertEquals("Дрель аккумуляторная", vocabulary.correct(" Дрель аккумуляторная "));
+	}
+
+	@Test
+	void test_correct_keeps_known_terms() {
+		assertEquals("аккумуляторная дрель", vocabulary.correct("аккумуляторная дрл"));
+		assertEquals("мощная дрель", vocabulary.correct("мощная дрель"));
+	}
+
+	@Test
+	void test_correct_transliterated() {
+		assertEquals("дрель", vocabulary.correct("drel"));
+		assertEquals("перфоратор", vocabulary.correct("perforator"));
+	}
+
+	@Test
+	void test_correct_keeps_unknown_term() {
+		assertEquals("молоток", vocabulary.correct("молоток"));
+		assertEquals("xy", vocabulary.correct("xy"));
+	}
+
+	@Test
+	void test_boundedLevenshtein() {
+		assertEquals(0, ItemVocabulary.boundedLevenshtein("дрел", "дрел", 2));
+		assertEquals(1, ItemVocabulary.boundedLevenshtein("дрл", "дрел", 2));
+		assertEquals(2, ItemVocabulary.boundedLevenshtein("пефоратр", "перфоратор", 2));
+		assertEquals(3, ItemVocabulary.boundedLevenshtein("молоток", "перфоратор", 2));
+	}
+
+	@Test
+	void test_transliterate() {
+		assertEquals("щетка", ItemVocabulary.transliterate("shchetka"));
+		assertEquals("дрел", ItemVocabulary.transliterate("drel"));
+	}
+
+	//генерация кандидатов по биграммам не должна пропускать термы в пределах допустимого расстояния
+	@Test
+	void test_findClosest_large_vocabulary() {
+		Random random = new Random(42);
+		List<String> texts = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++)
+			texts.add(randomWord(random) + " " + randomWord(random));
+		String target = "инструментальщик";
+		texts.add(target);
+		when(itemRepository.findAllTexts(any(Pageable.class)))
+				.thenReturn(texts.subList(0, 1000), texts.subList(1000, texts.size()));
+		vocabulary = new ItemVocabulary(itemRepository);
+		vocabulary.load();
+
+		String stem = ItemTextAnalyzer.stem(target);
+		assertEquals(stem, vocabulary.findClosest("инструметальщк").term());
+		assertEquals(stem, vocabulary.findClosest("инструментальшик").term());
+		assertNull(vocabulary.findClosest("ъъъъъъъъъъ"));
+	}
+
+	@Test
+	void test_findClosest_candidates_capped() {
+		String letters = "bcdfgkmnprt";
+		List<String> texts = new ArrayList<>();
+		for (char first : letters.toCharArray()) {
+			for (char second : letters.toCharArray())
+				texts.add("hammer" + first + second);
+		}
+		when(itemRepository.findAllTexts(any(Pageable.class)))
+				.thenReturn(texts);
+		vocabulary = new ItemVocabulary(itemRepository);
+		vocabulary.load();
+
+		//все 121 терм проходят порог общих биграмм, но до Левенштейна доходят только лучшие
+		assertEquals(ItemVocabulary.MAX_CANDIDATES, vocabulary.selectCandidates("hammerbq", 2).size());
+		ItemVocabulary.Correction closest = vocabulary.findClosest("hammerbq");
+		assertEquals(1, closest.distance());
+		assertEquals("hammerbb", closest.term());
+	}
+
+	private String randomWord(Random random) {
+		StringBuilder word = new StringBuilder();
+		int length = 4 + random.nextInt(8);
+		for (int i = 0; i < length; i++)
+			word.append((char) ('а' + random.nextInt(32)));
+		return word.toString();
+	}
+}
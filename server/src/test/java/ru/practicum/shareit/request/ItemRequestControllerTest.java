@@ -10,16 +10,20 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.request.model.dto.ItemRequestDto;
+import ru.practicum.shareit.util.SeekCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -179,4 +183,34 @@ class ItemRequestControllerTest {
 				.andExpect(result -> assertEquals(BadRequestException.class,
 						result.getResolvedException().getClass()));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void test_searchRequests_full_page() throws Exception {
+		LocalDateTime created = LocalDateTime.of(2024, 1, 2, 12, 0);
+		when(requestService.searchRequests(eq(1), eq("дрель"), eq(SeekCursor.FIRST_PAGE), eq(1)))
+				.thenReturn(List.of(ItemRequestDto.builder().id(3).created(created).build()));
+		mvc.perform(
+						get("/requests/search?text=дрель&size=1")
+								.header(HEADER_X_SHARER_USER_ID, 1)
+								.accept(MediaType.ALL_VALUE)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(3)))
+				.andExpect(header().string("X-Next-Cursor", new SeekCursor(created, 3).encode()));
+	}
+
+	@Test
+	void test_searchRequests_last_page() throws Exception {
+		SeekCursor cursor = new SeekCursor(LocalDateTime.of(2024, 1, 2, 12, 0), 3);
+		when(requestService.searchRequests(eq(1), eq("дрель"), eq(cursor), eq(20)))
+				.thenReturn(List.of(ItemRequestDto.builder().id(2).build()));
+		mvc.perform(
+						get("/requests/search?text=дрель&after=" + cursor.encode())
+								.header(HEADER_X_SHARER_USER_ID, 1)
+								.accept(MediaType.ALL_VALUE)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(2)))
+				.andExpect(header().doesNotExist("X-Next-Cursor"));
+	}
+}
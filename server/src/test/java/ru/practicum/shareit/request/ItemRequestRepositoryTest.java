@@ -0,0 +1,111 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.RequestedItemView;
+import ru.practicum.shareit.item.search.DatabaseItemSearch;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
+import ru.practicum.shareit.util.Pagenator;
+import ru.practicum.shareit.util.SeekCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql("/test_item_request_repository_schema.sql")
+class ItemRequestRepositoryTest {
+	@Autowired
+	private ItemRequestRepository repository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void test_fetchByIdPage_bounded_by_page_size() {
+		List<ItemRequest> requests = Pagenator.fetchByIdPage(
+				List.of(30, 29, 28, 27, 26),
+				repository::findWithRequesterAndItemsAllByIdIn,
+				ItemRequest::getId
+		);
+
+		assertEquals(List.of(30, 29, 28, 27, 26), requests.stream().map(ItemRequest::getId).toList());
+		requests.forEach(request -> assertEquals(3, request.getItems().size()));
+
+		//один запрос за страницей вместе со связями
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getCollectionFetchCount());
+		//5 запросов, 2 автора и 15 вещей из 30 запросов и 90 вещей в базе
+		assertEquals(22, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void test_findViewsByRequesterIdNot_without_entities() {
+		Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Order.desc("created")));
+		List<ItemRequestView> requests = repository.findViewsByRequesterIdNot(1, pageable);
+		assertEquals(List.of(30, 29, 28, 27, 26), requests.stream().map(ItemRequestView::getId).toList());
+		assertEquals(2, requests.get(0).getRequesterId());
+		assertEquals("2@email.com", requests.get(0).getRequesterEmail());
+
+		List<RequestedItemView> items = repository.findItemViewsByRequestIdIn(List.of(30, 29, 28, 27, 26));
+		assertEquals(15, items.size());
+		items.forEach(item -> assertEquals("description", item.getDescription()));
+
+		//один запрос за страницей и один за вещами; сущности в контекст персистентности не загружаются
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void test_searchIdsByPatternAfterCursor() {
+		String pattern = DatabaseItemSearch.toContainsPattern("Request 1");
+		SeekCursor first = SeekCursor.FIRST_PAGE;
+		assertEquals(List.of(19, 18, 17, 16, 15), repository.searchIdsByPatternAfterCursor(pattern, 1,
+				first.getTime(), first.getId(), PageRequest.of(0, 5)));
+		assertEquals(List.of(14, 13, 12, 11, 10), repository.searchIdsByPatternAfterCursor(pattern, 1,
+				LocalDateTime.of(2024, 1, 16, 12, 0), 15, PageRequest.of(0, 5)));
+		assertEquals(List.of(1), repository.searchIdsByPatternAfterCursor(pattern, 1,
+				LocalDateTime.of(2024, 1, 11, 12, 0), 10, PageRequest.of(0, 5)));
+	}
+
+	@Test
+	void test_searchIdsByPatternAfterCursor_without_own_requests() {
+		String pattern = DatabaseItemSearch.toContainsPattern("own");
+		SeekCursor first = SeekCursor.FIRST_PAGE;
+		assertEquals(List.of(), repository.searchIdsByPatternAfterCursor(pattern, 1,
+				first.getTime(), first.getId(), PageRequest.of(0, 5)));
+		assertEquals(List.of(31), repository.searchIdsByPatternAfterCursor(pattern, 2,
+				first.getTime(), first.getId(), PageRequest.of(0, 5)));
+	}
+
+	@Test
+	void test_findAllOpen() {
+		List<ItemRequest> requests = repository.findAllOpen();
+		assertEquals(1, requests.size());
+		assertEquals(31, requests.get(0).getId());
+	}
+
+	@Test
+	void test_findOpenIdsByIdIn() {
+		assertEquals(List.of(31), repository.findOpenIdsByIdIn(List.of(1, 31, 32)));
+	}
+}
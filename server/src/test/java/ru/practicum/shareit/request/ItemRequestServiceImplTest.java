@@ -7,12 +7,16 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.exception.user.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.RequestedItemView;
 import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.request.match.RequestTokenIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.request.model.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.util.SeekCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +31,7 @@ class ItemRequestServiceImplTest {
 	private final Pageable pageable = PageRequest.of(0, 20);
 	private UserRepository userRepository;
 	private ItemRequestRepository requestRepository;
+	private ItemRequestSearch requestSearch;
 	private ItemRequestServiceImpl service;
 	private ItemRequestDto requestTo;
 	private ItemRequestDto requestFrom;
@@ -35,7 +40,9 @@ class ItemRequestServiceImplTest {
 	void setUp() {
 		userRepository = mock(UserRepository.class);
 		requestRepository = mock(ItemRequestRepository.class);
-		service = new ItemRequestServiceImpl(userRepository, requestRepository);
+		requestSearch = mock(ItemRequestSearch.class);
+		service = new ItemRequestServiceImpl(userRepository, requestRepository, requestSearch,
+				mock(RequestTokenIndex.class));
 	}
 
 	@Test
@@ -146,21 +153,20 @@ class ItemRequestServiceImplTest {
 	void test_getAllRequests() {
 		when(userRepository.findById(anyInt()))
 				.thenReturn(Optional.of(createUser(1, "name", "email")));
-		when(requestRepository.findWithRequesterAndItemsAllByRequesterIdNot(anyInt(), any()))
+		when(requestRepository.findViewsByRequesterIdNot(anyInt(), any()))
 				.thenReturn(
 						List.of(
-								createRequestWithRequesterAndItems(
-										1,
-										createUser(1, "name", "email"),
-										Set.of(createItem(1), createItem(2))
-								),
-								createRequestWithRequesterAndItems(
-										2,
-										createUser(2, "name", "email"),
-										Set.of(createItem(3))
-								)
+								new ItemRequestView(1, "description", LocalDateTime.now(), 1, "name", "email"),
+								new ItemRequestView(2, "description", LocalDateTime.now(), 2, "name", "email")
 						)
 				);
+		List<RequestedItemView> requestedItems = List.of(
+				createRequestedItem(1, 1),
+				createRequestedItem(2, 1),
+				createRequestedItem(3, 2)
+		);
+		when(requestRepository.findItemViewsByRequestIdIn(List.of(1, 2)))
+				.thenReturn(requestedItems);
 		List<ItemRequestDto> requests = service.getAllRequests(1, pageable);
 		ItemRequestDto request = requests.get(0);
 		assertEquals(1, request.getId());
@@ -182,6 +188,16 @@ class ItemRequestServiceImplTest {
 		assertEquals(2, requester.getId());
 	}
 
+	@Test
+	void test_getAllRequests_empty_page() {
+		when(userRepository.findById(anyInt()))
+				.thenReturn(Optional.of(createUser(1, "name", "email")));
+		when(requestRepository.findViewsByRequesterIdNot(anyInt(), any()))
+				.thenReturn(List.of());
+		assertEquals(List.of(), service.getAllRequests(1, pageable));
+		verify(requestRepository, never()).findItemViewsByRequestIdIn(any());
+	}
+
 	@Test
 	void test_getAllRequests_user_not_found() {
 		Exception exception = assertThrows(UserNotFoundException.class,
@@ -189,6 +205,39 @@ class ItemRequestServiceImplTest {
 		assertEquals("Request not received. User with id [1] not found.", exception.getMessage());
 	}
 
+	@Test
+	void test_searchRequests() {
+		when(userRepository.findById(anyInt()))
+				.thenReturn(Optional.of(createUser(1, "name", "email")));
+		when(requestSearch.searchIds("дрель", 1, SeekCursor.FIRST_PAGE, 20))
+				.thenReturn(List.of(2, 1));
+		when(requestRepository.findWithRequesterAndItemsAllByIdIn(List.of(2, 1)))
+				.thenReturn(
+						List.of(
+								createRequestWithRequesterAndItems(1, createUser(2, "name", "email"), Set.of()),
+								createRequestWithRequesterAndItems(2, createUser(3, "name", "email"), Set.of())
+						)
+				);
+		List<ItemRequestDto> requests = service.searchRequests(1, " дрель ", SeekCursor.FIRST_PAGE, 20);
+		assertEquals(2, requests.get(0).getId());
+		assertEquals(1, requests.get(1).getId());
+	}
+
+	@Test
+	void test_searchRequests_blank_text() {
+		when(userRepository.findById(anyInt()))
+				.thenReturn(Optional.of(createUser(1, "name", "email")));
+		assertEquals(List.of(), service.searchRequests(1, " ", SeekCursor.FIRST_PAGE, 20));
+		verifyNoInteractions(requestSearch);
+	}
+
+	@Test
+	void test_searchRequests_user_not_found() {
+		Exception exception = assertThrows(UserNotFoundException.class,
+				() -> service.searchRequests(1, "дрель", SeekCursor.FIRST_PAGE, 20));
+		assertEquals("Requests not found. User with id [1] not found.", exception.getMessage());
+	}
+
 	private User createUser(Integer id, String name, String email) {
 		User user = new User();
 		user.setId(id);
@@ -232,4 +281,14 @@ class ItemRequestServiceImplTest {
 		item.setAvailable(true);
 		return item;
 	}
-}
\ No newline at end of file
+
+	private RequestedItemView createRequestedItem(int id, int requestId) {
+		RequestedItemView item = mock(RequestedItemView.class);
+		when(item.getId()).thenReturn(id);
+		when(item.getName()).thenReturn("name");
+		when(item.getDescription()).thenReturn("description");
+		when(item.getAvailable()).thenReturn(true);
+		when(item.getRequestId()).thenReturn(requestId);
+		return item;
+	}
+}
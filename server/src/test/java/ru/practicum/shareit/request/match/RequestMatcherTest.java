@@ -0,0 +1,172 @@
+package ru.practicum.shareit.request.match;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class RequestMatcherTest {
+	private final List<Runnable> tasks = new ArrayList<>();
+	private ItemRequestRepository requestRepository;
+	private ItemRepository itemRepository;
+	private RequestMatchRepository matchRepository;
+
+	@BeforeEach
+	void setUp() {
+		requestRepository = mock(ItemRequestRepository.class);
+		itemRepository = mock(ItemRepository.class);
+		matchRepository = mock(RequestMatchRepository.class);
+		when(requestRepository.findAllOpen())
+				.thenReturn(List.of(
+						RequestTokenIndexTest.createRequest(1, 2, "Дрель ударная"),
+						RequestTokenIndexTest.createRequest(2, 3, "Лестница")
+				));
+		when(requestRepository.findOpenIdsByIdIn(anyCollection()))
+				.thenReturn(List.of(1, 2));
+		when(itemRepository.findIdsByIdIn(anyCollection()))
+				.thenAnswer(invocation -> List.copyOf(invocation.<Collection<Integer>>getArgument(0)));
+	}
+
+	@Test
+	void test_onItemAdded_matches_in_one_batch() {
+		RequestMatcher matcher = createMatcher(10);
+		matcher.onItemAdded(createItem(10, "Дрель", "Ударная, 800 Вт"));
+		matcher.onItemAdded(createItem(11, "Лестница", "Стремянка"));
+		matcher.onItemAdded(createItem(12, "Пила", "Ручная"));
+		assertEquals(1, tasks.size());
+		tasks.get(0).run();
+
+		ArgumentCaptor<List<RequestMatch>> captor = ArgumentCaptor.captor();
+		verify(matchRepository, times(1)).saveAll(captor.capture());
+		List<RequestMatch> matches = captor.getValue();
+		assertEquals(2, matches.size());
+		assertEquals(1, matches.get(0).getRequestId());
+		assertEquals(10, matches.get(0).getItemId());
+		assertEquals(1f, matches.get(0).getScore());
+		assertEquals(2, matches.get(1).getRequestId());
+		assertEquals(11, matches.get(1).getItemId());
+	}
+
+	@Test
+	void test_onItemAdded_skips_closed_requests() {
+		when(requestRepository.findOpenIdsByIdIn(anyCollection()))
+				.thenReturn(List.of());
+		RequestMatcher matcher = createMatcher(10);
+		matcher.onItemAdded(createItem(10, "Дрель", "Ударная"));
+		tasks.get(0).run();
+		verify(matchRepository, never()).saveAll(any());
+	}
+
+	@Test
+	void test_onItemAdded_skips_deleted_items() {
+		when(itemRepository.findIdsByIdIn(anyCollection()))
+				.thenReturn(List.of(11));
+		RequestMatcher matcher = createMatcher(10);
+		matcher.onItemAdded(createItem(10, "Дрель", "Ударная"));
+		matcher.onItemAdded(createItem(11, "Лестница", "Стремянка"));
+		tasks.get(0).run();
+
+		ArgumentCaptor<List<RequestMatch>> captor = ArgumentCaptor.captor();
+		verify(matchRepository).saveAll(captor.capture());
+		assertEquals(1, captor.getValue().size());
+		assertEquals(11, captor.getValue().get(0).getItemId());
+	}
+
+	@Test
+	void test_onItemAdded_failed_batch_saved_by_item() {
+		when(matchRepository.saveAll(anyList()))
+				.thenThrow(new DataIntegrityViolationException("batch"))
+				.thenThrow(new DataIntegrityViolationException("item"))
+				.thenReturn(List.of());
+		RequestMatcher matcher = createMatcher(10);
+		matcher.onItemAdded(createItem(10, "Дрель", "Ударная"));
+		matcher.onItemAdded(createItem(11, "Лестница", "Стремянка"));
+		tasks.get(0).run();
+
+		verify(matchRepository, times(3)).saveAll(anyList());
+	}
+
+	@Test
+	void test_onItemRemoved_reopens_request() {
+		ItemRequest reopened = RequestTokenIndexTest.createRequest(3, 4, "Перфоратор");
+		when(requestRepository.findOpenById(3))
+				.thenReturn(Optional.of(reopened));
+		RequestMatcher matcher = createMatcher(10);
+		Item item = createItem(10, "Перфоратор", "Мощный");
+		item.setRequest(reopened);
+		matcher.onItemRemoved(item);
+
+		matcher.onItemAdded(createItem(11, "Перфоратор", "Сетевой"));
+		when(requestRepository.findOpenIdsByIdIn(anyCollection()))
+				.thenReturn(List.of(3));
+		tasks.get(0).run();
+
+		ArgumentCaptor<List<RequestMatch>> captor = ArgumentCaptor.captor();
+		verify(matchRepository).saveAll(captor.capture());
+		assertEquals(1, captor.getValue().size());
+		assertEquals(3, captor.getValue().get(0).getRequestId());
+	}
+
+	@Test
+	void test_onItemAdded_with_request_closes_it() {
+		RequestMatcher matcher = createMatcher(10);
+		Item item = createItem(10, "Дрель", "Ударная");
+		ItemRequest request = new ItemRequest();
+		request.setId(1);
+		item.setRequest(request);
+		matcher.onItemAdded(item);
+		assertEquals(0, tasks.size());
+
+		matcher.onItemAdded(createItem(11, "Дрель", "Ударная"));
+		tasks.get(0).run();
+		verify(matchRepository, never()).saveAll(any());
+	}
+
+	@Test
+	void test_onItemAdded_queue_is_full() {
+		RequestMatcher matcher = createMatcher(1);
+		matcher.onItemAdded(createItem(10, "Дрель", "Ударная"));
+		matcher.onItemAdded(createItem(11, "Лестница", "Стремянка"));
+		tasks.get(0).run();
+
+		ArgumentCaptor<List<RequestMatch>> captor = ArgumentCaptor.captor();
+		verify(matchRepository).saveAll(captor.capture());
+		assertEquals(1, captor.getValue().size());
+		assertEquals(10, captor.getValue().get(0).getItemId());
+	}
+
+	private RequestMatcher createMatcher(int queueCapacity) {
+		RequestTokenIndex tokenIndex = new RequestTokenIndex(requestRepository);
+		tokenIndex.rebuild();
+		return new RequestMatcher(tokenIndex, requestRepository, itemRepository, matchRepository, queueCapacity,
+				tasks::add);
+	}
+
+	private Item createItem(int id, String name, String description) {
+		User owner = new User();
+		owner.setId(1);
+		Item item = new Item();
+		item.setId(id);
+		item.setName(name);
+		item.setDescription(description);
+		item.setAvailable(true);
+		item.setOwner(owner);
+		return item;
+	}
+}
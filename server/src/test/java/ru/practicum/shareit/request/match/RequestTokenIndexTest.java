@@ -0,0 +1,74 @@
+package ru.practicum.shareit.request.match;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestTokenIndexTest {
+	private RequestTokenIndex index;
+
+	@BeforeEach
+	void setUp() {
+		ItemRequestRepository requestRepository = mock(ItemRequestRepository.class);
+		when(requestRepository.findAllOpen())
+				.thenReturn(List.of(
+						createRequest(1, 2, "Нужна дрель ударная"),
+						createRequest(2, 3, "Лестница")
+				));
+		index = new RequestTokenIndex(requestRepository);
+		index.rebuild();
+		index.add(createRequest(3, 3, "Дрель для ремонта"));
+	}
+
+	@Test
+	void test_match_by_weighted_coverage() {
+		List<RequestTokenIndex.Candidate> candidates = index.match(1, "Дрель ударная Bosch", 0.2f, 10);
+		assertEquals(List.of(1, 3), requestIds(candidates));
+		assertEquals(0.624f, candidates.get(0).score(), 0.001f);
+		assertEquals(0.248f, candidates.get(1).score(), 0.001f);
+		assertEquals(List.of(1), requestIds(index.match(1, "Дрель ударная Bosch", 0.5f, 10)));
+		assertEquals(List.of(1), requestIds(index.match(1, "Дрель ударная Bosch", 0.2f, 1)));
+	}
+
+	@Test
+	void test_match_skips_own_requests() {
+		assertEquals(List.of(3), requestIds(index.match(2, "Дрель ударная Bosch", 0.2f, 10)));
+	}
+
+	@Test
+	void test_remove() {
+		index.remove(1);
+		List<RequestTokenIndex.Candidate> candidates = index.match(1, "Дрель ударная Bosch", 0.2f, 10);
+		assertEquals(List.of(3), requestIds(candidates));
+		assertEquals(1 / 3f, candidates.get(0).score(), 0.001f);
+	}
+
+	@Test
+	void test_match_nothing() {
+		assertEquals(List.of(), index.match(1, "Пила", 0.2f, 10));
+	}
+
+	private List<Integer> requestIds(List<RequestTokenIndex.Candidate> candidates) {
+		return candidates.stream()
+				.map(RequestTokenIndex.Candidate::requestId)
+				.toList();
+	}
+
+	static ItemRequest createRequest(int id, int requesterId, String description) {
+		User requester = new User();
+		requester.setId(requesterId);
+		ItemRequest request = new ItemRequest();
+		request.setId(id);
+		request.setRequester(requester);
+		request.setDescription(description);
+		return request;
+	}
+}
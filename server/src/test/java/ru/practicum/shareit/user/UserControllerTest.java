@@ -37,6 +37,20 @@ class UserControllerTest {
 	@Autowired
 	private ObjectMapper mapper;
 
+	@Test
+	void test_getUsersByIds() throws Exception {
+		when(userService.getUsersByIds(List.of(2, 1)))
+				.thenReturn(List.of(UserDto.builder().id(2).build(), UserDto.builder().id(1).build()));
+
+		mvc.perform(
+						get("/users?ids=2,1")
+								.accept(MediaType.ALL)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id", is(2)))
+				.andExpect(jsonPath("$[1].id", is(1)));
+	}
+
 	@Test
 	void test_addUser() throws Exception {
 		when(userService.addUser(any()))
@@ -1,15 +1,26 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.user.UserAlreadyExistsException;
 import ru.practicum.shareit.exception.user.UserNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.hot.HotItemCache;
+import ru.practicum.shareit.item.search.DatabaseItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.util.RequestLimits;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -26,12 +37,15 @@ class UserServiceImplTest {
 	@BeforeEach
 	void setUp() {
 		userRepository = mock(UserRepository.class);
-		service = new UserServiceImpl(userRepository);
+		service = new UserServiceImpl(userRepository, mock(BookingIntervalIndex.class), mock(ItemSuggestIndex.class),
+				new ItemSearchCache(1024 * 1024, new SimpleMeterRegistry(),
+						new DatabaseItemSearch(mock(ItemRepository.class), false)),
+				new HotItemCache(16, Duration.ofMinutes(5), new SimpleMeterRegistry()));
 	}
 
 	@Test
 	void test_addUser() {
-		when(userRepository.save(any()))
+		when(userRepository.saveAndFlush(any()))
 				.thenReturn(createUser(1, "user", "user@emai.com"));
 
 		userDtoTo = UserDto.builder()
@@ -46,7 +60,7 @@ class UserServiceImplTest {
 
 	@Test
 	void test_addUser_with_same_email_or_name() {
-		when(userRepository.save(any()))
+		when(userRepository.saveAndFlush(any()))
 				.thenThrow(DataIntegrityViolationException.class);
 		userDtoTo = UserDto.builder()
 				.name("user")
@@ -183,6 +197,25 @@ class UserServiceImplTest {
 		assertEquals("User with id [1] not exists.", exception.getMessage());
 	}
 
+	@Test
+	void test_getUsersByIds() {
+		when(userRepository.findAllById(List.of(2, 1, 3)))
+				.thenReturn(List.of(createUser(1, "user", "user@email.com"), createUser(2, "user2", "user2@email.com")));
+		List<UserDto> users = service.getUsersByIds(List.of(2, 1, 2, 3));
+		assertEquals(2, users.size());
+		assertEquals(2, users.get(0).getId());
+		assertEquals(1, users.get(1).getId());
+	}
+
+	@Test
+	void test_getUsersByIds_too_many_ids() {
+		List<Integer> ids = IntStream.rangeClosed(1, RequestLimits.MAX_BATCH_SIZE + 1).boxed().toList();
+		Exception exception = assertThrows(BadRequestException.class,
+				() -> service.getUsersByIds(ids)
+		);
+		assertEquals("Too many ids requested: [101], max is [100].", exception.getMessage());
+	}
+
 	private User createUser(Integer id, String name, String email) {
 		User user = new User();
 		user.setId(id);
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.user.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserImportController.class, properties = "shareit.admin.token=" + UserImportControllerTest.TOKEN)
+class UserImportControllerTest {
+	static final String TOKEN = "admin-token";
+
+	@MockBean
+	private UserImportService importService;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	void test_importUsers_csv() throws Exception {
+		when(importService.importUsers(any(), eq(UserImportFormat.CSV)))
+				.thenReturn(new UserImportResult(1, 1,
+						List.of(new UserImportResult.Rejection(3, UserImportService.DUPLICATE_LINE))));
+
+		mvc.perform(
+						post("/admin/users/import")
+								.content("name,email\nuser,user@email.com\nuser,other@email.com\n")
+								.contentType("text/csv")
+								.header(UserImportController.HEADER_ADMIN_TOKEN, TOKEN)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported", is(1)))
+				.andExpect(jsonPath("$.rejected", is(1)))
+				.andExpect(jsonPath("$.rejections[0].line", is(3)));
+	}
+
+	@Test
+	void test_importUsers_ndjson() throws Exception {
+		when(importService.importUsers(any(), eq(UserImportFormat.NDJSON)))
+				.thenReturn(new UserImportResult(1, 0, List.of()));
+
+		mvc.perform(
+						post("/admin/users/import")
+								.content("{\"name\":\"user\",\"email\":\"user@email.com\"}\n")
+								.contentType(MediaType.APPLICATION_NDJSON)
+								.header(UserImportController.HEADER_ADMIN_TOKEN, TOKEN)
+				)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported", is(1)));
+	}
+
+	@Test
+	void test_importUsers_unsupported_type() throws Exception {
+		mvc.perform(
+						post("/admin/users/import")
+								.content("{}")
+								.contentType(MediaType.APPLICATION_JSON)
+								.header(UserImportController.HEADER_ADMIN_TOKEN, TOKEN)
+				)
+				.andExpect(status().isUnsupportedMediaType());
+	}
+
+	@Test
+	void test_importUsers_without_admin_token() throws Exception {
+		mvc.perform(
+						post("/admin/users/import")
+								.content("user,user@email.com\n")
+								.contentType("text/csv")
+								.header(UserImportController.HEADER_ADMIN_TOKEN, "wrong")
+				)
+				.andExpect(status().isForbidden());
+
+		mvc.perform(
+						post("/admin/users/import")
+								.content("user,user@email.com\n")
+								.contentType("text/csv")
+				)
+				.andExpect(status().isForbidden());
+		verifyNoInteractions(importService);
+	}
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.user.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.bulk.UserImportResult.Rejection;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//на H2 проверяется запасной путь: пакетные INSERT в промежуточную таблицу вместо COPY
+@DataJpaTest
+class UserImportServiceTest {
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private UserImportService importService;
+
+	@BeforeEach
+	void setUp() {
+		importService = new UserImportService(jdbcTemplate, new TransactionTemplate(transactionManager), new ObjectMapper(),
+				Validation.buildDefaultValidatorFactory().getValidator());
+		jdbcTemplate.update("INSERT INTO users (user_id, user_name, email) VALUES (1000, 'taken', 'taken@email.com')");
+	}
+
+	@Test
+	void test_importUsers_csv() {
+		UserImportResult result = importService.importUsers(body("""
+				name,email
+				first,first@email.com
+				taken,other@email.com
+				"second, junior",second@email.com
+				third,first@email.com
+
+				fourth,not-an-email
+				fifth,fifth@email.com
+				"""), UserImportFormat.CSV);
+
+		assertEquals(3, result.getImported());
+		assertEquals(3, result.getRejected());
+		assertEquals(List.of(
+				new Rejection(3, UserImportService.DUPLICATE_LINE),
+				new Rejection(5, UserImportService.DUPLICATE_LINE),
+				new Rejection(7, UserImportService.INVALID_LINE)), result.getRejections());
+		assertEquals(List.of("fifth", "first", "second, junior", "taken"),
+				jdbcTemplate.queryForList("SELECT user_name FROM users ORDER BY user_name", String.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_import", Integer.class));
+	}
+
+	@Test
+	void test_importUsers_ndjson() {
+		UserImportResult result = importService.importUsers(body("""
+				{"name":"first","email":"first@email.com"}
+				{"name":"first","email":"second@email.com"}
+				{"name":
+				"""), UserImportFormat.NDJSON);
+
+		assertEquals(1, result.getImported());
+		assertEquals(List.of(
+				new Rejection(2, UserImportService.DUPLICATE_LINE),
+				new Rejection(3, UserImportService.INVALID_LINE)), result.getRejections());
+	}
+
+	@Test
+	void test_importUsers_allocates_distinct_ids() {
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < 120; i++)
+			csv.append("user").append(i).append(",user").append(i).append("@email.com\n");
+
+		UserImportResult result = importService.importUsers(body(csv.toString()), UserImportFormat.CSV);
+
+		assertEquals(120, result.getImported());
+		assertEquals(120, jdbcTemplate.queryForObject(
+				"SELECT COUNT(DISTINCT user_id) FROM users WHERE user_name LIKE 'user%' AND user_id > 0", Integer.class));
+	}
+
+	private static ByteArrayInputStream body(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
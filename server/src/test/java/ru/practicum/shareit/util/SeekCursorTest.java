@@ -0,0 +1,25 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeekCursorTest {
+
+	@Test
+	void test_encode_decode() {
+		SeekCursor cursor = new SeekCursor(LocalDateTime.parse("2024-01-01T10:10:10.123"), 42);
+		assertEquals(cursor, SeekCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void test_decode_invalid_cursor() {
+		Exception exception = assertThrows(BadRequestException.class,
+				() -> SeekCursor.decode("not-a-cursor"));
+		assertEquals("Illegal pagination cursor [not-a-cursor].", exception.getMessage());
+	}
+}
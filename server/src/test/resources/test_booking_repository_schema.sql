@@ -1,3 +1,4 @@
+DROP TABLE IF EXISTS request_matches;
 DROP TABLE IF EXISTS users CASCADE;
 DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS booking_statuses CASCADE;
@@ -33,6 +34,7 @@ CREATE TABLE items (
     item_name varchar(200) NOT NULL,
     description varchar(200) NOT NULL,
     available boolean NOT NULL,
+    modified TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
     request_id int,
 
     CONSTRAINT pkey_item PRIMARY KEY(item_id),